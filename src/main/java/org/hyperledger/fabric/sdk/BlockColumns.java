@@ -0,0 +1,526 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.util.Arrays;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.hyperledger.fabric.protos.common.Common.BlockData;
+import org.hyperledger.fabric.protos.common.Common.HeaderType;
+import org.hyperledger.fabric.protos.peer.FabricTransaction.TxValidationCode;
+import org.hyperledger.fabric.protos.peer.PeerEvents.FilteredBlock;
+import org.hyperledger.fabric.protos.peer.PeerEvents.FilteredTransaction;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A block's transactions and the keys they read and wrote, flattened into columns of primitive arrays for
+ * indexing many blocks. One instance is refilled for each block and only grows when a block is bigger than any
+ * before, so a steady stream of blocks is projected without allocating.
+ * <p>
+ * Transactions are indexed by their position in the block. Rows hold one key read or written by a transaction's
+ * chaincode actions, in the order they appear. Strings and values are offsets and lengths into {@link #getData()}
+ * which holds a copy of the block's envelopes; the String getters are a convenience that allocates.
+ * <p>
+ * Filtered blocks have transactions but no rows. Not thread safe, and the contents are only valid until the next
+ * {@link #fill(BlockInfo)}.
+ */
+public final class BlockColumns {
+
+    private static final byte READ = 0;
+    private static final byte WRITE = 1;
+    private static final byte DELETE = 2;
+
+    private long blockNumber = -1;
+    private byte[] data = new byte[0];
+
+    private int transactionCount;
+    private int[] txType = new int[0];
+    private byte[] txValidationCode = new byte[0];
+    private int[] txIDOffset = new int[0];
+    private int[] txIDLength = new int[0];
+
+    private int rowCount;
+    private int[] rowTx = new int[0];
+    private byte[] rowKind = new byte[0];
+    private int[] namespaceOffset = new int[0];
+    private int[] namespaceLength = new int[0];
+    private int[] keyOffset = new int[0];
+    private int[] keyLength = new int[0];
+    private long[] versionBlockNumber = new long[0];
+    private long[] versionTxNumber = new long[0];
+    private int[] valueOffset = new int[0];
+    private int[] valueLength = new int[0];
+
+    // Walk state.
+    private int pos;
+    private int tx;
+    private int row;
+    private int payloadDataStart;
+    private int payloadDataEnd;
+    private int nsOffset;
+    private int nsLength;
+    private int rwsetStart;
+    private int rwsetEnd;
+
+    // The messages from envelope to key, created once so walking a block doesn't allocate.
+    private final FieldVisitor envelope = (number, value, start, end) -> {
+        if (number == 1) {
+            payloadDataStart = -1;
+            walk(start, end, this.payload);
+            if (payloadDataStart >= 0 && txType[tx] == HeaderType.ENDORSER_TRANSACTION_VALUE) {
+                walk(payloadDataStart, payloadDataEnd, this.transaction);
+            }
+        }
+    };
+    private final FieldVisitor payload = (number, value, start, end) -> {
+        if (number == 1) {
+            walk(start, end, this.header);
+        } else if (number == 2) {
+            payloadDataStart = start;
+            payloadDataEnd = end;
+        }
+    };
+    private final FieldVisitor header = (number, value, start, end) -> {
+        if (number == 1) {
+            walk(start, end, this.channelHeader);
+        }
+    };
+    private final FieldVisitor channelHeader = (number, value, start, end) -> {
+        if (number == 1) {
+            txType[tx] = (int) value;
+        } else if (number == 5) {
+            txIDOffset[tx] = start;
+            txIDLength[tx] = end - start;
+        }
+    };
+    private final FieldVisitor transaction = (number, value, start, end) -> {
+        if (number == 1) {
+            walk(start, end, this.transactionAction);
+        }
+    };
+    private final FieldVisitor transactionAction = (number, value, start, end) -> {
+        if (number == 2) {
+            walk(start, end, this.chaincodeActionPayload);
+        }
+    };
+    private final FieldVisitor chaincodeActionPayload = (number, value, start, end) -> {
+        if (number == 2) {
+            walk(start, end, this.chaincodeEndorsedAction);
+        }
+    };
+    private final FieldVisitor chaincodeEndorsedAction = (number, value, start, end) -> {
+        if (number == 1) {
+            walk(start, end, this.proposalResponsePayload);
+        }
+    };
+    private final FieldVisitor proposalResponsePayload = (number, value, start, end) -> {
+        if (number == 2) {
+            walk(start, end, this.chaincodeAction);
+        }
+    };
+    private final FieldVisitor chaincodeAction = (number, value, start, end) -> {
+        if (number == 1) {
+            walk(start, end, this.txReadWriteSet);
+        }
+    };
+    private final FieldVisitor txReadWriteSet = (number, value, start, end) -> {
+        if (number == 2) {
+            nsOffset = 0;
+            nsLength = 0;
+            rwsetStart = -1;
+            walk(start, end, this.nsReadWriteSet);
+            if (rwsetStart >= 0) {
+                walk(rwsetStart, rwsetEnd, this.kvRWSet);
+            }
+        }
+    };
+    private final FieldVisitor nsReadWriteSet = (number, value, start, end) -> {
+        if (number == 1) {
+            nsOffset = start;
+            nsLength = end - start;
+        } else if (number == 2) {
+            rwsetStart = start;
+            rwsetEnd = end;
+        }
+    };
+    private final FieldVisitor kvRWSet = (number, value, start, end) -> {
+        if (number == 1) {
+            newRow(READ);
+            walk(start, end, this.kvRead);
+        } else if (number == 3) {
+            newRow(WRITE);
+            walk(start, end, this.kvWrite);
+        }
+    };
+    private final FieldVisitor kvRead = (number, value, start, end) -> {
+        if (number == 1) {
+            keyOffset[row] = start;
+            keyLength[row] = end - start;
+        } else if (number == 2) {
+            versionBlockNumber[row] = 0;
+            versionTxNumber[row] = 0;
+            walk(start, end, this.version);
+        }
+    };
+    private final FieldVisitor version = (number, value, start, end) -> {
+        if (number == 1) {
+            versionBlockNumber[row] = value;
+        } else if (number == 2) {
+            versionTxNumber[row] = value;
+        }
+    };
+    private final FieldVisitor kvWrite = (number, value, start, end) -> {
+        if (number == 1) {
+            keyOffset[row] = start;
+            keyLength[row] = end - start;
+        } else if (number == 2) {
+            rowKind[row] = value != 0 ? DELETE : WRITE;
+        } else if (number == 3) {
+            valueOffset[row] = start;
+            valueLength[row] = end - start;
+        }
+    };
+
+    /**
+     * Replace the contents with the block's.
+     *
+     * @param blockInfo the block.
+     * @return this.
+     * @throws InvalidProtocolBufferException if the block's envelopes can't be decoded.
+     */
+    public BlockColumns fill(BlockInfo blockInfo) throws InvalidProtocolBufferException {
+
+        blockNumber = blockInfo.getBlockNumber();
+        transactionCount = 0;
+        rowCount = 0;
+
+        if (blockInfo.isFiltered()) {
+            fillFiltered(blockInfo.getFilteredBlock());
+            return this;
+        }
+
+        final BlockData blockData = blockInfo.getBlock().getData();
+        final byte[] filter = blockInfo.getTransactionsFilter();
+        final int count = blockData.getDataCount();
+        if (filter.length < count) {
+            throw new InvalidProtocolBufferException(format("Block %d has %d envelopes but %d validation codes", blockNumber, count, filter.length));
+        }
+
+        int size = 0;
+        for (int i = 0; i < count; ++i) {
+            size += blockData.getData(i).size();
+        }
+        growTransactions(count);
+        growData(size);
+
+        int offset = 0;
+        for (tx = 0; tx < count; ++tx) {
+            final ByteString envelopeBytes = blockData.getData(tx);
+            envelopeBytes.copyTo(data, offset);
+            txType[tx] = HeaderType.MESSAGE_VALUE;
+            txValidationCode[tx] = filter[tx];
+            txIDOffset[tx] = 0;
+            txIDLength[tx] = 0;
+            transactionCount = tx + 1;
+            walk(offset, offset + envelopeBytes.size(), envelope);
+            offset += envelopeBytes.size();
+        }
+
+        return this;
+    }
+
+    private void fillFiltered(FilteredBlock filteredBlock) {
+
+        final int count = filteredBlock.getFilteredTransactionsCount();
+        int size = 0;
+        for (int i = 0; i < count; ++i) {
+            size += filteredBlock.getFilteredTransactions(i).getTxidBytes().size();
+        }
+        growTransactions(count);
+        growData(size);
+
+        int offset = 0;
+        for (int i = 0; i < count; ++i) {
+            final FilteredTransaction filteredTransaction = filteredBlock.getFilteredTransactions(i);
+            final ByteString txID = filteredTransaction.getTxidBytes();
+            txID.copyTo(data, offset);
+            txType[i] = filteredTransaction.getTypeValue();
+            txValidationCode[i] = (byte) filteredTransaction.getTxValidationCodeValue();
+            txIDOffset[i] = offset;
+            txIDLength[i] = txID.size();
+            offset += txID.size();
+        }
+        transactionCount = count;
+    }
+
+    /**
+     * @return the block's number or -1 if never filled.
+     */
+    public long getBlockNumber() {
+        return blockNumber;
+    }
+
+    /**
+     * The bytes all offsets refer to. Must not be modified.
+     *
+     * @return the bytes.
+     */
+    public byte[] getData() {
+        return data;
+    }
+
+    /**
+     * @return the number of transactions in the block.
+     */
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+
+    /**
+     * @param tx the transaction's index in the block.
+     * @return the HeaderType of the transaction's envelope.
+     */
+    public int getTransactionType(int tx) {
+        return txType[checkTransaction(tx)];
+    }
+
+    /**
+     * @param tx the transaction's index in the block.
+     * @return the transaction's validation code (enumeration TxValidationCode in Transaction.proto).
+     */
+    public byte getValidationCode(int tx) {
+        return txValidationCode[checkTransaction(tx)];
+    }
+
+    public boolean isValid(int tx) {
+        return getValidationCode(tx) == TxValidationCode.VALID_VALUE;
+    }
+
+    public int getTransactionIDOffset(int tx) {
+        return txIDOffset[checkTransaction(tx)];
+    }
+
+    public int getTransactionIDLength(int tx) {
+        return txIDLength[checkTransaction(tx)];
+    }
+
+    public String getTransactionID(int tx) {
+        return new String(data, getTransactionIDOffset(tx), getTransactionIDLength(tx), UTF_8);
+    }
+
+    /**
+     * @return the number of keys read or written by all the block's transactions.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @param row the row.
+     * @return the index in the block of the transaction that read or wrote the key.
+     */
+    public int getTransactionIndex(int row) {
+        return rowTx[checkRow(row)];
+    }
+
+    public boolean isRead(int row) {
+        return rowKind[checkRow(row)] == READ;
+    }
+
+    public boolean isWrite(int row) {
+        return rowKind[checkRow(row)] != READ;
+    }
+
+    public boolean isDelete(int row) {
+        return rowKind[checkRow(row)] == DELETE;
+    }
+
+    public int getNamespaceOffset(int row) {
+        return namespaceOffset[checkRow(row)];
+    }
+
+    public int getNamespaceLength(int row) {
+        return namespaceLength[checkRow(row)];
+    }
+
+    public String getNamespace(int row) {
+        return new String(data, getNamespaceOffset(row), getNamespaceLength(row), UTF_8);
+    }
+
+    public int getKeyOffset(int row) {
+        return keyOffset[checkRow(row)];
+    }
+
+    public int getKeyLength(int row) {
+        return keyLength[checkRow(row)];
+    }
+
+    public String getKey(int row) {
+        return new String(data, getKeyOffset(row), getKeyLength(row), UTF_8);
+    }
+
+    /**
+     * @param row the row.
+     * @return the block number of the version read, or -1 for writes and reads of keys that did not exist.
+     */
+    public long getVersionBlockNumber(int row) {
+        return versionBlockNumber[checkRow(row)];
+    }
+
+    /**
+     * @param row the row.
+     * @return the transaction number of the version read, or -1 for writes and reads of keys that did not exist.
+     */
+    public long getVersionTxNumber(int row) {
+        return versionTxNumber[checkRow(row)];
+    }
+
+    /**
+     * @param row the row.
+     * @return the offset of the value written, zero for reads.
+     */
+    public int getValueOffset(int row) {
+        return valueOffset[checkRow(row)];
+    }
+
+    /**
+     * @param row the row.
+     * @return the length of the value written, zero for reads and deletes.
+     */
+    public int getValueLength(int row) {
+        return valueLength[checkRow(row)];
+    }
+
+    private int checkTransaction(int index) {
+        if (index < 0 || index >= transactionCount) {
+            throw new IndexOutOfBoundsException(format("Transaction index %d of %d", index, transactionCount));
+        }
+        return index;
+    }
+
+    private int checkRow(int index) {
+        if (index < 0 || index >= rowCount) {
+            throw new IndexOutOfBoundsException(format("Row index %d of %d", index, rowCount));
+        }
+        return index;
+    }
+
+    private void newRow(byte kind) {
+        if (rowCount == rowTx.length) {
+            final int capacity = Math.max(16, rowCount * 2);
+            rowTx = Arrays.copyOf(rowTx, capacity);
+            rowKind = Arrays.copyOf(rowKind, capacity);
+            namespaceOffset = Arrays.copyOf(namespaceOffset, capacity);
+            namespaceLength = Arrays.copyOf(namespaceLength, capacity);
+            keyOffset = Arrays.copyOf(keyOffset, capacity);
+            keyLength = Arrays.copyOf(keyLength, capacity);
+            versionBlockNumber = Arrays.copyOf(versionBlockNumber, capacity);
+            versionTxNumber = Arrays.copyOf(versionTxNumber, capacity);
+            valueOffset = Arrays.copyOf(valueOffset, capacity);
+            valueLength = Arrays.copyOf(valueLength, capacity);
+        }
+        row = rowCount++;
+        rowTx[row] = tx;
+        rowKind[row] = kind;
+        namespaceOffset[row] = nsOffset;
+        namespaceLength[row] = nsLength;
+        keyOffset[row] = 0;
+        keyLength[row] = 0;
+        versionBlockNumber[row] = -1;
+        versionTxNumber[row] = -1;
+        valueOffset[row] = 0;
+        valueLength[row] = 0;
+    }
+
+    private void growTransactions(int count) {
+        if (count > txType.length) {
+            final int capacity = Math.max(count, txType.length * 2);
+            txType = Arrays.copyOf(txType, capacity);
+            txValidationCode = Arrays.copyOf(txValidationCode, capacity);
+            txIDOffset = Arrays.copyOf(txIDOffset, capacity);
+            txIDLength = Arrays.copyOf(txIDLength, capacity);
+        }
+    }
+
+    private void growData(int size) {
+        if (size > data.length) {
+            data = new byte[Math.max(size, data.length * 2)];
+        }
+    }
+
+    /**
+     * Pass each field of the message in data[start..end) to the visitor: varints with their value and
+     * length-delimited fields with their bounds. Fixed width fields are skipped.
+     */
+    private void walk(int start, int end, FieldVisitor visitor) throws InvalidProtocolBufferException {
+        int next = start;
+        while (next < end) {
+            pos = next;
+            final long tag = readVarint(end);
+            final int number = (int) (tag >>> 3);
+            switch ((int) tag & 7) {
+                case 0:
+                    final long value = readVarint(end);
+                    next = pos;
+                    visitor.visit(number, value, -1, -1);
+                    break;
+                case 1:
+                    next = skip(8, end);
+                    break;
+                case 2:
+                    final long length = readVarint(end);
+                    final int fieldStart = pos;
+                    next = skip(length, end);
+                    visitor.visit(number, 0, fieldStart, next);
+                    break;
+                case 5:
+                    next = skip(4, end);
+                    break;
+                default:
+                    throw new InvalidProtocolBufferException(format("Unsupported wire type %d at %d", (int) tag & 7, pos));
+            }
+        }
+    }
+
+    private long readVarint(int end) throws InvalidProtocolBufferException {
+        long ret = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (pos >= end) {
+                throw new InvalidProtocolBufferException(format("Truncated varint at %d", pos));
+            }
+            final byte b = data[pos++];
+            ret |= (long) (b & 0x7f) << shift;
+            if (b >= 0) {
+                return ret;
+            }
+        }
+        throw new InvalidProtocolBufferException(format("Malformed varint at %d", pos));
+    }
+
+    private int skip(long length, int end) throws InvalidProtocolBufferException {
+        if (length < 0 || length > end - pos) {
+            throw new InvalidProtocolBufferException(format("Field length %d at %d overruns its message", length, pos));
+        }
+        return pos + (int) length;
+    }
+
+    @FunctionalInterface
+    private interface FieldVisitor {
+        void visit(int number, long value, int start, int end) throws InvalidProtocolBufferException;
+    }
+}
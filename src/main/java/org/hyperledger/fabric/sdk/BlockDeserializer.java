@@ -17,9 +17,7 @@
 package org.hyperledger.fabric.sdk;
 
 import java.lang.ref.WeakReference;
-import java.util.Collections;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
@@ -29,7 +27,11 @@ import org.hyperledger.fabric.protos.common.Common.BlockData;
 
 class BlockDeserializer {
     private final Block block;
-    private final Map<Integer, WeakReference<EnvelopeDeserializer>> envelopes = Collections.synchronizedMap(new WeakHashMap<Integer, WeakReference<EnvelopeDeserializer>>());
+    // Envelopes by position in the block, decoded when first asked for.
+    private final AtomicReferenceArray<WeakReference<EnvelopeDeserializer>> envelopes;
+    private volatile byte[] transactionsFilter;
+    // Once the whole block is decoded everything in it is held strongly.
+    private volatile boolean retain = false;
 
     public Block getBlock() {
         return block;
@@ -37,11 +39,10 @@ class BlockDeserializer {
 
     BlockDeserializer(Block block) {
         this.block = block;
+        this.envelopes = new AtomicReferenceArray<>(block.getData().getDataCount());
     }
 
     ByteString getPreviousHash() {
-        block.getHeader().getDataHash();
-
         return block.getHeader().getPreviousHash();
     }
 
@@ -61,28 +62,71 @@ class BlockDeserializer {
     }
 
     EnvelopeDeserializer getData(int index) throws InvalidProtocolBufferException {
-        if (index >= getData().getDataCount()) {
+        if (index >= envelopes.length()) {
             return null;
         }
+        final boolean lretain = retain;
         WeakReference<EnvelopeDeserializer> envelopeWeakReference = envelopes.get(index);
-        if (null != envelopeWeakReference) {
+        if (null != envelopeWeakReference && (!lretain || DeserializerUtils.isRetained(envelopeWeakReference))) {
             EnvelopeDeserializer ret = envelopeWeakReference.get();
             if (null != ret) {
                 return ret;
             }
         }
 
-        EnvelopeDeserializer envelopeDeserializer = EnvelopeDeserializer.newInstance(getData().getData(index), getTransActionsMetaData()[index]);
+        EnvelopeDeserializer envelopeDeserializer = EnvelopeDeserializer.newInstance(getData().getData(index),
+                getTransActionsMetaData()[index], lretain);
 
-        envelopes.put(index, new WeakReference<>(envelopeDeserializer));
+        envelopes.set(index, DeserializerUtils.reference(envelopeDeserializer, lretain));
 
         return envelopeDeserializer;
 
     }
 
+    /**
+     * @return the validation code of each transaction, decoded once per block. Must not be modified.
+     */
     byte[] getTransActionsMetaData() {
 
-        return block.getMetadata().getMetadata(Common.BlockMetadataIndex.TRANSACTIONS_FILTER_VALUE).toByteArray();
+        byte[] ret = transactionsFilter;
+        if (ret == null) {
+            ret = block.getMetadata().getMetadata(Common.BlockMetadataIndex.TRANSACTIONS_FILTER_VALUE).toByteArray();
+            transactionsFilter = ret;
+        }
+        return ret;
+
+    }
+
+    /**
+     * Decode every envelope with its transaction actions, read-write sets and chaincode events and hold them strongly
+     * from now on. Envelopes already decoded weakly are decoded again so all of the block is held.
+     *
+     * @throws InvalidProtocolBufferException
+     */
+    void decode() throws InvalidProtocolBufferException {
+
+        retain = true;
+
+        for (int i = 0; i < envelopes.length(); ++i) {
+            final EnvelopeDeserializer envelope = getData(i);
+            envelope.getEnvelope();
+            envelope.getPayload().getHeader().getChannelHeader().getChannelHeader();
+
+            if (!(envelope instanceof EndorserTransactionEnvDeserializer)) {
+                continue;
+            }
+
+            final TransactionDeserializer transaction = ((EndorserTransactionEnvDeserializer) envelope).getPayload().getTransaction();
+            for (TransactionActionDeserializer action : transaction.getTransactionActions()) {
+                final ChaincodeActionDeserializer chaincodeAction = action.getPayload().getAction().getProposalResponsePayload().getExtension();
+                chaincodeAction.getResults();
+                chaincodeAction.getResultsInfo();
+                final ChaincodeEvent event = chaincodeAction.getEvent();
+                if (event != null) {
+                    event.getChaincodeEvent();
+                }
+            }
+        }
 
     }
 
@@ -34,6 +34,8 @@ public class BlockEvent extends BlockInfo {
     private final EventHub eventHub;
     private final Peer peer;
     private final Event event;
+    // Another source's copy of a block already queued. Only transactions still need to know this source saw it.
+    private volatile boolean duplicate = false;
 
     /**
      * creates a BlockEvent object by parsing the input Block and retrieving its constituent Transactions
@@ -86,6 +88,14 @@ public class BlockEvent extends BlockInfo {
 //        return event;
 //    }
 
+    boolean isDuplicate() {
+        return duplicate;
+    }
+
+    void setDuplicate() {
+        duplicate = true;
+    }
+
     boolean isBlockEvent() {
         if (peer != null) {
             return true; //peer always returns Block type events;
@@ -22,7 +22,6 @@ import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import org.hyperledger.fabric.protos.common.Common;
 import org.hyperledger.fabric.protos.common.Common.Block;
-import org.hyperledger.fabric.protos.ledger.rwset.Rwset.TxReadWriteSet;
 import org.hyperledger.fabric.protos.peer.Chaincode.ChaincodeInput;
 import org.hyperledger.fabric.protos.peer.FabricTransaction;
 import org.hyperledger.fabric.protos.peer.PeerEvents;
@@ -80,6 +79,22 @@ public class BlockInfo {
 
     }
 
+    /**
+     * Decode every envelope, read-write set and chaincode event now and keep them for the life of this BlockInfo
+     * so later getters don't parse them again. Filtered blocks have nothing left to decode.
+     *
+     * @throws InvalidProtocolBufferException
+     */
+    void decode() throws InvalidProtocolBufferException {
+        if (!isFiltered()) {
+            try {
+                block.decode();
+            } catch (InvalidProtocolBufferRuntimeException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
     public boolean isFiltered() {
         if (filteredBlock == null && block == null) {
             throw new AssertionError("Both block and filter is null.");
@@ -124,11 +139,25 @@ public class BlockInfo {
         return isFiltered() ? null : block.getDataHash().toByteArray();
     }
 
+    /**
+     * @return the data hash without copying it, empty if filtered block.
+     */
+    ByteString getDataHashByteString() {
+        return isFiltered() ? ByteString.EMPTY : block.getDataHash();
+    }
+
     /**
      * @return the {@link Block} transaction metadata value return null if filtered block.
      */
     public byte[] getTransActionsMetaData() {
 
+        return isFiltered() ? null : block.getTransActionsMetaData().clone();
+    }
+
+    /**
+     * @return the validation code of each transaction without copying. Must not be modified.
+     */
+    byte[] getTransactionsFilter() {
         return isFiltered() ? null : block.getTransActionsMetaData();
     }
 
@@ -278,7 +307,10 @@ public class BlockInfo {
 
             } else {
 
-                EnvelopeDeserializer ed = EnvelopeDeserializer.newInstance(block.getBlock().getData().getData(envelopeIndex), block.getTransActionsMetaData()[envelopeIndex]);
+                EnvelopeDeserializer ed = block.getData(envelopeIndex);
+                if (ed == null) {
+                    throw new IndexOutOfBoundsException(format("Envelope index %d of %d", envelopeIndex, getEnvelopeCount()));
+                }
 
                 switch (ed.getType()) {
                     case Common.HeaderType.ENDORSER_TRANSACTION_VALUE:
@@ -477,13 +509,8 @@ public class BlockInfo {
 
                 } else {
 
-                    TxReadWriteSet txReadWriteSet = transactionAction.getPayload().getAction().getProposalResponsePayload()
-                            .getExtension().getResults();
-                    if (txReadWriteSet == null) {
-                        return null;
-                    }
-
-                    return new TxReadWriteSetInfo(txReadWriteSet);
+                    return transactionAction.getPayload().getAction().getProposalResponsePayload()
+                            .getExtension().getResultsInfo();
                 }
 
             }
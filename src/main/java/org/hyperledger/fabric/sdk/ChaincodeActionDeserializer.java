@@ -27,10 +27,16 @@ import static org.hyperledger.fabric.protos.peer.FabricProposal.ChaincodeAction;
 
 class ChaincodeActionDeserializer {
     private final ByteString byteString;
+    private final boolean retain;
     private WeakReference<ChaincodeAction> chaincodeAction;
+    private WeakReference<ChaincodeEvent> event;
+    private WeakReference<TxReadWriteSet> results;
+    // Held for this deserializer's lifetime so everyone reading the results shares the namespaces already parsed.
+    private volatile TxReadWriteSetInfo resultsInfo;
 
-    ChaincodeActionDeserializer(ByteString byteString) {
+    ChaincodeActionDeserializer(ByteString byteString, boolean retain) {
         this.byteString = byteString;
+        this.retain = retain;
     }
 
     ChaincodeAction getChaincodeAction() {
@@ -48,7 +54,7 @@ class ChaincodeActionDeserializer {
                 throw new InvalidProtocolBufferRuntimeException(e);
             }
 
-            chaincodeAction = new WeakReference<>(ret);
+            chaincodeAction = DeserializerUtils.reference(ret, retain);
 
         }
 
@@ -58,24 +64,62 @@ class ChaincodeActionDeserializer {
 
     ChaincodeEvent getEvent() {
 
-        ChaincodeAction ca = getChaincodeAction();
-        ByteString eventsBytes = ca.getEvents();
-        if (eventsBytes == null || eventsBytes.isEmpty()) {
-            return null;
+        ChaincodeEvent ret = null;
+
+        if (event != null) {
+            ret = event.get();
+        }
+        if (ret == null) {
+            ChaincodeAction ca = getChaincodeAction();
+            ByteString eventsBytes = ca.getEvents();
+            if (eventsBytes == null || eventsBytes.isEmpty()) {
+                return null;
+            }
+            ret = new ChaincodeEvent(eventsBytes, retain);
+            event = DeserializerUtils.reference(ret, retain);
         }
 
-        return new ChaincodeEvent(eventsBytes);
+        return ret;
 
     }
 
     TxReadWriteSet getResults() {
 
-        try {
-            return TxReadWriteSet.parseFrom(getChaincodeAction().getResults());
-        } catch (InvalidProtocolBufferException e) {
-            throw new InvalidProtocolBufferRuntimeException(e);
+        TxReadWriteSet ret = null;
+
+        if (results != null) {
+            ret = results.get();
+        }
+        if (ret == null) {
+            try {
+                ret = DeserializerUtils.parseAliased(TxReadWriteSet.parser(), getChaincodeAction().getResults());
+            } catch (InvalidProtocolBufferException e) {
+                throw new InvalidProtocolBufferRuntimeException(e);
+            }
+            results = DeserializerUtils.reference(ret, retain);
+        }
+
+        return ret;
+
+    }
+
+    /**
+     * @return the results with the namespaces and read write sets already parsed from them.
+     */
+    TxReadWriteSetInfo getResultsInfo() {
+        TxReadWriteSetInfo ret = resultsInfo;
+
+        if (ret == null) {
+            synchronized (this) {
+                ret = resultsInfo;
+                if (ret == null) {
+                    ret = new TxReadWriteSetInfo(getResults());
+                    resultsInfo = ret;
+                }
+            }
         }
 
+        return ret;
     }
 
     String getResponseMessage() {
@@ -25,12 +25,14 @@ import org.hyperledger.fabric.sdk.exception.InvalidProtocolBufferRuntimeExceptio
 
 class ChaincodeActionPayloadDeserializer {
     private final ByteString byteString;
+    private final boolean retain;
     private WeakReference<ChaincodeActionPayload> chaincodeActionPayload;
     private WeakReference<ChaincodeEndorsedActionDeserializer> chaincodeEndorsedActionDeserializer;
     private WeakReference<ChaincodeProposalPayloadDeserializer> chaincodeProposalPayloadDeserializer;
 
-    ChaincodeActionPayloadDeserializer(ByteString byteString) {
+    ChaincodeActionPayloadDeserializer(ByteString byteString, boolean retain) {
         this.byteString = byteString;
+        this.retain = retain;
     }
 
     ChaincodeActionPayload getChaincodeActionPayload() {
@@ -48,7 +50,7 @@ class ChaincodeActionPayloadDeserializer {
                 throw new InvalidProtocolBufferRuntimeException(e);
             }
 
-            chaincodeActionPayload = new WeakReference<>(ret);
+            chaincodeActionPayload = DeserializerUtils.reference(ret, retain);
 
         }
 
@@ -65,9 +67,9 @@ class ChaincodeActionPayloadDeserializer {
         }
         if (ret == null) {
 
-            ret = new ChaincodeEndorsedActionDeserializer(getChaincodeActionPayload().getAction());
+            ret = new ChaincodeEndorsedActionDeserializer(getChaincodeActionPayload().getAction(), retain);
 
-            chaincodeEndorsedActionDeserializer = new WeakReference<>(ret);
+            chaincodeEndorsedActionDeserializer = DeserializerUtils.reference(ret, retain);
 
         }
 
@@ -87,7 +89,7 @@ class ChaincodeActionPayloadDeserializer {
 
             ret = new ChaincodeProposalPayloadDeserializer(getChaincodeActionPayload().getChaincodeProposalPayload());
 
-            chaincodeProposalPayloadDeserializer = new WeakReference<>(ret);
+            chaincodeProposalPayloadDeserializer = DeserializerUtils.reference(ret, retain);
 
         }
 
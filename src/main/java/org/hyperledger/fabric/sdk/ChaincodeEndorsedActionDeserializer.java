@@ -28,12 +28,14 @@ import static org.hyperledger.fabric.protos.peer.FabricTransaction.ChaincodeEndo
 
 class ChaincodeEndorsedActionDeserializer {
     private final ByteString byteString;
+    private final boolean retain;
     private WeakReference<ChaincodeEndorsedAction> chaincodeEndorsedAction;
     private WeakReference<ProposalResponsePayloadDeserializer> proposalResponsePayload;
 
-    ChaincodeEndorsedActionDeserializer(ChaincodeEndorsedAction action) {
+    ChaincodeEndorsedActionDeserializer(ChaincodeEndorsedAction action, boolean retain) {
         byteString = action.toByteString();
-        chaincodeEndorsedAction = new WeakReference<>(action);
+        this.retain = retain;
+        chaincodeEndorsedAction = DeserializerUtils.reference(action, retain);
 
     }
 
@@ -52,7 +54,7 @@ class ChaincodeEndorsedActionDeserializer {
                 throw new InvalidProtocolBufferRuntimeException(e);
             }
 
-            chaincodeEndorsedAction = new WeakReference<>(ret);
+            chaincodeEndorsedAction = DeserializerUtils.reference(ret, retain);
         }
 
         return ret;
@@ -85,8 +87,8 @@ class ChaincodeEndorsedActionDeserializer {
         }
         if (ret == null) {
 
-            ret = new ProposalResponsePayloadDeserializer(getChaincodeEndorsedAction().getProposalResponsePayload());
-            proposalResponsePayload = new WeakReference<>(ret);
+            ret = new ProposalResponsePayloadDeserializer(getChaincodeEndorsedAction().getProposalResponsePayload(), retain);
+            proposalResponsePayload = DeserializerUtils.reference(ret, retain);
 
         }
 
@@ -28,10 +28,16 @@ import org.hyperledger.fabric.sdk.exception.InvalidProtocolBufferRuntimeExceptio
  */
 public class ChaincodeEvent {
     private final ByteString byteString;
+    private final boolean retain;
     private WeakReference<ChaincodeEventOuterClass.ChaincodeEvent> chaincodeEvent;
 
     ChaincodeEvent(ByteString byteString) {
+        this(byteString, false);
+    }
+
+    ChaincodeEvent(ByteString byteString, boolean retain) {
         this.byteString = byteString;
+        this.retain = retain;
     }
 
     ChaincodeEventOuterClass.ChaincodeEvent getChaincodeEvent() {
@@ -50,7 +56,7 @@ public class ChaincodeEvent {
                 throw new InvalidProtocolBufferRuntimeException(e);
             }
 
-            chaincodeEvent = new WeakReference<>(ret);
+            chaincodeEvent = DeserializerUtils.reference(ret, retain);
 
         }
 
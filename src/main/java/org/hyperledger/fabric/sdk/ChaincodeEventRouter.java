@@ -0,0 +1,134 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable index of chaincode event listeners by chaincode id and event name. Listeners registered with patterns
+ * that only match one string are found with hash lookups; only real regular expressions are matched against each
+ * event. A new router is built whenever listeners change so events are routed without locking.
+ *
+ * @param <T> the listener.
+ */
+final class ChaincodeEventRouter<T> {
+
+    private static final Pattern QUOTED = Pattern.compile("\\\\Q(.*?)\\\\E", Pattern.DOTALL);
+    private static final Pattern META = Pattern.compile("[\\\\^$.|?*+()\\[\\]{}]");
+
+    // Literal chaincode id and event name.
+    private final Map<String, Map<String, List<T>>> exact = new HashMap<>();
+    // Literal chaincode id, event name pattern.
+    private final Map<String, List<Route<T>>> byChaincodeId = new HashMap<>();
+    // Chaincode id pattern.
+    private final List<Route<T>> patterns = new ArrayList<>();
+    private final int size;
+
+    ChaincodeEventRouter(Collection<Route<T>> routes) {
+        for (Route<T> route : routes) {
+            final String chaincodeId = literal(route.chaincodeId);
+            if (chaincodeId == null) {
+                patterns.add(route);
+                continue;
+            }
+            final String eventName = literal(route.eventName);
+            if (eventName == null) {
+                byChaincodeId.computeIfAbsent(chaincodeId, k -> new ArrayList<>()).add(route);
+            } else {
+                exact.computeIfAbsent(chaincodeId, k -> new HashMap<>()).computeIfAbsent(eventName, k -> new ArrayList<>()).add(route.target);
+            }
+        }
+        size = routes.size();
+    }
+
+    static <T> ChaincodeEventRouter<T> empty() {
+        return new ChaincodeEventRouter<>(Collections.emptyList());
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Pass every listener matching the event to the consumer.
+     *
+     * @param chaincodeId the event's chaincode id.
+     * @param eventName   the event's name.
+     * @param matched     called with each matching listener.
+     */
+    void route(String chaincodeId, String eventName, Consumer<T> matched) {
+
+        final Map<String, List<T>> byEventName = exact.get(chaincodeId);
+        if (byEventName != null) {
+            final List<T> targets = byEventName.get(eventName);
+            if (targets != null) {
+                for (T target : targets) {
+                    matched.accept(target);
+                }
+            }
+        }
+
+        final List<Route<T>> eventNamePatterns = byChaincodeId.get(chaincodeId);
+        if (eventNamePatterns != null) {
+            for (Route<T> route : eventNamePatterns) {
+                if (route.eventName.matcher(eventName).matches()) {
+                    matched.accept(route.target);
+                }
+            }
+        }
+
+        for (Route<T> route : patterns) {
+            if (route.chaincodeId.matcher(chaincodeId).matches() && route.eventName.matcher(eventName).matches()) {
+                matched.accept(route.target);
+            }
+        }
+    }
+
+    /**
+     * @param pattern the pattern.
+     * @return the only string the pattern matches or null if it can match more than one.
+     */
+    static String literal(Pattern pattern) {
+        if (pattern.flags() != 0) {
+            return null;
+        }
+        final String regex = pattern.pattern();
+        final Matcher quoted = QUOTED.matcher(regex);
+        if (quoted.matches() && !quoted.group(1).contains("\\E")) {
+            return quoted.group(1); // Pattern.quote
+        }
+        return META.matcher(regex).find() ? null : regex;
+    }
+
+    static final class Route<T> {
+        final Pattern chaincodeId;
+        final Pattern eventName;
+        final T target;
+
+        Route(Pattern chaincodeId, Pattern eventName, T target) {
+            this.chaincodeId = chaincodeId;
+            this.eventName = eventName;
+            this.target = target;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -36,24 +37,40 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Properties;
+import java.util.Queue;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import io.grpc.StatusRuntimeException;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
 import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -94,6 +111,7 @@ import org.hyperledger.fabric.sdk.Peer.PeerRole;
 import org.hyperledger.fabric.sdk.exception.CryptoException;
 import org.hyperledger.fabric.sdk.exception.EventHubException;
 import org.hyperledger.fabric.sdk.exception.InvalidArgumentException;
+import org.hyperledger.fabric.sdk.exception.InvalidProtocolBufferRuntimeException;
 import org.hyperledger.fabric.sdk.exception.PeerException;
 import org.hyperledger.fabric.sdk.exception.ProposalException;
 import org.hyperledger.fabric.sdk.exception.TransactionEventException;
@@ -101,6 +119,7 @@ import org.hyperledger.fabric.sdk.exception.TransactionException;
 import org.hyperledger.fabric.sdk.helper.Config;
 import org.hyperledger.fabric.sdk.helper.DiagnosticFileDumper;
 import org.hyperledger.fabric.sdk.helper.Utils;
+import org.hyperledger.fabric.sdk.security.CryptoSuite;
 import org.hyperledger.fabric.sdk.transaction.GetConfigBlockBuilder;
 import org.hyperledger.fabric.sdk.transaction.InstallProposalBuilder;
 import org.hyperledger.fabric.sdk.transaction.InstantiateProposalBuilder;
@@ -117,7 +136,7 @@ import org.hyperledger.fabric.sdk.transaction.UpgradeProposalBuilder;
 import static java.lang.String.format;
 import static org.hyperledger.fabric.sdk.User.userContextCheck;
 import static org.hyperledger.fabric.sdk.helper.Utils.isNullOrEmpty;
-import static org.hyperledger.fabric.sdk.transaction.ProtoUtils.createSeekInfoEnvelope;
+import static org.hyperledger.fabric.sdk.transaction.ProtoUtils.createSeekInfoEnvelopeAsync;
 import static org.hyperledger.fabric.sdk.transaction.ProtoUtils.getSignatureHeaderAsByteString;
 
 /**
@@ -127,7 +146,6 @@ import static org.hyperledger.fabric.sdk.transaction.ProtoUtils.getSignatureHead
 public class Channel implements Serializable {
     private static final long serialVersionUID = -3266164166893832538L;
     private static final Log logger = LogFactory.getLog(Channel.class);
-    private static final boolean IS_DEBUG_LEVEL = logger.isDebugEnabled();
     private static final boolean IS_TRACE_LEVEL = logger.isTraceEnabled();
 
     private static final Config config = Config.getConfig();
@@ -141,6 +159,12 @@ public class Channel implements Serializable {
     private static final String BLOCK_LISTENER_TAG = "BLOCK_LISTENER_HANDLE";
     // final Set<Peer> eventingPeers = Collections.synchronizedSet(new HashSet<>());
     private static final long DELTA_SWEEP = config.getTransactionListenerCleanUpTimeout();
+    // Expires transaction listeners of all channels. Expiry is in minutes so ticks can be coarse.
+    private static final HashedWheelTimer TX_LISTENER_TIMER = new HashedWheelTimer(r -> {
+        Thread t = Executors.defaultThreadFactory().newThread(r);
+        t.setDaemon(true);
+        return t;
+    }, 1, TimeUnit.SECONDS, 512);
     private static final String CHAINCODE_EVENTS_TAG = "CHAINCODE_EVENTS_HANDLE";
     final Collection<Orderer> orderers = new LinkedList<>();
     final Collection<EventHub> eventHubs = new LinkedList<>();
@@ -152,6 +176,8 @@ public class Channel implements Serializable {
     private final Map<PeerRole, Set<Peer>> peerRoleSetMap = Collections.synchronizedMap(new HashMap<>());
     private final boolean systemChannel;
     private final LinkedHashMap<String, ChaincodeEventListenerEntry> chainCodeListeners = new LinkedHashMap<>();
+    // Snapshot of chainCodeListeners to route events without holding its lock.
+    private transient volatile ChaincodeEventRouter<ChaincodeEventListenerEntry> chaincodeEventRouter = ChaincodeEventRouter.empty();
     transient HFClient client;
     /**
      * Runs processing events from event hubs.
@@ -168,10 +194,10 @@ public class Channel implements Serializable {
 
     private transient ChannelEventQue channelEventQue = new ChannelEventQue();
     private transient LinkedHashMap<String, BL> blockListeners = new LinkedHashMap<>();
-    private transient LinkedHashMap<String, LinkedList<TL>> txListeners = new LinkedHashMap<>();
-    //Cleans up any transaction listeners that will probably never complete.
-    private transient ScheduledFuture<?> sweeper = null;
+    private transient volatile String transactionListenerProcessorHandle = null;
+    private transient ConcurrentHashMap<String, List<TL>> txListeners = new ConcurrentHashMap<>();
     private transient String blh = null;
+    private transient SubmitPipeline submitPipeline = new SubmitPipeline(config.getSubmitMaxInFlight());
 
     {
         for (Peer.PeerRole peerRole : EnumSet.allOf(PeerRole.class)) {
@@ -326,9 +352,13 @@ public class Channel implements Serializable {
         initialized = false;
         shutdown = false;
         msps = new HashMap<>();
-        txListeners = new LinkedHashMap<>();
+        txListeners = new ConcurrentHashMap<>();
         channelEventQue = new ChannelEventQue();
+        synchronized (chainCodeListeners) {
+            updateChaincodeEventRouter();
+        }
         blockListeners = new LinkedHashMap<>();
+        submitPipeline = new SubmitPipeline(config.getSubmitMaxInFlight());
 
         for (EventHub eventHub : getEventHubs()) {
             eventHub.setEventQue(channelEventQue);
@@ -629,6 +659,25 @@ public class Channel implements Serializable {
         return Collections.unmodifiableCollection(peerRoleSetMap.get(PeerRole.ENDORSING_PEER));
     }
 
+    /**
+     * Endorsing peers for a request. If the request has an endorsement policy only the peers needed to satisfy it.
+     */
+    private Collection<Peer> getEndorsingPeers(TransactionRequest request) {
+
+        final Collection<Peer> endorsingPeers = getEndorsingPeers();
+
+        if (request != null && request.getChaincodeEndorsementPolicy() != null) {
+            Collection<Peer> selected = EndorsementPeerSelector.selectPeers(request.getChaincodeEndorsementPolicy(), endorsingPeers);
+            if (selected != null) {
+                logger.debug(format("Channel %s selected %d of %d endorsing peers for endorsement policy.",
+                        name, selected.size(), endorsingPeers.size()));
+                return selected;
+            }
+        }
+
+        return endorsingPeers;
+    }
+
     private Collection<Peer> getChaincodePeers() {
 
         return Collections.unmodifiableCollection(getPeers(EnumSet.of(PeerRole.CHAINCODE_QUERY, PeerRole.ENDORSING_PEER)));
@@ -960,7 +1009,7 @@ public class Channel implements Serializable {
 
             logger.debug(format("%d eventhubs initialized", getEventHubs().size()));
 
-            registerTransactionListenerProcessor(); //Manage transactions.
+            transactionListenerProcessorHandle = registerTransactionListenerProcessor(); //Manage transactions.
             logger.debug(format("Channel %s registerTransactionListenerProcessor completed", name));
             startEventQue(); //Run the event for event messages from event hubs.
 
@@ -1142,6 +1191,21 @@ public class Channel implements Serializable {
         return client.getExecutorService();
     }
 
+    /**
+     * Lease a gRPC channel to an endpoint from the client's pool.
+     *
+     * @param url        the endpoint url.
+     * @param properties the endpoint properties.
+     * @return the lease, not shared if the channel has been shutdown.
+     */
+    ManagedChannelPool.Lease acquireManagedChannel(String url, Properties properties) {
+        final HFClient lclient = client;
+        if (lclient == null) {
+            return ManagedChannelPool.unpooled(new Endpoint(url, properties).getChannelBuilder());
+        }
+        return lclient.getManagedChannelPool().acquire(url, properties);
+    }
+
     protected void parseConfigBlock() throws TransactionException {
 
         try {
@@ -1357,7 +1421,7 @@ public class Channel implements Serializable {
 
                 TransactionContext txContext = getTransactionContext();
 
-                DeliverResponse[] deliver = orderer.sendDeliver(createSeekInfoEnvelope(txContext, seekInfo, orderer.getClientTLSCertificateDigest()));
+                DeliverResponse[] deliver = orderer.sendDeliver(createSeekInfoEnvelopeAsync(txContext, seekInfo, orderer.getClientTLSCertificateDigest()));
 
                 if (deliver.length < 1) {
                     logger.warn(format("Genesis block for channel %s fetch bad deliver missing status block only got blocks:%d", name, deliver.length));
@@ -2242,15 +2306,18 @@ public class Channel implements Serializable {
 
     /**
      * Send a transaction  proposal.
+     * If the request has a chaincode endorsement policy only the endorsing peers needed to satisfy it are sent
+     * the proposal, preferring the peers that have been fastest and most reliable.
      *
      * @param transactionProposalRequest The transaction proposal to be sent to all the peers.
      * @return responses from peers.
+     * @see TransactionRequest#setChaincodeEndorsementPolicy(ChaincodeEndorsementPolicy)
      * @throws InvalidArgumentException
      * @throws ProposalException
      */
     public Collection<ProposalResponse> sendTransactionProposal(TransactionProposalRequest transactionProposalRequest) throws ProposalException, InvalidArgumentException {
 
-        return sendProposal(transactionProposalRequest, getEndorsingPeers());
+        return sendProposal(transactionProposalRequest, getEndorsingPeers(transactionProposalRequest));
     }
 
     /**
@@ -2267,6 +2334,174 @@ public class Channel implements Serializable {
         return sendProposal(transactionProposalRequest, peers);
     }
 
+    /**
+     * Send a transaction proposal to all the endorsing peers without waiting on any of them.
+     *
+     * @param transactionProposalRequest The transaction proposal to be sent to all the peers.
+     * @return future that completes with the responses from peers in the order they arrived.
+     * @throws InvalidArgumentException
+     * @throws ProposalException
+     * @see #sendTransactionProposalAsync(TransactionProposalRequest, Collection, int)
+     */
+    public CompletableFuture<Collection<ProposalResponse>> sendTransactionProposalAsync(TransactionProposalRequest transactionProposalRequest)
+            throws ProposalException, InvalidArgumentException {
+
+        return sendTransactionProposalAsync(transactionProposalRequest, getEndorsingPeers(transactionProposalRequest), 0);
+    }
+
+    /**
+     * Send a transaction proposal to specific peers without waiting on any of them.
+     *
+     * @param transactionProposalRequest The transaction proposal to be sent to the peers.
+     * @param peers
+     * @return future that completes with the responses from peers in the order they arrived.
+     * @throws InvalidArgumentException
+     * @throws ProposalException
+     * @see #sendTransactionProposalAsync(TransactionProposalRequest, Collection, int)
+     */
+    public CompletableFuture<Collection<ProposalResponse>> sendTransactionProposalAsync(TransactionProposalRequest transactionProposalRequest,
+                                                                                        Collection<Peer> peers)
+            throws ProposalException, InvalidArgumentException {
+
+        return sendTransactionProposalAsync(transactionProposalRequest, peers, 0);
+    }
+
+    /**
+     * Send a transaction proposal to specific peers and complete as soon as enough of them agree.
+     * <p>
+     * Responses are processed as they arrive. Once <code>quorum</code> peers have returned successful (and when
+     * requested verified) responses with the same payload the future completes with just those responses and the
+     * requests still outstanding are cancelled. If the quorum can't be reached the future completes with every
+     * response in the order they arrived once all peers have replied or the proposal wait time has expired.
+     * Peers that failed or timed out are reported as invalid responses, the same as {@link #sendTransactionProposal(TransactionProposalRequest, Collection)}.
+     * When the request has a {@link TransactionRequest#setProposalHedgePercentile(double) hedge percentile} a peer that
+     * is slower than usual or fails is backed up by another endorsing peer of the same organization.
+     *
+     * @param transactionProposalRequest The transaction proposal to be sent to the peers.
+     * @param peers
+     * @param quorum                     number of consistent successful responses needed. Zero or less waits on all peers.
+     * @return future that completes with the responses from peers.
+     * @throws InvalidArgumentException
+     * @throws ProposalException
+     */
+    public CompletableFuture<Collection<ProposalResponse>> sendTransactionProposalAsync(TransactionProposalRequest transactionProposalRequest,
+                                                                                        Collection<Peer> peers, int quorum)
+            throws ProposalException, InvalidArgumentException {
+
+        checkProposalRequest(transactionProposalRequest, peers);
+
+        try {
+            TransactionContext transactionContext = getProposalTransactionContext(transactionProposalRequest);
+            // The proposal is sent once signed without waiting on the user's signer here.
+            return createSignedProposalAsync(transactionContext, transactionProposalRequest).handle((invokeProposal, t) -> {
+                if (t != null) {
+                    throw new CompletionException(new ProposalException(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t));
+                }
+                try {
+                    return sendProposalToPeersAsync(peers, invokeProposal, transactionContext, quorum,
+                            transactionProposalRequest.getProposalHedgePercentile());
+                } catch (InvalidArgumentException e) {
+                    throw new CompletionException(e);
+                }
+            }).thenCompose(future -> future);
+        } catch (Exception e) {
+            ProposalException exp = new ProposalException(e);
+            logger.error(exp.getMessage(), exp);
+            throw exp;
+        }
+    }
+
+    /**
+     * Submit a transaction: endorse it, check the endorsements agree, sign it, send it to the orderers and wait on it
+     * being committed. Each stage starts on completion of the one before without any thread waiting, so a few
+     * threads can keep many transactions in flight.
+     * <p>
+     * A channel has at most {@link org.hyperledger.fabric.sdk.helper.Config#getSubmitMaxInFlight()} submitted transactions
+     * in flight. When it is full this waits up to the request's proposal wait time for one to complete.
+     *
+     * @param transactionProposalRequest the transaction to submit.
+     * @return future completed with the transaction event once committed, or exceptionally if any stage fails.
+     * @throws InvalidArgumentException
+     * @throws ProposalException        if the channel stayed full.
+     */
+    public CompletableFuture<TransactionEvent> submitAsync(TransactionProposalRequest transactionProposalRequest)
+            throws InvalidArgumentException, ProposalException {
+
+        return submitAsync(transactionProposalRequest, getEndorsingPeers(transactionProposalRequest));
+    }
+
+    /**
+     * Submit a transaction endorsed by specific peers.
+     *
+     * @param transactionProposalRequest the transaction to submit.
+     * @param peers                      the endorsing peers.
+     * @return future completed with the transaction event once committed, or exceptionally if any stage fails.
+     * @throws InvalidArgumentException
+     * @throws ProposalException        if the channel stayed full.
+     * @see #submitAsync(TransactionProposalRequest)
+     */
+    public CompletableFuture<TransactionEvent> submitAsync(TransactionProposalRequest transactionProposalRequest, Collection<Peer> peers)
+            throws InvalidArgumentException, ProposalException {
+
+        if (null == transactionProposalRequest) {
+            throw new InvalidArgumentException("The proposalRequest is null");
+        }
+
+        final SubmitPipeline pipeline = submitPipeline;
+        try {
+            if (!pipeline.enter(transactionProposalRequest.getProposalWaitTime(), TimeUnit.MILLISECONDS)) {
+                throw new ProposalException(format("Channel %s has %d submitted transactions in flight, the most allowed.",
+                        name, pipeline.getCapacity()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProposalException(e);
+        }
+
+        final CompletableFuture<Collection<ProposalResponse>> endorsed;
+        try {
+            endorsed = pipeline.stage(SubmitPipeline.Stage.ENDORSE, sendTransactionProposalAsync(transactionProposalRequest, peers, 0));
+        } catch (InvalidArgumentException | ProposalException | RuntimeException e) {
+            pipeline.exit();
+            throw e;
+        }
+
+        final User userContext = transactionProposalRequest.getUserContext() != null ? transactionProposalRequest.getUserContext()
+                : client.getUserContext();
+
+        return endorsed.thenCompose(proposalResponses -> pipeline.stage(SubmitPipeline.Stage.VALIDATE,
+                CompletableFuture.supplyAsync(() -> checkSubmitEndorsements(proposalResponses), getExecutorService())))
+                .thenCompose(proposalResponses -> sendTransaction(proposalResponses, orderers, userContext, pipeline))
+                .whenComplete((transactionEvent, t) -> pipeline.exit());
+    }
+
+    private Collection<ProposalResponse> checkSubmitEndorsements(Collection<ProposalResponse> proposalResponses) {
+        try {
+            for (ProposalResponse proposalResponse : proposalResponses) {
+                if (proposalResponse.isInvalid()) {
+                    throw new ProposalException(format("Channel %s transaction %s endorsement by peer %s failed with status %s: %s",
+                            name, proposalResponse.getTransactionID(),
+                            proposalResponse.getPeer() == null ? "" : proposalResponse.getPeer().getName(),
+                            proposalResponse.getStatus(), proposalResponse.getMessage()));
+                }
+            }
+
+            final int consistencyGroups = SDKUtils.getProposalConsistencySets(proposalResponses).size();
+            if (consistencyGroups != 1) {
+                throw new ProposalException(format("Channel %s transaction endorsements have %d inconsistent groups. Expected 1.",
+                        name, consistencyGroups));
+            }
+            return proposalResponses;
+
+        } catch (ProposalException | InvalidArgumentException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    SubmitPipeline getSubmitPipeline() {
+        return submitPipeline;
+    }
+
     /**
      * Send Query proposal
      *
@@ -2297,6 +2532,38 @@ public class Channel implements Serializable {
 
     private Collection<ProposalResponse> sendProposal(TransactionRequest proposalRequest, Collection<Peer> peers) throws InvalidArgumentException, ProposalException {
 
+        checkProposalRequest(proposalRequest, peers);
+
+        try {
+            TransactionContext transactionContext = getProposalTransactionContext(proposalRequest);
+            SignedProposal invokeProposal = createSignedProposal(transactionContext, proposalRequest);
+
+            if (proposalRequest.getProposalHedgePercentile() > 0) {
+                try {
+                    return sendProposalToPeersAsync(peers, invokeProposal, transactionContext, 0,
+                            proposalRequest.getProposalHedgePercentile()).get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new ProposalException(cause);
+                }
+            }
+
+            return sendProposalToPeers(peers, invokeProposal, transactionContext);
+        } catch (ProposalException e) {
+            throw e;
+
+        } catch (Exception e) {
+            ProposalException exp = new ProposalException(e);
+            logger.error(exp.getMessage(), exp);
+            throw exp;
+        }
+    }
+
+    private void checkProposalRequest(TransactionRequest proposalRequest, Collection<Peer> peers) throws InvalidArgumentException {
+
         checkChannelState();
         checkPeers(peers);
 
@@ -2313,29 +2580,40 @@ public class Channel implements Serializable {
         }
 
         proposalRequest.setSubmitted();
+    }
 
-        try {
-            TransactionContext transactionContext = getTransactionContext(proposalRequest.getUserContext());
-            transactionContext.verify(proposalRequest.doVerify());
-            transactionContext.setProposalWaitTime(proposalRequest.getProposalWaitTime());
+    private TransactionContext getProposalTransactionContext(TransactionRequest proposalRequest) throws InvalidArgumentException {
 
-            // Protobuf message builder
-            ProposalBuilder proposalBuilder = ProposalBuilder.newBuilder();
-            proposalBuilder.context(transactionContext);
-            proposalBuilder.request(proposalRequest);
+        TransactionContext transactionContext = getTransactionContext(proposalRequest.getUserContext());
+        transactionContext.verify(proposalRequest.doVerify());
+        transactionContext.setProposalWaitTime(proposalRequest.getProposalWaitTime());
+        return transactionContext;
+    }
 
-            SignedProposal invokeProposal = getSignedProposal(transactionContext, proposalBuilder.build());
-            return sendProposalToPeers(peers, invokeProposal, transactionContext);
-        } catch (ProposalException e) {
-            throw e;
+    private SignedProposal createSignedProposal(TransactionContext transactionContext, TransactionRequest proposalRequest) throws Exception {
 
-        } catch (Exception e) {
-            ProposalException exp = new ProposalException(e);
-            logger.error(exp.getMessage(), exp);
-            throw exp;
+        try {
+            return createSignedProposalAsync(transactionContext, proposalRequest).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw cause instanceof Exception ? (Exception) cause : e;
         }
     }
 
+    private CompletableFuture<SignedProposal> createSignedProposalAsync(TransactionContext transactionContext,
+                                                                        TransactionRequest proposalRequest) throws InvalidArgumentException {
+
+        // Protobuf message builder
+        ProposalBuilder proposalBuilder = ProposalBuilder.newBuilder();
+        proposalBuilder.context(transactionContext);
+        proposalBuilder.request(proposalRequest);
+
+        return proposalBuilder.buildSignedAsync();
+    }
+
     private Collection<ProposalResponse> sendProposalToPeers(Collection<Peer> peers,
                                                              SignedProposal signedProposal,
                                                              TransactionContext transactionContext) throws InvalidArgumentException, ProposalException {
@@ -2399,203 +2677,563 @@ public class Channel implements Serializable {
                         transactionContext.getProposalWaitTime());
                 logger.error(message, e);
             } catch (ExecutionException e) {
-                Throwable cause = e.getCause();
-                if (cause instanceof Error) {
-                    String emsg = "Sending proposal to " + peerName + " failed because of " + cause.getMessage();
-                    logger.error(emsg, new Exception(cause)); //wrapped in exception to get full stack trace.
-                    throw (Error) cause;
-                } else {
-                    if (cause instanceof StatusRuntimeException) {
-                        message = format("Sending proposal to " + peerName + " failed because of: gRPC failure=%s",
-                                ((StatusRuntimeException) cause).getStatus());
-                    } else {
-                        message = format("Sending proposal to " + peerName + " failed because of: %s", cause.getMessage());
-                    }
-                    logger.error(message, new Exception(cause)); //wrapped in exception to get full stack trace.
-                }
+                message = getProposalFailureMessage(peerName, e.getCause());
             }
 
-            ProposalResponse proposalResponse = new ProposalResponse(transactionContext.getTxID(),
-                    transactionContext.getChannelID(), status, message);
-            proposalResponse.setProposalResponse(fabricResponse);
-            proposalResponse.setProposal(signedProposal);
-            proposalResponse.setPeer(peerFuturePair.peer);
-
-            if (fabricResponse != null && transactionContext.getVerify()) {
-                proposalResponse.verify(client.getCryptoSuite());
-            }
+            proposalResponses.add(createProposalResponse(peerFuturePair.peer, signedProposal, transactionContext,
+                    fabricResponse, status, message));
+        }
 
-            proposalResponses.add(proposalResponse);
+        try {
+            verifyProposalResponses(proposalResponses, transactionContext).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProposalException("Verifying proposal responses was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new ProposalException(e.getCause());
         }
 
         return proposalResponses;
     }
 
-    /**
-     * Send transaction to one of the orderers on the channel using a specific user context.
-     *
-     * @param proposalResponses The proposal responses to be sent to the orderer.
-     * @param userContext       The usercontext used for signing transaction.
-     * @return a future allowing access to the result of the transaction invocation once complete.
-     */
-    public CompletableFuture<TransactionEvent> sendTransaction(Collection<ProposalResponse> proposalResponses, User userContext) {
+    private CompletableFuture<Collection<ProposalResponse>> sendProposalToPeersAsync(Collection<Peer> peers,
+                                                                                      SignedProposal signedProposal,
+                                                                                      TransactionContext transactionContext,
+                                                                                      int quorum,
+                                                                                      double hedgePercentile) throws InvalidArgumentException {
+        checkPeers(peers);
 
-        return sendTransaction(proposalResponses, orderers, userContext);
+        final ProposalResponseCollector collector = new ProposalResponseCollector(quorum, hedgePercentile,
+                signedProposal, transactionContext);
+        collector.start(peers, hedgePercentile > 0 ? getEndorsingPeers() : Collections.emptyList());
 
+        return collector.result;
     }
 
-    /**
-     * Send transaction to one of the orderers on the channel using the usercontext set on the client.
-     *
-     * @param proposalResponses .
-     * @return a future allowing access to the result of the transaction invocation once complete.
-     */
-    public CompletableFuture<TransactionEvent> sendTransaction(Collection<ProposalResponse> proposalResponses) {
+    private String getProposalFailureMessage(String peerName, Throwable cause) {
+        String message;
+        if (cause instanceof Error) {
+            String emsg = "Sending proposal to " + peerName + " failed because of " + cause.getMessage();
+            logger.error(emsg, new Exception(cause)); //wrapped in exception to get full stack trace.
+            throw (Error) cause;
+        } else {
+            if (cause instanceof StatusRuntimeException) {
+                message = format("Sending proposal to " + peerName + " failed because of: gRPC failure=%s",
+                        ((StatusRuntimeException) cause).getStatus());
+            } else {
+                message = format("Sending proposal to " + peerName + " failed because of: %s", cause.getMessage());
+            }
+            logger.error(message, new Exception(cause)); //wrapped in exception to get full stack trace.
+        }
+        return message;
+    }
 
-        return sendTransaction(proposalResponses, orderers);
+    private ProposalResponse createProposalResponse(Peer peer, SignedProposal signedProposal, TransactionContext transactionContext,
+                                                    FabricProposalResponse.ProposalResponse fabricResponse, int status, String message)
+            throws ProposalException {
 
+        ProposalResponse proposalResponse = new ProposalResponse(transactionContext.getTxID(),
+                transactionContext.getChannelID(), status, message);
+        proposalResponse.setProposalResponse(fabricResponse);
+        proposalResponse.setProposal(signedProposal);
+        proposalResponse.setPeer(peer);
+
+        return proposalResponse;
     }
 
     /**
-     * Send transaction to one of the specified orderers using the usercontext set on the client..
+     * Verify the endorsement signatures of the responses. The crypto suite may verify them concurrently.
      *
-     * @param proposalResponses The proposal responses to be sent to the orderer
-     * @param orderers          The orderers to send the transaction to.
-     * @return a future allowing access to the result of the transaction invocation once complete.
+     * @return future completed when all responses have been verified.
      */
+    private CompletableFuture<Void> verifyProposalResponses(Collection<ProposalResponse> proposalResponses, TransactionContext transactionContext) {
 
-    public CompletableFuture<TransactionEvent> sendTransaction(Collection<ProposalResponse> proposalResponses, Collection<Orderer> orderers) {
+        if (!transactionContext.getVerify()) {
+            return CompletableFuture.completedFuture(null);
+        }
 
-        return sendTransaction(proposalResponses, orderers, client.getUserContext());
+        final List<ProposalResponse> verifying = new ArrayList<>(proposalResponses.size());
+        final List<CryptoSuite.Verification> verifications = new ArrayList<>(proposalResponses.size());
+        for (ProposalResponse proposalResponse : proposalResponses) {
+            if (proposalResponse.getProposalResponse() != null && !proposalResponse.isVerified()) {
+                CryptoSuite.Verification verification = proposalResponse.getVerification();
+                if (verification != null) {
+                    verifying.add(proposalResponse);
+                    verifications.add(verification);
+                }
+            }
+        }
+
+        if (verifications.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return client.getCryptoSuite().verifyAsync(verifications).thenAccept(verified -> {
+            for (int i = 0; i < verified.length; ++i) {
+                verifying.get(i).setVerified(verified[i]);
+            }
+        });
     }
 
     /**
-     * Send transaction to one of a specified set of orderers with the specified user context.
-     * IF there are no event hubs or eventing peers this future returns immediately completed
-     * indicating that orderer has accepted the transaction only.
-     *
-     * @param proposalResponses
-     * @param orderers
-     * @return Future allowing access to the result of the transaction invocation.
+     * Sends a proposal and collects the responses in the order they arrive for {@link #sendProposalToPeersAsync}.
+     * Completes when a quorum of consistent valid responses is reached, all peers replied or on timeout.
+     * <p>
+     * Each requested peer is an endorsement slot. When hedging, a slot whose peer is slower than its latency
+     * percentile or fails is also sent to an alternate endorsing peer of the same organization. The first
+     * successful response fills the slot and the slot's other requests are cancelled.
      */
+    private class ProposalResponseCollector {
+        private final CompletableFuture<Collection<ProposalResponse>> result = new CompletableFuture<>();
+        private final int quorum;
+        private final double hedgePercentile;
+        private final SignedProposal signedProposal;
+        private final TransactionContext transactionContext;
+        private final List<Slot> slots = new ArrayList<>();
+        private final List<ProposalResponse> responses = new ArrayList<>();
+        // payload bytes is what's being signed over so it must be consistent.
+        private final Map<ByteString, List<ProposalResponse>> consistent = new HashMap<>();
+        private final Map<Peer, Future<FabricProposalResponse.ProposalResponse>> outstanding = new LinkedHashMap<>();
+        private final Map<Peer, Slot> peerSlots = new HashMap<>();
+        private final Set<Peer> used = new HashSet<>();
+        private final List<Peer> alternates = new ArrayList<>();
+        private final List<ScheduledFuture<?>> timers = new ArrayList<>();
+        private int filled = 0;
+
+        private volatile boolean done = false;
+
+        private class Slot {
+            private final Peer peer;
+            private int pending = 0;
+            private boolean filled = false;
+            private ProposalResponse failure;
 
-    public CompletableFuture<TransactionEvent> sendTransaction(Collection<ProposalResponse> proposalResponses, Collection<Orderer> orderers, User userContext) {
-        try {
-            checkChannelState();
-            userContextCheck(userContext);
-            if (null == proposalResponses) {
-                throw new InvalidArgumentException("sendTransaction proposalResponses was null");
-            }
-
-            if (null == orderers) {
-                throw new InvalidArgumentException("sendTransaction Orderers is null");
+            private Slot(Peer peer) {
+                this.peer = peer;
             }
+        }
 
-            final ArrayList<Orderer> shuffeledOrderers = new ArrayList<>(orderers);
-            Collections.shuffle(shuffeledOrderers);
+        ProposalResponseCollector(int quorum, double hedgePercentile, SignedProposal signedProposal, TransactionContext transactionContext) {
+            this.quorum = quorum;
+            this.hedgePercentile = hedgePercentile;
+            this.signedProposal = signedProposal;
+            this.transactionContext = transactionContext;
+        }
 
-            if (shuffeledOrderers.isEmpty()) {
-                throw new InvalidArgumentException("sendTransaction Orderers to send to is empty.");
-            }
+        boolean isDone() {
+            return done;
+        }
 
-            if (config.getProposalConsistencyValidation()) {
-                HashSet<ProposalResponse> invalid = new HashSet<>();
-                int consistencyGroups = SDKUtils.getProposalConsistencySets(proposalResponses, invalid).size();
+        void start(Collection<Peer> peers, Collection<Peer> alternatePeers) {
 
-                if (consistencyGroups != 1 || !invalid.isEmpty()) {
-                    throw new IllegalArgumentException(format(
-                            "The proposal responses have %d inconsistent groups with %d that are invalid."
-                                    + " Expected all to be consistent and none to be invalid.",
-                            consistencyGroups, invalid.size()));
+            synchronized (this) {
+                for (Peer peer : peers) {
+                    Slot slot = new Slot(peer);
+                    slot.pending = 1;
+                    slots.add(slot);
+                    used.add(peer);
+                }
 
+                for (Peer peer : alternatePeers) {
+                    if (!used.contains(peer) && peer.getOrganizationMSPID() != null) {
+                        alternates.add(peer);
+                    }
                 }
+                alternates.sort(Comparator.comparingDouble(peer -> peer.getStatistics().getCost()));
 
+                timers.add(TimeoutScheduler.schedule(this::timeout, transactionContext.getProposalWaitTime()));
             }
 
-            List<FabricProposalResponse.Endorsement> ed = new LinkedList<>();
-            FabricProposal.Proposal proposal = null;
-            ByteString proposalResponsePayload = null;
-            String proposalTransactionID = null;
-
-            for (ProposalResponse sdkProposalResponse : proposalResponses) {
-                ed.add(sdkProposalResponse.getProposalResponse().getEndorsement());
-                if (proposal == null) {
-                    proposal = sdkProposalResponse.getProposal();
-                    proposalTransactionID = sdkProposalResponse.getTransactionID();
-                    proposalResponsePayload = sdkProposalResponse.getProposalResponse().getPayload();
+            for (Slot slot : slots) {
+                if (isDone()) {
+                    break; // Quorum reached already, no need to bother the rest.
+                }
 
+                if (!alternates.isEmpty()) {
+                    final long delay = slot.peer.getStatistics().getLatencyPercentile(hedgePercentile);
+                    if (delay >= 0) {
+                        synchronized (this) {
+                            if (!isDone()) {
+                                timers.add(TimeoutScheduler.schedule(() -> hedge(slot), delay));
+                            }
+                        }
+                    }
                 }
+
+                send(slot, slot.peer);
             }
+        }
 
-            TransactionBuilder transactionBuilder = TransactionBuilder.newBuilder();
+        /**
+         * Send to a peer, the slot's pending count must already include it.
+         */
+        private void send(Slot slot, Peer peer) {
 
-            Payload transactionPayload = transactionBuilder
-                    .chaincodeProposal(proposal)
-                    .endorsements(ed)
-                    .proposalResponsePayload(proposalResponsePayload).build();
+            logger.debug(format("Channel %s send proposal to peer %s at url %s",
+                    name, peer.getName(), peer.getUrl()));
 
-            Envelope transactionEnvelope = createTransactionEnvelope(transactionPayload, userContext);
+            if (null != diagnosticFileDumper) {
+                logger.trace(format("Sending to channel %s, peer: %s, proposal: %s", name, peer.getName(),
+                        diagnosticFileDumper.createDiagnosticProtobufFile(signedProposal.toByteArray())));
 
-            CompletableFuture<TransactionEvent> sret;
-            if (getEventHubs().isEmpty() && getEventingPeers().isEmpty()) { //If there are no eventhubs to complete the future, complete it
-                // immediately but give no transaction event
-                logger.debug(format("Completing transaction id %s immediately no event hubs or peer eventing services found in channel %s.", proposalTransactionID, name));
-                sret = new CompletableFuture<>();
-                sret.complete(null);
-            } else {
-                sret = registerTxListener(proposalTransactionID);
             }
 
-            logger.debug(format("Channel %s sending transaction to orderer(s) with TxID %s ", name, proposalTransactionID));
-            boolean success = false;
-            Exception lException = null; // Save last exception to report to user .. others are just logged.
+            ListenableFuture<FabricProposalResponse.ProposalResponse> future;
+            try {
+                future = peer.sendProposalAsync(signedProposal);
+            } catch (Exception e) {
+                future = Futures.immediateFailedFuture(e);
+            }
 
-            BroadcastResponse resp = null;
-            for (Orderer orderer : shuffeledOrderers) {
-                try {
+            synchronized (this) {
+                if (isDone() || slot.filled) {
+                    --slot.pending;
+                    future.cancel(true);
+                    return;
+                }
+                outstanding.put(peer, future);
+                peerSlots.put(peer, slot);
+            }
 
+            Futures.addCallback(future, new FutureCallback<FabricProposalResponse.ProposalResponse>() {
+                @Override
+                public void onSuccess(FabricProposalResponse.ProposalResponse fabricResponse) {
+                    final String message = fabricResponse.getResponse().getMessage();
+                    final int status = fabricResponse.getResponse().getStatus();
+                    logger.debug(format("Channel %s got back from peer %s status: %d, message: %s",
+                            name, peer.getName(), status, message));
                     if (null != diagnosticFileDumper) {
-                        logger.trace(format("Sending to channel %s, orderer: %s, transaction: %s", name, orderer.getName(),
-                                diagnosticFileDumper.createDiagnosticProtobufFile(transactionEnvelope.toByteArray())));
+                        logger.trace(format("Got back from channel %s, peer: %s, proposal response: %s", name, peer.getName(),
+                                diagnosticFileDumper.createDiagnosticProtobufFile(fabricResponse.toByteArray())));
+
                     }
 
-                    resp = orderer.sendTransaction(transactionEnvelope);
-                    lException = null; // no longer last exception .. maybe just failed.
-                    if (resp.getStatus() == Status.SUCCESS) {
-                        success = true;
-                        break;
+                    try {
+                        final ProposalResponse proposalResponse = createProposalResponse(peer, signedProposal, transactionContext,
+                                fabricResponse, status, message);
+                        verifyProposalResponses(Collections.singletonList(proposalResponse), transactionContext).whenComplete((v, t) -> {
+                            if (t != null) {
+                                failed(t);
+                            } else {
+                                received(peer, proposalResponse);
+                            }
+                        });
+                    } catch (Exception e) {
+                        failed(e);
                     }
-                } catch (Exception e) {
-                    String emsg = format("Channel %s unsuccessful sendTransaction to orderer %s (%s)",
-                            name, orderer.getName(), orderer.getUrl());
-                    if (resp != null) {
+                }
 
-                        emsg = format("Channel %s unsuccessful sendTransaction to orderer %s (%s).  %s",
-                                name, orderer.getName(), orderer.getUrl(), getRespData(resp));
+                @Override
+                public void onFailure(Throwable t) {
+                    if (!isOutstanding(peer)) {
+                        return; // cancelled by us.
+                    }
+                    try {
+                        final String message = getProposalFailureMessage(peer.getName(), t);
+                        received(peer, createProposalResponse(peer, signedProposal, transactionContext,
+                                null, 500, message));
+                    } catch (Error e) {
+                        failed(e);
+                        throw e;
+                    } catch (Exception e) {
+                        failed(e);
                     }
+                }
+            }, getExecutorService());
+        }
 
-                    logger.error(emsg, e);
-                    lException = new Exception(emsg, e);
+        private synchronized boolean isOutstanding(Peer peer) {
+            return outstanding.containsKey(peer);
+        }
 
+        /**
+         * Slot's peer is slower than usual, try an alternate too.
+         */
+        private void hedge(Slot slot) {
+            final Peer alternate;
+            synchronized (this) {
+                if (isDone() || slot.filled) {
+                    return;
                 }
-
+                alternate = reserveAlternate(slot);
             }
 
-            if (success) {
-                logger.debug(format("Channel %s successful sent to Orderer transaction id: %s",
-                        name, proposalTransactionID));
-                return sret;
-            } else {
-
-                String emsg = format("Channel %s failed to place transaction %s on Orderer. Cause: UNSUCCESSFUL. %s",
-                        name, proposalTransactionID, getRespData(resp));
-
-                unregisterTxListener(proposalTransactionID);
+            if (alternate != null) {
+                logger.debug(format("Channel %s hedging proposal %s to peer %s for slow peer %s",
+                        name, transactionContext.getTxID(), alternate.getName(), slot.peer.getName()));
+                getExecutorService().execute(() -> send(slot, alternate));
+            }
+        }
 
-                CompletableFuture<TransactionEvent> ret = new CompletableFuture<>();
-                ret.completeExceptionally(lException != null ? new Exception(emsg, lException) : new Exception(emsg));
-                return ret;
+        private Peer reserveAlternate(Slot slot) {
+            final String mspid = slot.peer.getOrganizationMSPID();
+            if (mspid == null) {
+                return null;
             }
+            for (Peer peer : alternates) {
+                if (!used.contains(peer) && mspid.equals(peer.getOrganizationMSPID())) {
+                    used.add(peer);
+                    ++slot.pending;
+                    return peer;
+                }
+            }
+            return null;
+        }
+
+        void received(Peer peer, ProposalResponse proposalResponse) {
+            Peer alternate = null;
+            final Slot slot;
+
+            synchronized (this) {
+                slot = peerSlots.get(peer);
+                if (isDone() || outstanding.remove(peer) == null) {
+                    return;
+                }
+                --slot.pending;
+
+                if (slot.filled) {
+                    return;
+                }
+
+                if (!proposalResponse.isInvalid()) {
+                    fill(slot, proposalResponse);
+                    return;
+                }
+
+                slot.failure = proposalResponse;
+                if (hedgePercentile > 0) {
+                    alternate = reserveAlternate(slot);
+                }
+                if (alternate == null && slot.pending == 0) {
+                    fill(slot, proposalResponse);
+                    return;
+                }
+            }
+
+            if (alternate != null) {
+                logger.debug(format("Channel %s retrying proposal %s on peer %s for failed peer %s",
+                        name, transactionContext.getTxID(), alternate.getName(), peer.getName()));
+                send(slot, alternate);
+            }
+        }
+
+        private void fill(Slot slot, ProposalResponse proposalResponse) {
+            slot.filled = true;
+            ++filled;
+
+            // cancel the slot's other requests.
+            for (Iterator<Map.Entry<Peer, Future<FabricProposalResponse.ProposalResponse>>> it = outstanding.entrySet().iterator(); it.hasNext();) {
+                Map.Entry<Peer, Future<FabricProposalResponse.ProposalResponse>> entry = it.next();
+                if (peerSlots.get(entry.getKey()) == slot) {
+                    it.remove();
+                    entry.getValue().cancel(true);
+                }
+            }
+
+            responses.add(proposalResponse);
+
+            if (quorum > 0 && !proposalResponse.isInvalid() && (!transactionContext.getVerify() || proposalResponse.isVerified())) {
+                final ByteString payloadBytes = proposalResponse.getPayloadBytes();
+                if (payloadBytes != null && !payloadBytes.isEmpty()) {
+                    List<ProposalResponse> agreed = consistent.computeIfAbsent(payloadBytes, k -> new ArrayList<>());
+                    agreed.add(proposalResponse);
+                    if (agreed.size() >= quorum) {
+                        logger.debug(format("Channel %s reached quorum of %d for transaction %s with %d peers outstanding",
+                                name, quorum, transactionContext.getTxID(), outstanding.size()));
+                        complete(agreed);
+                        return;
+                    }
+                }
+            }
+
+            if (filled == slots.size()) {
+                complete(responses);
+            }
+        }
+
+        synchronized void timeout() {
+            if (isDone()) {
+                return;
+            }
+
+            try {
+                for (Slot slot : slots) {
+                    if (slot.filled) {
+                        continue;
+                    }
+                    if (slot.failure != null) {
+                        responses.add(slot.failure);
+                    } else {
+                        String message = format("Sending proposal to " + slot.peer.getName() + " failed because of timeout(%d milliseconds) expiration",
+                                transactionContext.getProposalWaitTime());
+                        logger.error(message);
+                        responses.add(createProposalResponse(slot.peer, signedProposal, transactionContext, null, 500, message));
+                    }
+                }
+                complete(responses);
+            } catch (Exception e) {
+                failed(e);
+            }
+        }
+
+        synchronized void failed(Throwable t) {
+            if (!isDone()) {
+                cancelOutstanding();
+                result.completeExceptionally(t);
+            }
+        }
+
+        private void complete(Collection<ProposalResponse> proposalResponses) {
+            cancelOutstanding();
+            result.complete(new ArrayList<>(proposalResponses));
+        }
+
+        private void cancelOutstanding() {
+            done = true;
+            for (ScheduledFuture<?> timer : timers) {
+                timer.cancel(false);
+            }
+            timers.clear();
+            for (Future<FabricProposalResponse.ProposalResponse> future : outstanding.values()) {
+                future.cancel(true);
+            }
+            outstanding.clear();
+        }
+    }
+
+    /**
+     * Send transaction to one of the orderers on the channel using a specific user context.
+     *
+     * @param proposalResponses The proposal responses to be sent to the orderer.
+     * @param userContext       The usercontext used for signing transaction.
+     * @return a future allowing access to the result of the transaction invocation once complete.
+     */
+    public CompletableFuture<TransactionEvent> sendTransaction(Collection<ProposalResponse> proposalResponses, User userContext) {
+
+        return sendTransaction(proposalResponses, orderers, userContext);
+
+    }
+
+    /**
+     * Send transaction to one of the orderers on the channel using the usercontext set on the client.
+     *
+     * @param proposalResponses .
+     * @return a future allowing access to the result of the transaction invocation once complete.
+     */
+    public CompletableFuture<TransactionEvent> sendTransaction(Collection<ProposalResponse> proposalResponses) {
+
+        return sendTransaction(proposalResponses, orderers);
+
+    }
+
+    /**
+     * Send transaction to one of the specified orderers using the usercontext set on the client..
+     *
+     * @param proposalResponses The proposal responses to be sent to the orderer
+     * @param orderers          The orderers to send the transaction to.
+     * @return a future allowing access to the result of the transaction invocation once complete.
+     */
+
+    public CompletableFuture<TransactionEvent> sendTransaction(Collection<ProposalResponse> proposalResponses, Collection<Orderer> orderers) {
+
+        return sendTransaction(proposalResponses, orderers, client.getUserContext());
+    }
+
+    /**
+     * Send transaction to one of a specified set of orderers with the specified user context.
+     * IF there are no event hubs or eventing peers this future returns immediately completed
+     * indicating that orderer has accepted the transaction only.
+     *
+     * @param proposalResponses
+     * @param orderers
+     * @return Future allowing access to the result of the transaction invocation.
+     */
+
+    public CompletableFuture<TransactionEvent> sendTransaction(Collection<ProposalResponse> proposalResponses, Collection<Orderer> orderers, User userContext) {
+
+        return sendTransaction(proposalResponses, orderers, userContext, null);
+    }
+
+    /**
+     * Send transaction to orderers.
+     *
+     * @param proposalResponses
+     * @param orderers
+     * @param userContext
+     * @param pipeline          counts the stages of transactions from {@link #submitAsync(TransactionProposalRequest)}.
+     *                          When not null the responses have already been checked for consistency.
+     * @return Future allowing access to the result of the transaction invocation.
+     */
+    private CompletableFuture<TransactionEvent> sendTransaction(Collection<ProposalResponse> proposalResponses, Collection<Orderer> orderers,
+                                                                User userContext, SubmitPipeline pipeline) {
+        try {
+            checkChannelState();
+            userContextCheck(userContext);
+            if (null == proposalResponses) {
+                throw new InvalidArgumentException("sendTransaction proposalResponses was null");
+            }
+
+            if (null == orderers) {
+                throw new InvalidArgumentException("sendTransaction Orderers is null");
+            }
+
+            final ArrayList<Orderer> shuffeledOrderers = new ArrayList<>(orderers);
+            Collections.shuffle(shuffeledOrderers);
+
+            if (shuffeledOrderers.isEmpty()) {
+                throw new InvalidArgumentException("sendTransaction Orderers to send to is empty.");
+            }
+
+            // Building the envelope is done off the caller's thread; from there on nothing blocks waiting on the signer or the orderer.
+            CompletableFuture<Envelope> transactionEnvelopeFuture = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return createTransactionPayload(proposalResponses, pipeline == null);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, getExecutorService()).thenCompose(transactionPayload -> createTransactionEnvelope(transactionPayload, userContext));
+            if (pipeline != null) {
+                transactionEnvelopeFuture = pipeline.stage(SubmitPipeline.Stage.SIGN, transactionEnvelopeFuture);
+            }
+
+            return transactionEnvelopeFuture.thenCompose(transactionEnvelope -> {
+
+                final String proposalTransactionID = proposalResponses.iterator().next().getTransactionID();
+
+                CompletableFuture<TransactionEvent> sret;
+                if (getEventHubs().isEmpty() && getEventingPeers().isEmpty()) { //If there are no eventhubs to complete the future, complete it
+                    // immediately but give no transaction event
+                    logger.debug(format("Completing transaction id %s immediately no event hubs or peer eventing services found in channel %s.", proposalTransactionID, name));
+                    sret = new CompletableFuture<>();
+                    sret.complete(null);
+                } else {
+                    sret = registerTxListener(proposalTransactionID);
+                }
+
+                logger.debug(format("Channel %s sending transaction to orderer(s) with TxID %s ", name, proposalTransactionID));
+
+                CompletableFuture<BroadcastResponse> broadcast = sendTransactionToOrderers(transactionEnvelope, proposalTransactionID,
+                        shuffeledOrderers.iterator(), null, null);
+                if (pipeline != null) {
+                    broadcast = pipeline.stage(SubmitPipeline.Stage.BROADCAST, broadcast);
+                }
+
+                return broadcast
+                        .handle((resp, t) -> {
+                            if (t == null) {
+                                logger.debug(format("Channel %s successful sent to Orderer transaction id: %s",
+                                        name, proposalTransactionID));
+                                return pipeline == null ? sret : pipeline.stage(SubmitPipeline.Stage.COMMIT, sret);
+                            }
+
+                            unregisterTxListener(proposalTransactionID);
+
+                            CompletableFuture<TransactionEvent> ret = new CompletableFuture<>();
+                            ret.completeExceptionally(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+                            return ret;
+                        }).thenCompose(future -> future);
+            });
+
         } catch (Exception e) {
 
             CompletableFuture<TransactionEvent> future = new CompletableFuture<>();
@@ -2606,6 +3244,73 @@ public class Channel implements Serializable {
 
     }
 
+    /**
+     * Try the orderers in turn until one accepts the transaction. Each attempt is chained on the completion
+     * of the previous one so no thread waits on the orderers.
+     *
+     * @param transactionEnvelope   the signed transaction.
+     * @param proposalTransactionID the transaction id.
+     * @param ordererIterator       orderers left to try.
+     * @param lastResp              last response received from an orderer, may be null.
+     * @param lastException         last exception to report to the user .. others are just logged.
+     * @return future completed with the successful orderer response.
+     */
+    private CompletableFuture<BroadcastResponse> sendTransactionToOrderers(final Envelope transactionEnvelope, final String proposalTransactionID,
+                                                                         final Iterator<Orderer> ordererIterator,
+                                                                         final BroadcastResponse lastResp, final Exception lastException) {
+
+        if (!ordererIterator.hasNext()) {
+
+            String emsg = format("Channel %s failed to place transaction %s on Orderer. Cause: UNSUCCESSFUL. %s",
+                    name, proposalTransactionID, getRespData(lastResp));
+
+            CompletableFuture<BroadcastResponse> ret = new CompletableFuture<>();
+            ret.completeExceptionally(lastException != null ? new Exception(emsg, lastException) : new Exception(emsg));
+            return ret;
+        }
+
+        final Orderer orderer = ordererIterator.next();
+
+        CompletableFuture<BroadcastResponse> future;
+        try {
+
+            if (null != diagnosticFileDumper) {
+                logger.trace(format("Sending to channel %s, orderer: %s, transaction: %s", name, orderer.getName(),
+                        diagnosticFileDumper.createDiagnosticProtobufFile(transactionEnvelope.toByteArray())));
+            }
+
+            future = orderer.sendTransactionAsync(transactionEnvelope);
+        } catch (Exception e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+
+        return future.handle((resp, t) -> {
+
+            if (t == null) {
+                if (resp.getStatus() == Status.SUCCESS) {
+                    return CompletableFuture.completedFuture(resp);
+                }
+                // no longer last exception .. maybe just failed.
+                return sendTransactionToOrderers(transactionEnvelope, proposalTransactionID, ordererIterator, resp, null);
+            }
+
+            String emsg = format("Channel %s unsuccessful sendTransaction to orderer %s (%s)",
+                    name, orderer.getName(), orderer.getUrl());
+            if (lastResp != null) {
+
+                emsg = format("Channel %s unsuccessful sendTransaction to orderer %s (%s).  %s",
+                        name, orderer.getName(), orderer.getUrl(), getRespData(lastResp));
+            }
+
+            Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+            logger.error(emsg, cause);
+
+            return sendTransactionToOrderers(transactionEnvelope, proposalTransactionID, ordererIterator, lastResp, new Exception(emsg, cause));
+
+        }).thenCompose(next -> next);
+    }
+
     /**
      * Build response details
      *
@@ -2639,12 +3344,53 @@ public class Channel implements Serializable {
 
     }
 
-    private Envelope createTransactionEnvelope(Payload transactionPayload, User user) throws CryptoException {
+    private Payload createTransactionPayload(Collection<ProposalResponse> proposalResponses, boolean checkConsistency)
+            throws InvalidArgumentException, InvalidProtocolBufferException {
 
-        return Envelope.newBuilder()
-                .setPayload(transactionPayload.toByteString())
-                .setSignature(ByteString.copyFrom(client.getCryptoSuite().sign(user.getEnrollment().getKey(), transactionPayload.toByteArray())))
-                .build();
+        if (checkConsistency && config.getProposalConsistencyValidation()) {
+            HashSet<ProposalResponse> invalid = new HashSet<>();
+            int consistencyGroups = SDKUtils.getProposalConsistencySets(proposalResponses, invalid).size();
+
+            if (consistencyGroups != 1 || !invalid.isEmpty()) {
+                throw new IllegalArgumentException(format(
+                        "The proposal responses have %d inconsistent groups with %d that are invalid."
+                                + " Expected all to be consistent and none to be invalid.",
+                        consistencyGroups, invalid.size()));
+
+            }
+
+        }
+
+        List<FabricProposalResponse.Endorsement> ed = new LinkedList<>();
+        FabricProposal.Proposal proposal = null;
+        ByteString proposalResponsePayload = null;
+
+        for (ProposalResponse sdkProposalResponse : proposalResponses) {
+            ed.add(sdkProposalResponse.getProposalResponse().getEndorsement());
+            if (proposal == null) {
+                proposal = sdkProposalResponse.getProposal();
+                proposalResponsePayload = sdkProposalResponse.getProposalResponse().getPayload();
+
+            }
+        }
+
+        TransactionBuilder transactionBuilder = TransactionBuilder.newBuilder();
+
+        return transactionBuilder
+                .chaincodeProposal(proposal)
+                .endorsements(ed)
+                .proposalResponsePayload(proposalResponsePayload).build();
+    }
+
+    private CompletableFuture<Envelope> createTransactionEnvelope(Payload transactionPayload, User user) {
+
+        final ByteString payloadBytes = transactionPayload.toByteString();
+
+        return TransactionContext.signAsync(client.getCryptoSuite(), user, payloadBytes.toByteArray())
+                .thenApply(signature -> Envelope.newBuilder()
+                        .setPayload(payloadBytes)
+                        .setSignature(ByteString.copyFrom(signature))
+                        .build());
 
     }
 
@@ -2691,6 +3437,8 @@ public class Channel implements Serializable {
 
     /**
      * Register a block listener.
+     * <p>
+     * The listener gets blocks one at a time in block order on threads from the client's executor service.
      *
      * @param listener function with single argument with type {@link BlockEvent}
      * @return The handle of the registered block listener.
@@ -2698,14 +3446,52 @@ public class Channel implements Serializable {
      */
     public String registerBlockListener(BlockListener listener) throws InvalidArgumentException {
 
+        return registerBlockListener(listener, null);
+
+    }
+
+    /**
+     * Register a block listener that is called on threads from the given executor.
+     * <p>
+     * The listener gets blocks one at a time in block order whatever the executor. By default any number of blocks
+     * wait for it, see {@link org.hyperledger.fabric.sdk.helper.Config#getListenerQueueSize()} to bound them.
+     *
+     * @param listener function with single argument with type {@link BlockEvent}
+     * @param executor runs the listener, null for the client's executor service.
+     * @return The handle of the registered block listener.
+     * @throws InvalidArgumentException if the channel is shutdown.
+     */
+    public String registerBlockListener(BlockListener listener, Executor executor) throws InvalidArgumentException {
+
         if (shutdown) {
             throw new InvalidArgumentException(format("Channel %s has been shutdown.", name));
         }
 
-        return new BL(listener).getHandle();
+        if (listener == null) {
+            throw new InvalidArgumentException("The listener argument may not be null.");
+        }
+
+        return new BL(listener, executor, false).getHandle();
 
     }
 
+    // Each listener's events run in order; the client's executor service is looked up when they run.
+    // The channel's own listeners aren't bounded, waiting on them could stall the event queue behind a user's listener.
+    private SerialExecutor newListenerExecutor(Executor executor, boolean internal) {
+        return new SerialExecutor(executor != null ? executor : r -> getExecutorService().execute(r),
+                internal ? 0 : config.getListenerQueueSize());
+    }
+
+    // Block listener the channel uses itself.
+    private String registerInternalBlockListener(BlockListener listener) throws InvalidArgumentException {
+
+        if (shutdown) {
+            throw new InvalidArgumentException(format("Channel %s has been shutdown.", name));
+        }
+
+        return new BL(listener, null, true).getHandle();
+    }
+
     /**
      * Unregister a block listener.
      *
@@ -2738,67 +3524,125 @@ public class Channel implements Serializable {
         client.getExecutorService().execute(() -> {
             eventQueueThread = Thread.currentThread();
 
-            while (!shutdown) {
-                if (!initialized) {
+            // Replay mode: decode upcoming blocks in parallel and hand them on in the order they arrived.
+            final int replayParallelism = config.getEventReplayParallelism();
+            final ForkJoinPool replayPool = replayParallelism > 0 ? new ForkJoinPool(replayParallelism) : null;
+            final ReorderBuffer<BlockEvent> reorderBuffer = replayPool == null ? null
+                    : new ReorderBuffer<>(replayPool, replayParallelism * 4, Channel::decodeBlockEvent, this::dispatchBlockEvent);
+
+            try {
+                while (!shutdown) {
+                    if (!initialized) {
+                        try {
+                            logger.debug("not intialized:" + initialized);
+                            Thread.sleep(1);
+                        } catch (InterruptedException e) {
+                            logger.warn(e);
+                        }
+                        continue; //wait on sending events till the channel is initialized.
+                    }
+                    final BlockEvent blockEvent;
                     try {
-                        logger.debug("not intialized:" + initialized);
-                        Thread.sleep(1);
-                    } catch (InterruptedException e) {
-                        logger.warn(e);
+                        blockEvent = channelEventQue.getNextEvent();
+                    } catch (EventHubException e) {
+                        if (!shutdown) {
+                            logger.error(e);
+                        }
+
+                        continue;
                     }
-                    continue; //wait on sending events till the channel is initialized.
-                }
-                final BlockEvent blockEvent;
-                try {
-                    blockEvent = channelEventQue.getNextEvent();
-                } catch (EventHubException e) {
-                    if (!shutdown) {
-                        logger.error(e);
+                    if (blockEvent == null) {
+                        logger.warn("GOT null block event.");
+                        continue;
                     }
 
-                    continue;
+                    if (reorderBuffer == null) {
+                        dispatchBlockEvent(blockEvent);
+                        continue;
+                    }
+                    try {
+                        reorderBuffer.submit(blockEvent);
+                    } catch (RejectedExecutionException e) {
+                        if (!shutdown) {
+                            logger.error(format("Channel %s unable to decode block %d", name, blockEvent.getBlockNumber()), e);
+                        }
+                    }
                 }
-                if (blockEvent == null) {
-                    logger.warn("GOT null block event.");
-                    continue;
+            } finally {
+                if (replayPool != null) {
+                    replayPool.shutdownNow();
                 }
+            }
+        });
 
-                try {
+    }
+
+    private static void decodeBlockEvent(BlockEvent blockEvent) {
+        try {
+            blockEvent.decode();
+        } catch (InvalidProtocolBufferException e) {
+            throw new InvalidProtocolBufferRuntimeException(e);
+        }
+    }
 
-                    final String blockchainID = blockEvent.getChannelId();
-                    final String from =
-                            format("Channel %s eventqueue got block event with block number: %d for channel: %s, from %s",
-                                    name, blockEvent.getBlockNumber(), blockchainID, blockEvent.getPeer() != null ? ("Peer: " + blockEvent.getPeer().getName()) :
-                                            ("Eventhub: " + blockEvent.getEventHub().getName()));
+    /**
+     * Hand a block event to every block listener.
+     *
+     * @param blockEvent the block event.
+     */
+    private void dispatchBlockEvent(BlockEvent blockEvent) {
 
-                    logger.trace(from);
+        try {
 
-                    if (!Objects.equals(name, blockchainID)) {
-                        logger.warn(format("Channel %s eventqueue got block event NOT FOR ME  channelId %s  from %s", name, blockchainID, from));
-                        continue; // not targeted for this channel
-                    }
+            final String blockchainID = blockEvent.getChannelId();
+            final String from =
+                    format("Channel %s eventqueue got block event with block number: %d for channel: %s, from %s",
+                            name, blockEvent.getBlockNumber(), blockchainID, blockEvent.getPeer() != null ? ("Peer: " + blockEvent.getPeer().getName()) :
+                                    ("Eventhub: " + blockEvent.getEventHub().getName()));
 
-                    final ArrayList<BL> blcopy = new ArrayList<>(blockListeners.size() + 3);
-                    synchronized (blockListeners) {
-                        blcopy.addAll(blockListeners.values());
-                    }
+            logger.trace(from);
 
-                    for (BL l : blcopy) {
-                        try {
-                            logger.trace(format("Sending block event '%s' to block listener %s", from, l.handle));
-                            client.getExecutorService().execute(() -> l.listener.received(blockEvent));
-                        } catch (Throwable e) { //Don't let one register stop rest.
-                            logger.error(format("Error calling block listener %s on channel: %s event: %s ", l.handle, name, from), e);
+            if (!Objects.equals(name, blockchainID)) {
+                logger.warn(format("Channel %s eventqueue got block event NOT FOR ME  channelId %s  from %s", name, blockchainID, from));
+                return; // not targeted for this channel
+            }
+
+            final ArrayList<BL> blcopy = new ArrayList<>(blockListeners.size() + 3);
+            synchronized (blockListeners) {
+                if (blockEvent.isDuplicate()) { // Listeners had it from the first source, just the transactions need it.
+                    final BL txProcessor = blockListeners.get(transactionListenerProcessorHandle);
+                    if (txProcessor != null) {
+                        blcopy.add(txProcessor);
+                    }
+                } else { // The channel's own first, a user listener with a full queue can't keep transactions from completing.
+                    for (BL l : blockListeners.values()) {
+                        if (l.internal) {
+                            blcopy.add(l);
+                        }
+                    }
+                    for (BL l : blockListeners.values()) {
+                        if (!l.internal) {
+                            blcopy.add(l);
                         }
                     }
-                } catch (Exception e) {
-                    logger.error("Unable to parse event", e);
-                    logger.debug("event:\n)");
-                    logger.debug(blockEvent.toString());
                 }
             }
-        });
 
+            for (BL l : blcopy) {
+                try {
+                    logger.trace(format("Sending block event '%s' to block listener %s", from, l.handle));
+                    l.executor.execute(() -> l.listener.received(blockEvent));
+                } catch (Throwable e) { //Don't let one register stop rest.
+                    if (!shutdown) {
+                        logger.error(format("Error calling block listener %s on channel: %s event: %s ", l.handle, name, from), e);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Unable to parse event", e);
+            logger.debug("event:\n)");
+            logger.debug(blockEvent.toString());
+        }
     }
 
     /**
@@ -2812,79 +3656,42 @@ public class Channel implements Serializable {
 
         // Transaction listener is internal Block listener for transactions
 
-        return registerBlockListener(blockEvent -> {
-
-            if (txListeners.isEmpty()) {
-                return;
-            }
-
-            for (TransactionEvent transactionEvent : blockEvent.getTransactionEvents()) {
-
-                logger.debug(format("Channel %s got event for transaction %s ", name, transactionEvent.getTransactionID()));
-
-                List<TL> txL = new ArrayList<>(txListeners.size() + 2);
-                synchronized (txListeners) {
-                    LinkedList<TL> list = txListeners.get(transactionEvent.getTransactionID());
-                    if (null != list) {
-                        txL.addAll(list);
-                    }
-                }
-
-                for (TL l : txL) {
-                    try {
-                        // only if we get events from each eventhub on the channel fire the transactions event.
-                        //   if (getEventHubs().containsAll(l.eventReceived(transactionEvent.getEventHub()))) {
-                        if (l.eventReceived(transactionEvent)) {
-                            l.fire(transactionEvent);
-                        }
-
-                    } catch (Throwable e) {
-                        logger.error(e); // Don't let one register stop rest.
-                    }
-                }
-            }
-        });
+        return registerInternalBlockListener(this::transactionEventsReceived);
     }
 
-    void runSweeper() {
+    /**
+     * Record a block's transactions as seen by the block's source and complete any transactions seen by all.
+     *
+     * @param blockEvent the block.
+     */
+    private void transactionEventsReceived(BlockEvent blockEvent) {
 
-        if (shutdown || DELTA_SWEEP < 1) {
+        if (txListeners.isEmpty()) {
             return;
         }
 
-        if (sweeper == null) {
-
-            sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
-                Thread t = Executors.defaultThreadFactory().newThread(r);
-                t.setDaemon(true);
-                return t;
-            }).scheduleAtFixedRate(() -> {
-                try {
-
-                    if (txListeners != null) {
-
-                        synchronized (txListeners) {
+        for (TransactionEvent transactionEvent : blockEvent.getTransactionEvents()) {
 
-                            for (Iterator<Map.Entry<String, LinkedList<TL>>> it = txListeners.entrySet().iterator(); it.hasNext();
-                                    ) {
+            logger.debug(format("Channel %s got event for transaction %s ", name, transactionEvent.getTransactionID()));
 
-                                Map.Entry<String, LinkedList<TL>> es = it.next();
+            final List<TL> txL = txListeners.get(transactionEvent.getTransactionID());
+            if (null == txL) {
+                continue;
+            }
 
-                                LinkedList<TL> tlLinkedList = es.getValue();
-                                tlLinkedList.removeIf(TL::sweepMe);
-                                if (tlLinkedList.isEmpty()) {
-                                    it.remove();
-                                }
-                            }
-                        }
+            for (TL l : txL) { // copy on write, iterating doesn't block registering or firing.
+                try {
+                    // only if we get events from each eventhub on the channel fire the transactions event.
+                    //   if (getEventHubs().containsAll(l.eventReceived(transactionEvent.getEventHub()))) {
+                    if (l.eventReceived(transactionEvent)) {
+                        l.fire(transactionEvent);
                     }
-                } catch (Exception e) {
-                    logger.warn("Sweeper got error:" + e.getMessage(), e);
-                }
 
-            }, 0, DELTA_SWEEP, TimeUnit.MILLISECONDS);
+                } catch (Throwable e) {
+                    logger.error(e); // Don't let one register stop rest.
+                }
+            }
         }
-
     }
 
     /**
@@ -2911,9 +3718,11 @@ public class Channel implements Serializable {
      */
     private void unregisterTxListener(String txid) {
 
-        synchronized (txListeners) {
-
-            txListeners.remove(txid);
+        final List<TL> removed = txListeners.remove(txid);
+        if (null != removed) {
+            for (TL l : removed) {
+                l.cancelTimeout();
+            }
         }
 
     }
@@ -2976,6 +3785,7 @@ public class Channel implements Serializable {
 
         synchronized (chainCodeListeners) {
             ret = null != chainCodeListeners.remove(handle);
+            updateChaincodeEventRouter();
 
         }
 
@@ -2999,15 +3809,14 @@ public class Channel implements Serializable {
 
         // Chaincode event listener is internal Block listener for chaincode events.
 
-        return registerBlockListener(blockEvent -> {
+        return registerInternalBlockListener(blockEvent -> {
 
-            if (chainCodeListeners.isEmpty()) {
+            final ChaincodeEventRouter<ChaincodeEventListenerEntry> router = chaincodeEventRouter;
+            if (router.isEmpty()) {
                 return;
             }
 
-            LinkedList<ChaincodeEvent> chaincodeEvents = new LinkedList<>();
-
-            //Find the chaincode events in the transactions.
+            //Find the chaincode events in the transactions and route them to the listeners.
 
             for (TransactionEvent transactionEvent : blockEvent.getTransactionEvents()) {
 
@@ -3015,59 +3824,27 @@ public class Channel implements Serializable {
 
                 for (BlockInfo.TransactionEnvelopeInfo.TransactionActionInfo info : transactionEvent.getTransactionActionInfos()) {
 
-                    ChaincodeEvent event = info.getEvent();
+                    final ChaincodeEvent event = info.getEvent();
                     if (null != event) {
-                        chaincodeEvents.add(event);
+                        router.route(event.getChaincodeId(), event.getEventName(), entry -> entry.fire(blockEvent, event));
                     }
 
                 }
 
             }
 
-            if (!chaincodeEvents.isEmpty()) {
-
-                class MatchPair {
-                    final ChaincodeEventListenerEntry eventListener;
-                    final ChaincodeEvent event;
-
-                    MatchPair(ChaincodeEventListenerEntry eventListener, ChaincodeEvent event) {
-                        this.eventListener = eventListener;
-                        this.event = event;
-                    }
-                }
-
-                List<MatchPair> matches = new LinkedList<MatchPair>(); //Find matches.
-
-                synchronized (chainCodeListeners) {
-
-                    for (ChaincodeEventListenerEntry chaincodeEventListenerEntry : chainCodeListeners.values()) {
-
-                        for (ChaincodeEvent chaincodeEvent : chaincodeEvents) {
-
-                            if (chaincodeEventListenerEntry.isMatch(chaincodeEvent)) {
-
-                                matches.add(new MatchPair(chaincodeEventListenerEntry, chaincodeEvent));
-                            }
-
-                        }
-
-                    }
-                }
-
-                //fire events
-                for (MatchPair match : matches) {
-
-                    ChaincodeEventListenerEntry chaincodeEventListenerEntry = match.eventListener;
-                    ChaincodeEvent ce = match.event;
-                    chaincodeEventListenerEntry.fire(blockEvent, ce);
-
-                }
-
-            }
-
         });
     }
 
+    // Called holding chainCodeListeners.
+    private void updateChaincodeEventRouter() {
+        List<ChaincodeEventRouter.Route<ChaincodeEventListenerEntry>> routes = new ArrayList<>(chainCodeListeners.size());
+        for (ChaincodeEventListenerEntry entry : chainCodeListeners.values()) {
+            routes.add(new ChaincodeEventRouter.Route<>(entry.chaincodeIdPattern, entry.eventNamePattern, entry));
+        }
+        chaincodeEventRouter = new ChaincodeEventRouter<>(routes);
+    }
+
     /**
      * Shutdown the channel with all resources released.
      *
@@ -3083,7 +3860,10 @@ public class Channel implements Serializable {
         initialized = false;
         shutdown = true;
         if (chainCodeListeners != null) {
-            chainCodeListeners.clear();
+            synchronized (chainCodeListeners) {
+                chainCodeListeners.clear();
+                updateChaincodeEventRouter();
+            }
 
         }
 
@@ -3136,12 +3916,12 @@ public class Channel implements Serializable {
             }
             eventQueueThread = null;
         }
-        ScheduledFuture<?> lsweeper = sweeper;
-        sweeper = null;
-
-        if (null != lsweeper) {
-            lsweeper.cancel(true);
+        for (List<TL> tls : txListeners.values()) {
+            for (TL l : tls) {
+                l.channelShutdown();
+            }
         }
+        txListeners.clear();
     }
 
     /**
@@ -3469,9 +4249,95 @@ public class Channel implements Serializable {
 
     }
 
+    /**
+     * What an event source does when the channel's event queue is full.
+     */
+    enum EventQueueOverflow {
+        /**
+         * Wait for room. The source stops reading its stream so gRPC flow control holds back the peer.
+         */
+        BLOCK,
+        /**
+         * Drop the block if it's already queued from another source, otherwise wait for room.
+         */
+        DROP_DUPLICATES
+    }
+
+    private static EventQueueOverflow getEventQueueOverflow() {
+        final String overflow = config.getEventQueueOverflow();
+        try {
+            return EventQueueOverflow.valueOf(overflow.trim().toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            logger.warn(format("Unknown event queue overflow policy %s, using %s", overflow, EventQueueOverflow.BLOCK));
+            return EventQueueOverflow.BLOCK;
+        }
+    }
+
+    /**
+     * The number of block events waiting for the channel's listeners.
+     *
+     * @return event queue depth.
+     */
+    public int getEventQueueDepth() {
+        return channelEventQue.getDepth();
+    }
+
+    /**
+     * The most block events the channel's queue has held, a measure of how far listeners have fallen behind.
+     *
+     * @return event queue high water mark.
+     */
+    public int getEventQueueHighWaterMark() {
+        return channelEventQue.getHighWaterMark();
+    }
+
+    /**
+     * Block events dropped because the queue was full and they were already queued from another source.
+     *
+     * @return dropped block events.
+     */
+    public long getEventQueueDropped() {
+        return channelEventQue.getDropped();
+    }
+
+    /**
+     * Block events not delivered to listeners again because another source already delivered them.
+     *
+     * @return duplicate block events.
+     * @see org.hyperledger.fabric.sdk.helper.Config#getEventDeduplicate()
+     */
+    public long getEventQueueDuplicates() {
+        return channelEventQue.getDuplicates();
+    }
+
+    /**
+     * Total time event sources have waited for room in the channel's event queue.
+     *
+     * @return time blocked in milliseconds.
+     */
+    public long getEventQueueBlockedTime() {
+        return channelEventQue.getBlockedTime();
+    }
+
     class ChannelEventQue {
 
-        private final BlockingQueue<BlockEvent> events = new LinkedBlockingQueue<>(); //Thread safe
+        private final int capacity = Math.max(1, config.getEventQueueSize());
+        private final EventQueueOverflow overflow = getEventQueueOverflow();
+        private final boolean deduplicate = config.getEventDeduplicate();
+        private final BlockingQueue<BlockEvent> events = new ArrayBlockingQueue<>(capacity); //Thread safe
+        // Data hashes of recently queued blocks by block number, to recognize the same block from another source.
+        // Filtered blocks have no data hash and listeners see them differently from full blocks, so they're kept
+        // apart: a filtered and a full copy of a block are never duplicates of each other.
+        private final Map<Long, ByteString> recentBlocks = newRecentBlocks();
+        private final Map<Long, ByteString> recentFilteredBlocks = newRecentBlocks();
+        private final AtomicInteger highWaterMark = new AtomicInteger();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong duplicates = new AtomicLong();
+        private final AtomicLong blockedNanos = new AtomicLong();
+        // Duplicates dropped from the full queue, handed out for transactions once every event queued before them has been.
+        private final Queue<DroppedDuplicate> droppedDuplicates = new ConcurrentLinkedQueue<>();
+        private final AtomicLong queuedCount = new AtomicLong();
+        private long takenCount = 0; // only the event queue thread takes events
         private Throwable eventException;
 
         void eventError(Throwable t) {
@@ -3489,13 +4355,113 @@ public class Channel implements Serializable {
                 return false;
             }
 
-            // May be fed by multiple eventhubs but BlockingQueue.add() is thread-safe
-            events.add(event);
+            final boolean trackBlocks = deduplicate || overflow == EventQueueOverflow.DROP_DUPLICATES;
+
+            // Recorded before queuing so only one source's copy is queued as the block, undone if it's not queued.
+            final boolean recorded = deduplicate && firstSeen(event);
+            if (deduplicate && !recorded) {
+                duplicates.incrementAndGet();
+                logger.trace(format("Channel %s queuing duplicate block %d for transactions", name, event.getBlockNumber()));
+                // Listeners get the first copy but transactions still need to know this source saw it. It goes through
+                // the queue so that's never before the first copy reaches them.
+                event.setDuplicate();
+            }
+
+            boolean queued = false;
+            try {
+                // May be fed by multiple eventhubs but BlockingQueue.offer() is thread-safe
+                queued = events.offer(event) || offerFull(event, trackBlocks);
+            } finally {
+                if (recorded && !queued) {
+                    recentBlocks(event).remove(event.getBlockNumber(), event.getDataHashByteString());
+                }
+            }
+            if (!queued) {
+                return false;
+            }
+            queuedCount.incrementAndGet(); // before it's recorded so a copy dropped for it is handed out after it
+
+            if (trackBlocks && !event.isDuplicate()) {
+                recentBlocks(event).put(event.getBlockNumber(), event.getDataHashByteString());
+            }
+            highWaterMark.accumulateAndGet(events.size(), Math::max);
 
             return true;
 
         }
 
+        // Wait for room in the full queue. Returns false if the event was dropped instead.
+        private boolean offerFull(BlockEvent event, boolean trackBlocks) {
+            final long start = System.nanoTime();
+            try {
+                do {
+                    if (shutdown) {
+                        return false;
+                    }
+                    if (trackBlocks && isRecent(event)) {
+                        dropped.incrementAndGet();
+                        logger.debug(format("Channel %s event queue full, dropped duplicate block %d", name, event.getBlockNumber()));
+                        // The source still saw the transactions in it. Kept aside for transactions so they see it after the
+                        // copy already queued, and on the event queue thread rather than this source's.
+                        event.setDuplicate();
+                        droppedDuplicates.add(new DroppedDuplicate(event, queuedCount.get()));
+                        return false;
+                    }
+                } while (!events.offer(event, 100, TimeUnit.MILLISECONDS));
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                blockedNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+
+        private Map<Long, ByteString> newRecentBlocks() {
+            return Collections.synchronizedMap(new LinkedHashMap<Long, ByteString>() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, ByteString> eldest) {
+                    return size() > Math.max(capacity * 2, 1000);
+                }
+            });
+        }
+
+        private Map<Long, ByteString> recentBlocks(BlockEvent event) {
+            return event.isFiltered() ? recentFilteredBlocks : recentBlocks;
+        }
+
+        private boolean isRecent(BlockEvent event) {
+            return event.getDataHashByteString().equals(recentBlocks(event).get(event.getBlockNumber()));
+        }
+
+        // Records the block and checks it wasn't already recorded as one atomic step so only one source's copy is queued.
+        private boolean firstSeen(BlockEvent event) {
+            final ByteString dataHash = event.getDataHashByteString();
+            return !dataHash.equals(recentBlocks(event).put(event.getBlockNumber(), dataHash));
+        }
+
+        int getDepth() {
+            return events.size();
+        }
+
+        int getHighWaterMark() {
+            return highWaterMark.get();
+        }
+
+        long getDropped() {
+            return dropped.get();
+        }
+
+        long getDuplicates() {
+            return duplicates.get();
+        }
+
+        long getBlockedTime() {
+            return TimeUnit.NANOSECONDS.toMillis(blockedNanos.get());
+        }
+
         BlockEvent getNextEvent() throws EventHubException {
             if (shutdown) {
                 throw new EventHubException(format("Channel %s has been shutdown", name));
@@ -3505,8 +4471,14 @@ public class Channel implements Serializable {
             if (eventException != null) {
                 throw new EventHubException(eventException);
             }
+            final DroppedDuplicate droppedDuplicate = droppedDuplicates.peek();
+            if (droppedDuplicate != null && droppedDuplicate.queuedBefore <= takenCount) {
+                droppedDuplicates.poll();
+                return droppedDuplicate.event;
+            }
             try {
                 ret = events.take();
+                ++takenCount;
             } catch (InterruptedException e) {
                 if (shutdown) {
                     throw new EventHubException(eventException);
@@ -3537,17 +4509,31 @@ public class Channel implements Serializable {
 
     }
 
+    private static final class DroppedDuplicate {
+        final BlockEvent event;
+        final long queuedBefore; // events queued when it was dropped
+
+        DroppedDuplicate(BlockEvent event, long queuedBefore) {
+            this.event = event;
+            this.queuedBefore = queuedBefore;
+        }
+    }
+
     class BL {
 
         final BlockListener listener;
+        final SerialExecutor executor;
         final String handle;
+        final boolean internal;
 
-        BL(BlockListener listener) {
+        BL(BlockListener listener, Executor executor, boolean internal) {
 
             handle = BLOCK_LISTENER_TAG + Utils.generateUUID() + BLOCK_LISTENER_TAG;
             logger.debug(format("Channel %s blockListener %s starting", name, handle));
 
             this.listener = listener;
+            this.internal = internal;
+            this.executor = newListenerExecutor(executor, internal);
             synchronized (blockListeners) {
 
                 blockListeners.put(handle, this);
@@ -3568,7 +4554,10 @@ public class Channel implements Serializable {
         final CompletableFuture<TransactionEvent> future;
         final Set<EventHub> unSeenEventHubs = Collections.synchronizedSet(new HashSet<>());
         final Set<Peer> unSeenPeers = Collections.synchronizedSet(new HashSet<>());
-        long sweepTime = System.currentTimeMillis() + (long) (DELTA_SWEEP * 1.5);
+        volatile long sweepTime = System.currentTimeMillis() + (long) (DELTA_SWEEP * 1.5);
+        private volatile Timeout timeout;
+        // Kept from creation, the channel drops its client on shutdown while timeouts may still run.
+        private final Executor executor = getExecutorService();
 
         TL(String txID, CompletableFuture<BlockEvent.TransactionEvent> future) {
             this.txID = txID;
@@ -3607,46 +4596,88 @@ public class Channel implements Serializable {
         }
 
         private void addListener() {
-            runSweeper();
-            synchronized (txListeners) {
-                LinkedList<TL> tl = txListeners.computeIfAbsent(txID, k -> new LinkedList<>());
-                tl.add(this);
-            }
+            txListeners.compute(txID, (k, v) -> {
+                List<TL> tls = v == null ? new CopyOnWriteArrayList<>() : v;
+                tls.add(this);
+                return tls;
+            });
+            scheduleTimeout(sweepTime - System.currentTimeMillis());
         }
 
-        boolean sweepMe() { // Sweeps DO NOT fire future. user needs to put timeout on their futures for timeouts.
+        private void removeListener() {
+            txListeners.computeIfPresent(txID, (k, v) -> {
+                v.remove(this);
+                return v.isEmpty() ? null : v;
+            });
+        }
 
-            final boolean ret = sweepTime < System.currentTimeMillis() || fired.get() || future.isDone();
+        private void scheduleTimeout(long delay) {
+            if (DELTA_SWEEP > 0 && !shutdown) {
+                timeout = TX_LISTENER_TIMER.newTimeout(t -> expire(), delay, TimeUnit.MILLISECONDS);
+            }
+        }
 
-            if (IS_DEBUG_LEVEL && ret) {
+        void cancelTimeout() {
+            final Timeout lTimeout = timeout;
+            if (null != lTimeout) {
+                lTimeout.cancel();
+            }
+        }
 
-                StringBuilder sb = new StringBuilder(10000);
-                sb.append("Non reporting event hubs:");
-                String sep = "";
-                for (EventHub eh : unSeenEventHubs) {
-                    sb.append(sep).append(eh.getName());
-                    sep = ",";
+        /**
+         * Called by the timer wheel. Listeners that have seen events recently get more time, others are removed and their
+         * futures completed with a {@link TimeoutException}.
+         */
+        private void expire() {
 
-                }
-                if (sb.length() != 0) {
-                    sb.append(". ");
+            final long remaining = sweepTime - System.currentTimeMillis();
+            if (remaining > 0 && !fired.get() && !future.isDone()) {
+                scheduleTimeout(remaining); //seen activity keep it active.
+                return;
+            }
 
-                }
-                sep = "Non reporting peers: ";
-                for (Peer peer : unSeenPeers) {
-                    sb.append(sep).append(peer.getName());
-                    sep = ",";
-                }
+            if (fired.getAndSet(true)) {
+                return;
+            }
+            removeListener();
 
-                logger.debug(format("Force removing transaction listener after %d ms for transaction %s. %s" +
-                                ". sweep timeout: %b, fired: %b, future done:%b",
-                        System.currentTimeMillis() - createTime, txID, sb.toString(),
-                        sweepTime < System.currentTimeMillis(), fired.get(), future.isDone()));
+            if (future.isDone()) {
+                return;
+            }
 
+            StringBuilder sb = new StringBuilder(100);
+            String sep = "Non reporting event hubs: ";
+            for (EventHub eh : unSeenEventHubs) {
+                sb.append(sep).append(eh.getName());
+                sep = ",";
+            }
+            if (sb.length() != 0) {
+                sb.append(". ");
+            }
+            sep = "Non reporting peers: ";
+            for (Peer peer : unSeenPeers) {
+                sb.append(sep).append(peer.getName());
+                sep = ",";
             }
 
-            return ret;
+            final String message = format("Channel %s timed out waiting %d ms for transaction %s. %s",
+                    name, System.currentTimeMillis() - createTime, txID, sb.toString());
+            logger.debug(message);
+            executor.execute(() -> future.completeExceptionally(new TimeoutException(message)));
+        }
 
+        /**
+         * The channel is shutting down so the transaction won't be seen, complete its future with a {@link TransactionException}.
+         */
+        void channelShutdown() {
+
+            cancelTimeout();
+            if (fired.getAndSet(true) || future.isDone()) {
+                return;
+            }
+
+            final TransactionException e = new TransactionException(format("Channel %s has been shutdown while waiting for transaction %s.", name, txID));
+            executor.execute(() -> future.completeExceptionally(e));
         }
 
         void fire(BlockEvent.TransactionEvent transactionEvent) {
@@ -3655,16 +4686,8 @@ public class Channel implements Serializable {
                 return;
             }
 
-            synchronized (txListeners) {
-                LinkedList<TL> l = txListeners.get(txID);
-
-                if (null != l) {
-                    l.removeFirstOccurrence(this);
-                    if (l.size() == 0) {
-                        txListeners.remove(txID);
-                    }
-                }
-            }
+            cancelTimeout();
+            removeListener();
             if (future.isDone()) {
                 fired.set(true);
                 return;
@@ -3672,11 +4695,11 @@ public class Channel implements Serializable {
 
             if (transactionEvent.isValid()) {
                 logger.debug(format("Completing future for channel %s and transaction id: %s", name, txID));
-                client.getExecutorService().execute(() -> future.complete(transactionEvent));
+                executor.execute(() -> future.complete(transactionEvent));
             } else {
                 logger.debug(format("Completing future as exception for channel %s and transaction id: %s, validation code: %02X",
                         name, txID, transactionEvent.getValidationCode()));
-                client.getExecutorService().execute(() -> future.completeExceptionally(
+                executor.execute(() -> future.completeExceptionally(
                         new TransactionEventException(format("Received invalid transaction event. Transaction ID %s status %s",
                                 transactionEvent.getTransactionID(),
                                 transactionEvent.getValidationCode()),
@@ -3691,6 +4714,7 @@ public class Channel implements Serializable {
         private final Pattern chaincodeIdPattern;
         private final Pattern eventNamePattern;
         private final ChaincodeEventListener chaincodeEventListener;
+        private final SerialExecutor executor = newListenerExecutor(null, false);
         private final String handle;
 
         ChaincodeEventListenerEntry(Pattern chaincodeIdPattern, Pattern eventNamePattern, ChaincodeEventListener chaincodeEventListener) {
@@ -3702,19 +4726,14 @@ public class Channel implements Serializable {
             synchronized (chainCodeListeners) {
 
                 chainCodeListeners.put(handle, this);
+                updateChaincodeEventRouter();
 
             }
         }
 
-        boolean isMatch(ChaincodeEvent chaincodeEvent) {
-
-            return chaincodeIdPattern.matcher(chaincodeEvent.getChaincodeId()).matches() && eventNamePattern.matcher(chaincodeEvent.getEventName()).matches();
-
-        }
-
         void fire(BlockEvent blockEvent, ChaincodeEvent ce) {
 
-            client.getExecutorService().execute(() -> chaincodeEventListener.received(handle, blockEvent, ce));
+            executor.execute(() -> chaincodeEventListener.received(handle, blockEvent, ce));
 
         }
     }
@@ -26,10 +26,12 @@ import org.hyperledger.fabric.sdk.exception.InvalidProtocolBufferRuntimeExceptio
 
 class ChannelHeaderDeserializer {
     private final ByteString byteString;
+    private final boolean retain;
     private WeakReference<ChannelHeader> channelHeader;
 
-    ChannelHeaderDeserializer(ByteString byteString) {
+    ChannelHeaderDeserializer(ByteString byteString, boolean retain) {
         this.byteString = byteString;
+        this.retain = retain;
     }
 
     ChannelHeader getChannelHeader() {
@@ -45,7 +47,7 @@ class ChannelHeaderDeserializer {
             } catch (InvalidProtocolBufferException e) {
                 throw new InvalidProtocolBufferRuntimeException(e);
             }
-            channelHeader = new WeakReference<>(ret);
+            channelHeader = DeserializerUtils.reference(ret, retain);
 
         }
 
@@ -0,0 +1,64 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.google.protobuf.CodedInputStream;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import org.apache.commons.io.IOUtils;
+import org.hyperledger.fabric.protos.common.Common.Envelope;
+import org.hyperledger.fabric.protos.peer.DeliverGrpc;
+import org.hyperledger.fabric.protos.peer.PeerEvents.DeliverResponse;
+
+/**
+ * Parses deliver responses from one copy of the frame. The block's envelopes and metadata are left as slices of
+ * that copy and are only parsed when a {@link BlockInfo} getter needs them, so listeners that only look at the
+ * block number, transaction ids or validation codes never decode the rest of the block.
+ */
+final class DeliverResponseMarshaller implements MethodDescriptor.Marshaller<DeliverResponse> {
+
+    private static final DeliverResponseMarshaller INSTANCE = new DeliverResponseMarshaller();
+
+    static final MethodDescriptor<Envelope, DeliverResponse> DELIVER = DeliverGrpc.getDeliverMethod()
+            .toBuilder(DeliverGrpc.getDeliverMethod().getRequestMarshaller(), INSTANCE).build();
+
+    static final MethodDescriptor<Envelope, DeliverResponse> DELIVER_FILTERED = DeliverGrpc.getDeliverFilteredMethod()
+            .toBuilder(DeliverGrpc.getDeliverFilteredMethod().getRequestMarshaller(), INSTANCE).build();
+
+    private DeliverResponseMarshaller() {
+    }
+
+    @Override
+    public InputStream stream(DeliverResponse value) {
+        return value.toByteString().newInput();
+    }
+
+    @Override
+    public DeliverResponse parse(InputStream stream) {
+        try {
+            final byte[] bytes = stream instanceof KnownLength ? IOUtils.toByteArray(stream, ((KnownLength) stream).available())
+                    : IOUtils.toByteArray(stream);
+            final CodedInputStream input = CodedInputStream.newInstance(bytes);
+            input.enableAliasing(true); // the bytes are never modified, share them.
+            return DeliverResponse.parseFrom(input);
+        } catch (IOException e) {
+            throw Status.INTERNAL.withDescription("Invalid deliver response").withCause(e).asRuntimeException();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.lang.ref.WeakReference;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Parser;
+
+/**
+ * Parsing shared by the deserializers.
+ */
+final class DeserializerUtils {
+
+    private DeserializerUtils() {
+    }
+
+    /**
+     * Parse a message nested in bytes that are never modified. Bytes fields of the parsed message share the buffer
+     * instead of being copied.
+     *
+     * @param parser     the message's parser.
+     * @param byteString the serialized message.
+     * @return the message.
+     * @throws InvalidProtocolBufferException
+     */
+    static <T> T parseAliased(Parser<T> parser, ByteString byteString) throws InvalidProtocolBufferException {
+        final CodedInputStream input = byteString.newCodedInput();
+        input.enableAliasing(true);
+        return parser.parseFrom(input);
+    }
+
+    /**
+     * Reference to something a deserializer decoded. Deserializers normally hold what they decode weakly so it can
+     * be collected and decoded again when next needed. Retaining deserializers, made when a whole block is decoded
+     * ahead of its listeners, keep it for their own lifetime.
+     *
+     * @param value  what was decoded.
+     * @param retain hold it strongly.
+     * @return the reference.
+     */
+    static <T> WeakReference<T> reference(T value, boolean retain) {
+        return retain ? new RetainedReference<>(value) : new WeakReference<>(value);
+    }
+
+    /**
+     * @param reference a reference from {@link #reference(Object, boolean)}, may be null.
+     * @return true if it holds its value strongly.
+     */
+    static boolean isRetained(WeakReference<?> reference) {
+        return reference instanceof RetainedReference;
+    }
+
+    // Also holds the value strongly so it's never cleared.
+    private static final class RetainedReference<T> extends WeakReference<T> {
+        private final T value;
+
+        private RetainedReference(T value) {
+            super(value);
+            this.value = value;
+        }
+
+        @Override
+        public T get() {
+            return value;
+        }
+    }
+}
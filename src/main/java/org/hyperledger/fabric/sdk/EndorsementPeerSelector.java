@@ -0,0 +1,183 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hyperledger.fabric.protos.common.MspPrincipal.MSPPrincipal;
+import org.hyperledger.fabric.protos.common.MspPrincipal.MSPRole;
+import org.hyperledger.fabric.protos.common.Policies.SignaturePolicy;
+import org.hyperledger.fabric.protos.common.Policies.SignaturePolicyEnvelope;
+
+import static java.lang.String.format;
+
+/**
+ * Picks the peers to send a transaction proposal to so that a chaincode endorsement policy is satisfied
+ * with as few endorsements as possible, preferring the peers with the lowest {@link PeerStatistics#getCost()}.
+ * <p>
+ * Only policies made of MSP role principals (member or peer) can be evaluated and every candidate peer must have
+ * its {@link Peer#PEER_ORGANIZATION_MSPID_PROPERTY} set. Otherwise no selection is made and the caller should
+ * send to all peers as before.
+ */
+final class EndorsementPeerSelector {
+    private static final Log logger = LogFactory.getLog(EndorsementPeerSelector.class);
+
+    private final List<MSPRole> identities;
+    private final List<Peer> candidates;
+    private final Map<Peer, Double> costs = new HashMap<>();
+
+    private EndorsementPeerSelector(List<MSPRole> identities, Collection<Peer> peers) {
+        this.identities = identities;
+        for (Peer peer : peers) {
+            costs.put(peer, peer.getStatistics().getCost());
+        }
+        candidates = new ArrayList<>(peers);
+        candidates.sort(Comparator.comparingDouble(costs::get)); // cheapest first
+    }
+
+    /**
+     * Select the peers to satisfy the endorsement policy.
+     *
+     * @param policy the chaincode endorsement policy.
+     * @param peers  the peers that may endorse.
+     * @return the selected peers or null if the policy can't be evaluated or satisfied by these peers.
+     */
+    static Collection<Peer> selectPeers(ChaincodeEndorsementPolicy policy, Collection<Peer> peers) {
+
+        if (policy == null || policy.getChaincodeEndorsementPolicyAsBytes() == null || peers == null || peers.isEmpty()) {
+            return null;
+        }
+
+        for (Peer peer : peers) {
+            if (peer.getOrganizationMSPID() == null) {
+                logger.debug(format("Peer %s has no organization MSPID, can not select peers for endorsement policy.", peer.getName()));
+                return null;
+            }
+        }
+
+        final SignaturePolicyEnvelope envelope;
+        final List<MSPRole> identities = new ArrayList<>();
+        try {
+            envelope = SignaturePolicyEnvelope.parseFrom(policy.getChaincodeEndorsementPolicyAsBytes());
+
+            for (MSPPrincipal principal : envelope.getIdentitiesList()) {
+                if (principal.getPrincipalClassification() != MSPPrincipal.Classification.ROLE) {
+                    logger.debug(format("Endorsement policy principal classification %s not supported for peer selection.",
+                            principal.getPrincipalClassification()));
+                    return null;
+                }
+                identities.add(MSPRole.parseFrom(principal.getPrincipal()));
+            }
+        } catch (InvalidProtocolBufferException e) {
+            logger.warn(format("Could not parse endorsement policy for peer selection: %s", e.getMessage()));
+            return null;
+        }
+
+        List<Peer> selected = new EndorsementPeerSelector(identities, peers).solve(envelope.getRule(), Collections.emptySet());
+
+        if (selected == null) {
+            logger.warn("Endorsement policy can not be satisfied by the endorsing peers.");
+        }
+
+        return selected;
+    }
+
+    /**
+     * Find the cheapest peers satisfying the rule that are not already used. Like Fabric's policy evaluation
+     * a peer's endorsement can only satisfy one principal. N out of rules take the cheapest sub rule solution
+     * n times which isn't guaranteed minimal but is for the policies seen in practice.
+     */
+    private List<Peer> solve(SignaturePolicy rule, Set<Peer> used) {
+
+        switch (rule.getTypeCase()) {
+            case SIGNED_BY:
+                final int index = rule.getSignedBy();
+                if (index < 0 || index >= identities.size()) {
+                    return null;
+                }
+                final MSPRole identity = identities.get(index);
+                for (Peer peer : candidates) {
+                    if (!used.contains(peer) && canSatisfy(identity, peer)) {
+                        return Collections.singletonList(peer);
+                    }
+                }
+                return null;
+
+            case N_OUT_OF:
+                final SignaturePolicy.NOutOf nOutOf = rule.getNOutOf();
+                final List<SignaturePolicy> remaining = new ArrayList<>(nOutOf.getRulesList());
+                final Set<Peer> taken = new HashSet<>(used);
+                final List<Peer> ret = new ArrayList<>();
+
+                for (int i = 0; i < nOutOf.getN(); ++i) {
+                    SignaturePolicy bestRule = null;
+                    List<Peer> best = null;
+                    for (SignaturePolicy subRule : remaining) {
+                        List<Peer> solution = solve(subRule, taken);
+                        if (solution != null && (best == null || compare(solution, best) < 0)) {
+                            best = solution;
+                            bestRule = subRule;
+                        }
+                    }
+                    if (best == null) {
+                        return null;
+                    }
+                    remaining.remove(bestRule);
+                    taken.addAll(best);
+                    ret.addAll(best);
+                }
+                return ret;
+
+            default:
+                return null;
+        }
+    }
+
+    private int compare(List<Peer> a, List<Peer> b) {
+        if (a.size() != b.size()) {
+            return Integer.compare(a.size(), b.size());
+        }
+        return Double.compare(cost(a), cost(b));
+    }
+
+    private double cost(List<Peer> peers) {
+        double ret = 0;
+        for (Peer peer : peers) {
+            ret += costs.get(peer);
+        }
+        return ret;
+    }
+
+    private static boolean canSatisfy(MSPRole identity, Peer peer) {
+        switch (identity.getRole()) {
+            case MEMBER:
+            case PEER:
+                return identity.getMspIdentifier().equals(peer.getOrganizationMSPID());
+            default:
+                return false; // peers don't endorse as admins or clients.
+        }
+    }
+}
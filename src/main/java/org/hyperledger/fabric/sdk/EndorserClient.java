@@ -14,8 +14,6 @@
 
 package org.hyperledger.fabric.sdk;
 
-import java.util.concurrent.TimeUnit;
-
 import com.google.common.util.concurrent.ListenableFuture;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
@@ -33,6 +31,7 @@ import org.hyperledger.fabric.sdk.exception.PeerException;
 class EndorserClient {
     private static final Log logger = LogFactory.getLog(EndorserClient.class);
 
+    private ManagedChannelPool.Lease channelLease;
     private ManagedChannel managedChannel;
     private EndorserGrpc.EndorserBlockingStub blockingStub;
     private EndorserGrpc.EndorserFutureStub futureStub;
@@ -44,9 +43,29 @@ class EndorserClient {
      * @param channelBuilder The ChannelBuilder to build the endorser client
      */
     EndorserClient(ManagedChannelBuilder<?> channelBuilder) {
-        managedChannel = channelBuilder.build();
-        blockingStub = EndorserGrpc.newBlockingStub(managedChannel);
-        futureStub = EndorserGrpc.newFutureStub(managedChannel);
+        this(ManagedChannelPool.unpooled(channelBuilder));
+    }
+
+    /**
+     * Construct client for accessing Peer server using a leased channel.
+     *
+     * @param channelLease lease on the channel, released on shutdown.
+     */
+    EndorserClient(ManagedChannelPool.Lease channelLease) {
+        this.channelLease = channelLease;
+        synchronized (this) {
+            stubs();
+        }
+    }
+
+    // Stubs are cheap, only rebuild them if the lease had to replace its channel. Caller holds lock.
+    private void stubs() {
+        ManagedChannel lchannel = channelLease.getChannel();
+        if (lchannel != managedChannel) {
+            managedChannel = lchannel;
+            blockingStub = EndorserGrpc.newBlockingStub(managedChannel);
+            futureStub = EndorserGrpc.newFutureStub(managedChannel);
+        }
     }
 
     synchronized void shutdown(boolean force) {
@@ -54,46 +73,43 @@ class EndorserClient {
             return;
         }
         shutdown = true;
-        ManagedChannel lchannel = managedChannel;
+        ManagedChannelPool.Lease lchannelLease = channelLease;
         // let all referenced resource finalize
+        channelLease = null;
         managedChannel = null;
         blockingStub = null;
         futureStub = null;
 
-        if (lchannel == null) {
-            return;
-        }
-        if (force) {
-            lchannel.shutdownNow();
-        } else {
-            boolean isTerminated = false;
-
-            try {
-                isTerminated = lchannel.shutdown().awaitTermination(3, TimeUnit.SECONDS);
-            } catch (Exception e) {
-                logger.debug(e); //best effort
-            }
-            if (!isTerminated) {
-                lchannel.shutdownNow();
-            }
+        if (lchannelLease != null) {
+            lchannelLease.release(force);
         }
     }
 
     public ListenableFuture<FabricProposalResponse.ProposalResponse> sendProposalAsync(FabricProposal.SignedProposal proposal) throws PeerException {
-        if (shutdown) {
-            throw new PeerException("Shutdown");
+        final EndorserGrpc.EndorserFutureStub lfutureStub;
+        synchronized (this) {
+            if (shutdown) {
+                throw new PeerException("Shutdown");
+            }
+            stubs();
+            lfutureStub = futureStub;
         }
-        return futureStub.processProposal(proposal);
+        return lfutureStub.processProposal(proposal);
     }
 
     public FabricProposalResponse.ProposalResponse sendProposal(FabricProposal.SignedProposal proposal) throws PeerException {
 
-        if (shutdown) {
-            throw new PeerException("Shutdown");
+        final EndorserGrpc.EndorserBlockingStub lblockingStub;
+        synchronized (this) {
+            if (shutdown) {
+                throw new PeerException("Shutdown");
+            }
+            stubs();
+            lblockingStub = blockingStub;
         }
 
         try {
-            return blockingStub.processProposal(proposal);
+            return lblockingStub.processProposal(proposal);
 
         } catch (StatusRuntimeException e) {
             logger.warn(String.format("RPC failed: %s", e.getStatus()));
@@ -102,8 +118,8 @@ class EndorserClient {
     }
 
     boolean isChannelActive() {
-        ManagedChannel lchannel = managedChannel;
-        return lchannel != null && !lchannel.isShutdown() && !lchannel.isTerminated();
+        ManagedChannelPool.Lease lchannelLease = channelLease;
+        return lchannelLease != null && lchannelLease.isActive();
     }
 
     @Override
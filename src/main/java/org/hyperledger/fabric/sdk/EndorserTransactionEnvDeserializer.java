@@ -16,19 +16,31 @@
 
 package org.hyperledger.fabric.sdk;
 
+import java.lang.ref.WeakReference;
+
 import com.google.protobuf.ByteString;
 
 class EndorserTransactionEnvDeserializer extends EnvelopeDeserializer {
+    private WeakReference<TransactionPayloadDeserializer> transactionPayload;
 
-    EndorserTransactionEnvDeserializer(ByteString byteString, byte validcode) {
-        super(byteString, validcode);
+    EndorserTransactionEnvDeserializer(ByteString byteString, byte validcode, boolean retain) {
+        super(byteString, validcode, retain);
 
     }
 
     @Override
     TransactionPayloadDeserializer getPayload() {
+        TransactionPayloadDeserializer ret = null;
+
+        if (transactionPayload != null) {
+            ret = transactionPayload.get();
+        }
+        if (ret == null) {
+            ret = new TransactionPayloadDeserializer(getEnvelope().getPayload(), retain);
+            transactionPayload = DeserializerUtils.reference(ret, retain);
+        }
 
-        return new TransactionPayloadDeserializer(getEnvelope().getPayload());
+        return ret;
 
     }
 }
@@ -24,9 +24,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.PrivateKey;
 import java.security.cert.X509Certificate;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.regex.Matcher;
@@ -52,6 +54,7 @@ import org.bouncycastle.cert.jcajce.JcaX509CertificateHolder;
 import org.bouncycastle.crypto.Digest;
 import org.bouncycastle.crypto.digests.SHA256Digest;
 import org.hyperledger.fabric.sdk.exception.CryptoException;
+import org.hyperledger.fabric.sdk.helper.Config;
 import org.hyperledger.fabric.sdk.security.CryptoPrimitives;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -60,128 +63,45 @@ import static org.hyperledger.fabric.sdk.helper.Utils.parseGrpcUrl;
 class Endpoint {
     private static final Log logger = LogFactory.getLog(Endpoint.class);
 
+    private static final int TLS_CONFIG_CACHE_SIZE = Config.getConfig().getEndpointTLSCacheSize();
+
+    // Properties that make up the TLS configuration, in key order. ManagedChannelPool keys pooled channels by them too.
+    static final String[] TLS_PROPERTIES = {"pemFile", "pemBytes", "hostnameOverride", "trustServerCertificate",
+            "sslProvider", "negotiationType", "clientKeyFile", "clientCertFile", "clientKeyBytes", "clientCertBytes"};
+
     private final String addr;
     private final int port;
     private final String url;
     private byte[] clientTLSCertificateDigest;
     private byte[] tlsClientCertificatePEMBytes;
     private NettyChannelBuilder channelBuilder = null;
+    private SslContext sslContext = null;
 
     private static final Map<String, String> CN_CACHE = Collections.synchronizedMap(new HashMap<>());
 
+    // Parsing PEMs and building SslContexts is costly, reconnects to the same endpoints reuse them. Access ordered for LRU.
+    private static final Map<TLSKey, TLSConfig> TLS_CONFIG_CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<TLSKey, TLSConfig>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<TLSKey, TLSConfig> eldest) {
+                    return size() > TLS_CONFIG_CACHE_SIZE;
+                }
+            });
+
     Endpoint(String url, Properties properties) {
         logger.trace(String.format("Creating endpoint for url %s", url));
         this.url = url;
-        String cn = null;
-        String sslp = null;
-        String nt = null;
-        byte[] pemBytes = null;
-        X509Certificate[] clientCert = new X509Certificate[] {};
-        PrivateKey clientKey = null;
+        TLSConfig tlsConfig = null;
         Properties purl = parseGrpcUrl(url);
         String protocol = purl.getProperty("protocol");
         this.addr = purl.getProperty("host");
         this.port = Integer.parseInt(purl.getProperty("port"));
 
-        if (properties != null) {
-            if ("grpcs".equals(protocol)) {
-                CryptoPrimitives cp;
-                try {
-                    cp = new CryptoPrimitives();
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
-                if (properties.containsKey("pemFile") && properties.containsKey("pemBytes")) {
-                    throw new RuntimeException("Properties \"pemBytes\" and \"pemFile\" can not be both set.");
-                }
-                if (properties.containsKey("pemFile")) {
-                    Path path = Paths.get(properties.getProperty("pemFile"));
-                    try {
-                        pemBytes = Files.readAllBytes(path);
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
-                } else if (properties.containsKey("pemBytes")) {
-                    pemBytes = (byte[]) properties.get("pemBytes");
-                }
-                if (null != pemBytes) {
-                    try {
-                        cn = properties.getProperty("hostnameOverride");
-                        if (cn == null && "true".equals(properties.getProperty("trustServerCertificate"))) {
-                            final String cnKey = new String(pemBytes, UTF_8);
-                            cn = CN_CACHE.get(cnKey);
-                            if (cn == null) {
-                                X500Name x500name = new JcaX509CertificateHolder(
-                                        (X509Certificate) cp.bytesToCertificate(pemBytes)).getSubject();
-                                RDN rdn = x500name.getRDNs(BCStyle.CN)[0];
-                                cn = IETFUtils.valueToString(rdn.getFirst().getValue());
-                                CN_CACHE.put(cnKey, cn);
-                            }
-                        }
-                    } catch (Exception e) {
-                        /// Mostly a development env. just log it.
-                        logger.error(
-                                "Error getting Subject CN from certificate. Try setting it specifically with hostnameOverride property. "
-                                        + e.getMessage());
-                    }
-                }
-                // check for mutual TLS - both clientKey and clientCert must be present
-                byte[] ckb = null, ccb = null;
-                if (properties.containsKey("clientKeyFile") && properties.containsKey("clientKeyBytes")) {
-                    throw new RuntimeException("Properties \"clientKeyFile\" and \"clientKeyBytes\" must cannot both be set");
-                } else if (properties.containsKey("clientCertFile") && properties.containsKey("clientCertBytes")) {
-                    throw new RuntimeException("Properties \"clientCertFile\" and \"clientCertBytes\" must cannot both be set");
-                } else if (properties.containsKey("clientKeyFile") || properties.containsKey("clientCertFile")) {
-                    if ((properties.getProperty("clientKeyFile") != null) && (properties.getProperty("clientCertFile") != null)) {
-                        try {
-                            ckb = Files.readAllBytes(Paths.get(properties.getProperty("clientKeyFile")));
-                            ccb = Files.readAllBytes(Paths.get(properties.getProperty("clientCertFile")));
-                        } catch (IOException e) {
-                            throw new RuntimeException("Failed to parse TLS client key and/or cert", e);
-                        }
-                    } else {
-                        throw new RuntimeException("Properties \"clientKeyFile\" and \"clientCertFile\" must both be set or both be null");
-                    }
-                } else if (properties.containsKey("clientKeyBytes") || properties.containsKey("clientCertBytes")) {
-                    ckb = (byte[]) properties.get("clientKeyBytes");
-                    ccb = (byte[]) properties.get("clientCertBytes");
-                    if ((ckb == null) || (ccb == null)) {
-                        throw new RuntimeException("Properties \"clientKeyBytes\" and \"clientCertBytes\" must both be set or both be null");
-                    }
-                }
-
-                if ((ckb != null) && (ccb != null)) {
-                    String what = "private key";
-                    try {
-                        logger.trace("client TLS private key bytes size:" + ckb.length);
-                        clientKey = cp.bytesToPrivateKey(ckb);
-                        logger.trace("converted TLS key.");
-                        what = "certificate";
-                        logger.trace("client TLS certificate bytes:" + Hex.encodeHexString(ccb));
-                        clientCert = new X509Certificate[] {(X509Certificate) cp.bytesToCertificate(ccb)};
-                        logger.trace("converted client TLS certificate.");
-                        tlsClientCertificatePEMBytes = ccb; // Save this away it's the exact pem we used.
-                    } catch (CryptoException e) {
-                        throw new RuntimeException("Failed to parse TLS client " + what, e);
-                    }
-                }
-
-                sslp = properties.getProperty("sslProvider");
-                if (sslp == null) {
-                    throw new RuntimeException("Property of sslProvider expected");
-                }
-                if (!sslp.equals("openSSL") && !sslp.equals("JDK")) {
-                    throw new RuntimeException("Property of sslProvider has to be either openSSL or JDK");
-                }
-
-                nt = properties.getProperty("negotiationType");
-                if (nt == null) {
-                    throw new RuntimeException("Property of negotiationType expected");
-                }
-                if (!nt.equals("TLS") && !nt.equals("plainText")) {
-                    throw new RuntimeException("Property of negotiationType has to be either TLS or plainText");
-                }
-            }
+        if (properties != null && "grpcs".equals(protocol)) {
+            tlsConfig = getTLSConfig(properties);
+            tlsClientCertificatePEMBytes = tlsConfig.tlsClientCertificatePEMBytes;
         }
 
         try {
@@ -189,28 +109,18 @@ class Endpoint {
                 this.channelBuilder = NettyChannelBuilder.forAddress(addr, port).usePlaintext(true);
                 addNettyBuilderProps(channelBuilder, properties);
             } else if (protocol.equalsIgnoreCase("grpcs")) {
-                if (pemBytes == null) {
+                if (tlsConfig == null || tlsConfig.sslContext == null) {
                     // use root certificate
                     this.channelBuilder = NettyChannelBuilder.forAddress(addr, port);
                     addNettyBuilderProps(channelBuilder, properties);
                 } else {
-                    try {
-
-                        SslProvider sslprovider = sslp.equals("openSSL") ? SslProvider.OPENSSL : SslProvider.JDK;
-                        NegotiationType ntype = nt.equals("TLS") ? NegotiationType.TLS : NegotiationType.PLAINTEXT;
-
-                        InputStream myInputStream = new ByteArrayInputStream(pemBytes);
-                        SslContext sslContext = GrpcSslContexts.forClient().trustManager(myInputStream)
-                                .sslProvider(sslprovider).keyManager(clientKey, clientCert).build();
-                        this.channelBuilder = NettyChannelBuilder.forAddress(addr, port).sslContext(sslContext)
-                                .negotiationType(ntype);
-                        if (cn != null) {
-                            channelBuilder.overrideAuthority(cn);
-                        }
-                        addNettyBuilderProps(channelBuilder, properties);
-                    } catch (SSLException sslex) {
-                        throw new RuntimeException(sslex);
+                    sslContext = tlsConfig.sslContext;
+                    this.channelBuilder = NettyChannelBuilder.forAddress(addr, port).sslContext(sslContext)
+                            .negotiationType(tlsConfig.negotiationType);
+                    if (tlsConfig.cn != null) {
+                        channelBuilder.overrideAuthority(tlsConfig.cn);
                     }
+                    addNettyBuilderProps(channelBuilder, properties);
                 }
             } else {
                 throw new RuntimeException("invalid protocol: " + protocol);
@@ -224,6 +134,243 @@ class Endpoint {
         }
     }
 
+    /**
+     * Cached TLS configuration for the properties. A cached configuration read from files is used only while none of
+     * its files have changed.
+     */
+    private static TLSConfig getTLSConfig(Properties properties) {
+
+        if (TLS_CONFIG_CACHE_SIZE <= 0) {
+            return createTLSConfig(properties);
+        }
+
+        final TLSKey key = new TLSKey(properties);
+        TLSConfig ret = TLS_CONFIG_CACHE.get(key);
+        if (ret == null || !ret.isCurrent()) {
+            ret = createTLSConfig(properties);
+            TLS_CONFIG_CACHE.put(key, ret);
+        } else {
+            logger.trace("Using cached TLS configuration.");
+        }
+        return ret;
+    }
+
+    private static TLSConfig createTLSConfig(Properties properties) {
+        String cn = null;
+        byte[] pemBytes = null;
+        X509Certificate[] clientCert = new X509Certificate[] {};
+        PrivateKey clientKey = null;
+        byte[] tlsClientCertificatePEMBytes = null;
+        final Map<Path, FileStamp> files = new HashMap<>();
+
+        CryptoPrimitives cp;
+        try {
+            cp = new CryptoPrimitives();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        if (properties.containsKey("pemFile") && properties.containsKey("pemBytes")) {
+            throw new RuntimeException("Properties \"pemBytes\" and \"pemFile\" can not be both set.");
+        }
+        if (properties.containsKey("pemFile")) {
+            Path path = Paths.get(properties.getProperty("pemFile"));
+            try {
+                pemBytes = readFile(path, files);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        } else if (properties.containsKey("pemBytes")) {
+            pemBytes = (byte[]) properties.get("pemBytes");
+        }
+        if (null != pemBytes) {
+            try {
+                cn = properties.getProperty("hostnameOverride");
+                if (cn == null && "true".equals(properties.getProperty("trustServerCertificate"))) {
+                    final String cnKey = new String(pemBytes, UTF_8);
+                    cn = CN_CACHE.get(cnKey);
+                    if (cn == null) {
+                        X500Name x500name = new JcaX509CertificateHolder(
+                                (X509Certificate) cp.bytesToCertificate(pemBytes)).getSubject();
+                        RDN rdn = x500name.getRDNs(BCStyle.CN)[0];
+                        cn = IETFUtils.valueToString(rdn.getFirst().getValue());
+                        CN_CACHE.put(cnKey, cn);
+                    }
+                }
+            } catch (Exception e) {
+                /// Mostly a development env. just log it.
+                logger.error(
+                        "Error getting Subject CN from certificate. Try setting it specifically with hostnameOverride property. "
+                                + e.getMessage());
+            }
+        }
+        // check for mutual TLS - both clientKey and clientCert must be present
+        byte[] ckb = null, ccb = null;
+        if (properties.containsKey("clientKeyFile") && properties.containsKey("clientKeyBytes")) {
+            throw new RuntimeException("Properties \"clientKeyFile\" and \"clientKeyBytes\" must cannot both be set");
+        } else if (properties.containsKey("clientCertFile") && properties.containsKey("clientCertBytes")) {
+            throw new RuntimeException("Properties \"clientCertFile\" and \"clientCertBytes\" must cannot both be set");
+        } else if (properties.containsKey("clientKeyFile") || properties.containsKey("clientCertFile")) {
+            if ((properties.getProperty("clientKeyFile") != null) && (properties.getProperty("clientCertFile") != null)) {
+                try {
+                    ckb = readFile(Paths.get(properties.getProperty("clientKeyFile")), files);
+                    ccb = readFile(Paths.get(properties.getProperty("clientCertFile")), files);
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to parse TLS client key and/or cert", e);
+                }
+            } else {
+                throw new RuntimeException("Properties \"clientKeyFile\" and \"clientCertFile\" must both be set or both be null");
+            }
+        } else if (properties.containsKey("clientKeyBytes") || properties.containsKey("clientCertBytes")) {
+            ckb = (byte[]) properties.get("clientKeyBytes");
+            ccb = (byte[]) properties.get("clientCertBytes");
+            if ((ckb == null) || (ccb == null)) {
+                throw new RuntimeException("Properties \"clientKeyBytes\" and \"clientCertBytes\" must both be set or both be null");
+            }
+        }
+
+        if ((ckb != null) && (ccb != null)) {
+            String what = "private key";
+            try {
+                logger.trace("client TLS private key bytes size:" + ckb.length);
+                clientKey = cp.bytesToPrivateKey(ckb);
+                logger.trace("converted TLS key.");
+                what = "certificate";
+                logger.trace("client TLS certificate bytes:" + Hex.encodeHexString(ccb));
+                clientCert = new X509Certificate[] {(X509Certificate) cp.bytesToCertificate(ccb)};
+                logger.trace("converted client TLS certificate.");
+                tlsClientCertificatePEMBytes = ccb; // Save this away it's the exact pem we used.
+            } catch (CryptoException e) {
+                throw new RuntimeException("Failed to parse TLS client " + what, e);
+            }
+        }
+
+        String sslp = properties.getProperty("sslProvider");
+        if (sslp == null) {
+            throw new RuntimeException("Property of sslProvider expected");
+        }
+        if (!sslp.equals("openSSL") && !sslp.equals("JDK")) {
+            throw new RuntimeException("Property of sslProvider has to be either openSSL or JDK");
+        }
+
+        String nt = properties.getProperty("negotiationType");
+        if (nt == null) {
+            throw new RuntimeException("Property of negotiationType expected");
+        }
+        if (!nt.equals("TLS") && !nt.equals("plainText")) {
+            throw new RuntimeException("Property of negotiationType has to be either TLS or plainText");
+        }
+
+        SslContext sslContext = null;
+        NegotiationType ntype = nt.equals("TLS") ? NegotiationType.TLS : NegotiationType.PLAINTEXT;
+
+        if (pemBytes != null) {
+            try {
+                SslProvider sslprovider = sslp.equals("openSSL") ? SslProvider.OPENSSL : SslProvider.JDK;
+
+                InputStream myInputStream = new ByteArrayInputStream(pemBytes);
+                sslContext = GrpcSslContexts.forClient().trustManager(myInputStream)
+                        .sslProvider(sslprovider).keyManager(clientKey, clientCert).build();
+            } catch (SSLException sslex) {
+                logger.error(sslex);
+                throw new RuntimeException(sslex);
+            }
+        }
+
+        return new TLSConfig(cn, sslContext, ntype, tlsClientCertificatePEMBytes, files);
+    }
+
+    // Stamp the file before reading so a change while reading is seen next time.
+    private static byte[] readFile(Path path, Map<Path, FileStamp> files) throws IOException {
+        files.put(path, new FileStamp(path));
+        return Files.readAllBytes(path);
+    }
+
+    /**
+     * Everything parsed from the TLS properties. Immutable so endpoints can share it.
+     */
+    private static final class TLSConfig {
+        private final String cn;
+        private final SslContext sslContext;
+        private final NegotiationType negotiationType;
+        private final byte[] tlsClientCertificatePEMBytes;
+        private final Map<Path, FileStamp> files;
+
+        private TLSConfig(String cn, SslContext sslContext, NegotiationType negotiationType,
+                          byte[] tlsClientCertificatePEMBytes, Map<Path, FileStamp> files) {
+            this.cn = cn;
+            this.sslContext = sslContext;
+            this.negotiationType = negotiationType;
+            this.tlsClientCertificatePEMBytes = tlsClientCertificatePEMBytes;
+            this.files = files;
+        }
+
+        /**
+         * @return true if none of the files it was read from have changed.
+         */
+        private boolean isCurrent() {
+            for (Map.Entry<Path, FileStamp> entry : files.entrySet()) {
+                try {
+                    if (!entry.getValue().equals(new FileStamp(entry.getKey()))) {
+                        logger.debug(String.format("TLS file %s changed.", entry.getKey()));
+                        return false;
+                    }
+                } catch (IOException e) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class FileStamp {
+        private final long lastModified;
+        private final long size;
+
+        private FileStamp(Path path) throws IOException {
+            lastModified = Files.getLastModifiedTime(path).toMillis();
+            size = Files.size(path);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof FileStamp)) {
+                return false;
+            }
+            FileStamp other = (FileStamp) o;
+            return lastModified == other.lastModified && size == other.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(lastModified) * 31 + Long.hashCode(size);
+        }
+    }
+
+    /**
+     * The TLS properties' values. Byte arrays compare by content.
+     */
+    private static final class TLSKey {
+        private final Object[] values = new Object[TLS_PROPERTIES.length];
+        private final int hash;
+
+        private TLSKey(Properties properties) {
+            for (int i = 0; i < TLS_PROPERTIES.length; ++i) {
+                values[i] = properties.get(TLS_PROPERTIES[i]);
+            }
+            hash = Arrays.deepHashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TLSKey && hash == ((TLSKey) o).hash && Arrays.deepEquals(values, ((TLSKey) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     byte[] getClientTLSCertificateDigest() {
         //The digest must be SHA256 over the DER encoded certificate. The PEM has the exact DER sequence in hex encoding around the begin and end markers
 
@@ -332,6 +479,10 @@ class Endpoint {
 
     }
 
+    SslContext getSslContext() {
+        return sslContext;
+    }
+
     ManagedChannelBuilder<?> getChannelBuilder() {
         return this.channelBuilder;
     }
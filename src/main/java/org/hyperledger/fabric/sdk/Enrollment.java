@@ -24,7 +24,7 @@ public interface Enrollment {
     /**
      * Get the user's private key
      *
-     * @return private key.
+     * @return private key. May be null if the enrollment has a {@link #getSigner() signer}.
      */
     PrivateKey getKey();
 
@@ -35,4 +35,13 @@ public interface Enrollment {
      */
     String getCert();
 
+    /**
+     * Get the signer used instead of the private key.
+     *
+     * @return the signer or null to sign with {@link #getKey()}.
+     */
+    default Signer getSigner() {
+        return null;
+    }
+
 }
@@ -29,11 +29,13 @@ import org.hyperledger.fabric.sdk.exception.InvalidProtocolBufferRuntimeExceptio
 class EnvelopeDeserializer {
     protected final ByteString byteString;
     private final byte validcode;
+    protected final boolean retain; // hold what's decoded strongly
     private WeakReference<Envelope> envelope;
     private WeakReference<PayloadDeserializer> payload;
 
-    EnvelopeDeserializer(ByteString byteString, byte validcode) {
+    EnvelopeDeserializer(ByteString byteString, byte validcode, boolean retain) {
         this.byteString = byteString;
+        this.retain = retain;
 
         this.validcode = validcode;
     }
@@ -48,12 +50,12 @@ class EnvelopeDeserializer {
         if (ret == null) {
 
             try {
-                ret = Envelope.parseFrom(byteString);
+                ret = DeserializerUtils.parseAliased(Envelope.parser(), byteString);
             } catch (InvalidProtocolBufferException e) {
                 throw new InvalidProtocolBufferRuntimeException(e);
             }
 
-            envelope = new WeakReference<>(ret);
+            envelope = DeserializerUtils.reference(ret, retain);
 
         }
 
@@ -73,8 +75,8 @@ class EnvelopeDeserializer {
         }
         if (ret == null) {
 
-            ret = new PayloadDeserializer(getEnvelope().getPayload());
-            payload = new WeakReference<>(ret);
+            ret = new PayloadDeserializer(getEnvelope().getPayload(), retain);
+            payload = DeserializerUtils.reference(ret, retain);
 
         }
 
@@ -108,11 +110,12 @@ class EnvelopeDeserializer {
         return validcode;
     }
 
-    static EnvelopeDeserializer newInstance(ByteString byteString, byte b) throws InvalidProtocolBufferException {
+    static EnvelopeDeserializer newInstance(ByteString byteString, byte b, boolean retain) throws InvalidProtocolBufferException {
 
         EnvelopeDeserializer ret;
 
-        final int type = ChannelHeader.parseFrom(Payload.parseFrom(Envelope.parseFrom(byteString).getPayload())
+        final int type = ChannelHeader.parseFrom(DeserializerUtils.parseAliased(Payload.parser(),
+                DeserializerUtils.parseAliased(Envelope.parser(), byteString).getPayload())
                 .getHeader().getChannelHeader()).getType();
 
        /*
@@ -129,10 +132,10 @@ class EnvelopeDeserializer {
 
         switch (type) {
             case 3:
-                ret = new EndorserTransactionEnvDeserializer(byteString, b);
+                ret = new EndorserTransactionEnvDeserializer(byteString, b, retain);
                 break;
             default: //just assume base properties.
-                ret = new EnvelopeDeserializer(byteString, b);
+                ret = new EnvelopeDeserializer(byteString, b, retain);
                 break;
         }
         return ret;
@@ -62,6 +62,7 @@ public class EventHub implements Serializable {
     private final String name;
     private final Properties properties;
     private transient ManagedChannel managedChannel;
+    private transient volatile ManagedChannelPool.Lease channelLease;
     private transient boolean connected = false;
     private transient EventsGrpc.EventsStub events;
     private transient StreamObserver<PeerEvents.SignedEvent> sender;
@@ -193,7 +194,11 @@ public class EventHub implements Serializable {
         lastConnectedAttempt = System.currentTimeMillis();
 
         Endpoint endpoint = new Endpoint(url, properties);
-        managedChannel = endpoint.getChannelBuilder().build();
+        releaseChannelLease(true); // from any earlier failed connection.
+        final Channel lchannel = channel;
+        channelLease = lchannel == null ? ManagedChannelPool.unpooled(endpoint.getChannelBuilder())
+                : lchannel.acquireManagedChannel(url, properties);
+        managedChannel = channelLease.getChannel();
 
         clientTLSCertificateDigest = endpoint.getClientTLSCertificateDigest();
 
@@ -252,9 +257,7 @@ public class EventHub implements Serializable {
                         eventStream = null;
                         disconnectedTime = System.currentTimeMillis();
                         try {
-                            if (!isChannelShutdown) {
-                                managedChannel.shutdownNow();
-                            }
+                            releaseChannelLease(true); // only shuts down the channel if no other service is using it.
                             if (null != disconnectedHandler) {
                                 try {
                                     disconnectedHandler.disconnected(EventHub.this);
@@ -328,7 +331,7 @@ public class EventHub implements Serializable {
         PeerEvents.Register register = PeerEvents.Register.newBuilder()
                 .addEvents(PeerEvents.Interest.newBuilder().setEventType(PeerEvents.EventType.BLOCK).build()).build();
         PeerEvents.Event.Builder blockEventBuilder = PeerEvents.Event.newBuilder().setRegister(register)
-                .setCreator(transactionContext.getIdentity().toByteString())
+                .setCreator(transactionContext.getIdentityByteString())
                 .setTimestamp(ProtoUtils.getCurrentFabricTimestamp());
 
         if (null != clientTLSCertificateDigest) {
@@ -375,7 +378,15 @@ public class EventHub implements Serializable {
         disconnectedHandler = null;
         channel = null;
         eventStream = null;
-        managedChannel.shutdownNow();
+        releaseChannelLease(true);
+    }
+
+    private void releaseChannelLease(boolean force) {
+        final ManagedChannelPool.Lease lchannelLease = channelLease;
+        channelLease = null;
+        if (lchannelLease != null) {
+            lchannelLease.release(force);
+        }
     }
 
     void setChannel(Channel channel) throws InvalidArgumentException {
@@ -39,6 +39,7 @@ import org.hyperledger.fabric.sdk.exception.InvalidArgumentException;
 import org.hyperledger.fabric.sdk.exception.NetworkConfigurationException;
 import org.hyperledger.fabric.sdk.exception.ProposalException;
 import org.hyperledger.fabric.sdk.exception.TransactionException;
+import org.hyperledger.fabric.sdk.helper.Config;
 import org.hyperledger.fabric.sdk.helper.Utils;
 import org.hyperledger.fabric.sdk.security.CryptoSuite;
 
@@ -69,6 +70,12 @@ public class HFClient {
         return executorService;
     }
 
+    private final ManagedChannelPool managedChannelPool = new ManagedChannelPool(Config.getConfig().getGrpcChannelPoolSize());
+
+    ManagedChannelPool getManagedChannelPool() {
+        return managedChannelPool;
+    }
+
     private static final Log logger = LogFactory.getLog(HFClient.class);
 
     private final Map<String, Channel> channels = new HashMap<>();
@@ -513,6 +520,11 @@ public class HFClient {
      *                   ordererWaitTimeMilliSecs Time to wait in milliseconds for the
      *                   Orderer to accept requests before timing out. The default is two seconds.
      *                   </li>
+     *                   <li>
+     *                   ordererBroadcastStreams Number of long lived broadcast streams kept open to the Orderer.
+     *                   Transactions are pipelined on these streams instead of opening a stream per transaction.
+     *                   The default of zero opens a new stream for each transaction.
+     *                   </li>
      *                   </ul>
      * @return The orderer.
      * @throws InvalidArgumentException
@@ -659,6 +671,23 @@ public class HFClient {
 
     }
 
+    /**
+     * Shutdown all the client's channels and the gRPC connections they shared.
+     * The client can't be used to reach peers, event hubs or orderers afterwards.
+     *
+     * @param force shutdown now instead of waiting on outstanding requests.
+     */
+    public void shutdown(boolean force) {
+        final Channel[] lchannels;
+        synchronized (channels) {
+            lchannels = channels.values().toArray(new Channel[0]);
+        }
+        for (Channel channel : lchannels) {
+            channel.shutdown(force);
+        }
+        managedChannelPool.shutdown(force);
+    }
+
     void removeChannel(Channel channel) {
         synchronized (channels) {
             final String name = channel.getName();
@@ -23,10 +23,12 @@ import org.hyperledger.fabric.protos.common.Common.Header;
 class HeaderDeserializer {
 
     private final Header header;
+    private final boolean retain;
     private WeakReference<ChannelHeaderDeserializer> channelHeader;
 
-    HeaderDeserializer(Header header) {
+    HeaderDeserializer(Header header, boolean retain) {
         this.header = header;
+        this.retain = retain;
     }
 
     Header getHeader() {
@@ -44,8 +46,8 @@ class HeaderDeserializer {
         }
         if (ret == null) {
 
-            ret = new ChannelHeaderDeserializer(getHeader().getChannelHeader());
-            channelHeader = new WeakReference<>(ret);
+            ret = new ChannelHeaderDeserializer(getHeader().getChannelHeader(), retain);
+            channelHeader = DeserializerUtils.reference(ret, retain);
 
         }
 
@@ -0,0 +1,448 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import static java.lang.String.format;
+
+/**
+ * Reference counted gRPC managed channels shared by all the peer, event hub and orderer services of a client
+ * that connect to the same endpoint. Endpoints are the same when they have the same url and the same
+ * TLS and channel builder properties, so all services on an endpoint share its HTTP/2 connections.
+ * <p>
+ * Each endpoint has a fixed number of channels handed out round robin to spread load on busy endpoints.
+ * A channel is shut down when the last lease on it is released and rebuilt if it's found shut down.
+ */
+final class ManagedChannelPool {
+    private static final Log logger = LogFactory.getLog(ManagedChannelPool.class);
+
+    /**
+     * Per endpoint property overriding the number of channels for the endpoint.
+     */
+    static final String CHANNEL_POOL_SIZE_PROPERTY = "grpcChannelPoolSize";
+
+    // Properties used by Endpoint to build the channel. Others, like wait times, don't make a different channel.
+    private static final Set<String> CHANNEL_PROPERTIES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(Endpoint.TLS_PROPERTIES)));
+    private static final String CHANNEL_BUILDER_OPTION_PREFIX = "grpc.NettyChannelBuilderOption.";
+
+    private final int channelsPerEndpoint;
+    private final Map<Key, PooledEndpoint> endpoints = new HashMap<>(); // guarded by this
+    private volatile boolean shutdown = false;
+
+    /**
+     * @param channelsPerEndpoint number of channels for each endpoint. Zero or less doesn't share channels.
+     */
+    ManagedChannelPool(int channelsPerEndpoint) {
+        this.channelsPerEndpoint = channelsPerEndpoint;
+    }
+
+    /**
+     * Lease a channel for the endpoint.
+     *
+     * @param url        the endpoint url.
+     * @param properties the endpoint properties.
+     * @return the lease that must be released when done.
+     */
+    Lease acquire(String url, Properties properties) {
+
+        int size = channelsPerEndpoint;
+        if (properties != null && properties.containsKey(CHANNEL_POOL_SIZE_PROPERTY)) {
+            String sizeString = properties.getProperty(CHANNEL_POOL_SIZE_PROPERTY);
+            try {
+                size = Integer.parseInt(sizeString);
+            } catch (NumberFormatException e) {
+                logger.warn(format("Endpoint %s channel pool size %s not parsable.", url, sizeString), e);
+            }
+        }
+
+        if (size <= 0) {
+            return unpooled(new Endpoint(url, properties).getChannelBuilder());
+        }
+
+        final Key key = new Key(url, properties);
+        ManagedChannel built = null;
+
+        // Building a channel parses certificates and sets up TLS so it's done outside the lock. If another
+        // thread filled the slot meanwhile the one built here is spare.
+        while (true) {
+            PooledLease lease = null;
+            ManagedChannel spare = null;
+            synchronized (this) {
+                if (shutdown) {
+                    spare = built;
+                } else {
+                    PooledEndpoint endpoint = endpoints.get(key);
+                    if (endpoint == null && built != null) {
+                        endpoint = new PooledEndpoint(key, url, properties, size);
+                        endpoints.put(key, endpoint);
+                    }
+                    if (endpoint != null) {
+                        final int slot = endpoint.next;
+                        PooledChannel channel = endpoint.getLive(slot);
+                        if (channel == null && built != null) {
+                            channel = endpoint.install(slot, built);
+                            built = null;
+                        }
+                        if (channel != null) {
+                            endpoint.next = (slot + 1) % endpoint.channels.length;
+                            lease = new PooledLease(endpoint, slot, channel);
+                            spare = built;
+                        }
+                    }
+                }
+            }
+            if (spare != null) {
+                shutdown(spare, true);
+            }
+            if (lease != null) {
+                return lease;
+            }
+            if (shutdown) {
+                throw new IllegalStateException("Channel pool has been shut down.");
+            }
+            logger.debug(format("Building channel for %s", url));
+            built = new Endpoint(url, properties).getChannelBuilder().build();
+        }
+    }
+
+    /**
+     * A lease on a channel that is not shared.
+     *
+     * @param channelBuilder builds the channel when needed.
+     * @return the lease.
+     */
+    static Lease unpooled(ManagedChannelBuilder<?> channelBuilder) {
+        return new Lease(channelBuilder);
+    }
+
+    /**
+     * Shut down every pooled channel. Leases still held can't get a channel afterwards and new ones can't be acquired.
+     *
+     * @param force shutdown now instead of waiting on outstanding calls.
+     */
+    void shutdown(boolean force) {
+        final List<ManagedChannel> channels = new ArrayList<>();
+        synchronized (this) {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            for (PooledEndpoint endpoint : endpoints.values()) {
+                for (PooledChannel channel : endpoint.channels) {
+                    if (channel != null) {
+                        channels.add(channel.channel);
+                    }
+                }
+            }
+            endpoints.clear();
+        }
+        for (ManagedChannel channel : channels) {
+            shutdown(channel, force);
+        }
+    }
+
+    synchronized int getPooledChannelCount() {
+        int ret = 0;
+        for (PooledEndpoint endpoint : endpoints.values()) {
+            for (PooledChannel channel : endpoint.channels) {
+                if (channel != null) {
+                    ++ret;
+                }
+            }
+        }
+        return ret;
+    }
+
+    static void shutdown(ManagedChannel channel, boolean force) {
+
+        if (force) {
+            channel.shutdownNow();
+        } else {
+            boolean isTerminated = false;
+
+            try {
+                isTerminated = channel.shutdown().awaitTermination(3, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                logger.debug(e); //best effort
+            }
+            if (!isTerminated) {
+                channel.shutdownNow();
+            }
+        }
+    }
+
+    private static boolean isLive(ManagedChannel channel) {
+        return channel != null && !channel.isShutdown() && !channel.isTerminated();
+    }
+
+    /**
+     * A lease on a managed channel. Use {@link #getChannel()} every time a channel is needed, the lease replaces
+     * channels that have been shut down.
+     */
+    static class Lease {
+        private final ManagedChannelBuilder<?> channelBuilder;
+        private ManagedChannel channel; // guarded by this
+        volatile boolean released = false;
+
+        private Lease(ManagedChannelBuilder<?> channelBuilder) {
+            this.channelBuilder = channelBuilder;
+        }
+
+        /**
+         * @return an active channel.
+         */
+        synchronized ManagedChannel getChannel() {
+            if (released) {
+                throw new IllegalStateException("Channel lease has been released.");
+            }
+            if (!isLive(channel)) {
+                channel = channelBuilder.build();
+            }
+            return channel;
+        }
+
+        /**
+         * @return true until released.
+         */
+        boolean isActive() {
+            return !released;
+        }
+
+        /**
+         * Give up the lease. The channel is shut down if no one else is using it.
+         *
+         * @param force shutdown now instead of waiting on outstanding calls.
+         */
+        void release(boolean force) {
+            final ManagedChannel lchannel;
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+                lchannel = channel;
+                channel = null;
+            }
+            if (lchannel != null) {
+                shutdown(lchannel, force);
+            }
+        }
+    }
+
+    private final class PooledLease extends Lease {
+        private final PooledEndpoint endpoint;
+        private final int slot;
+        private PooledChannel pooledChannel; // guarded by pool
+
+        private PooledLease(PooledEndpoint endpoint, int slot, PooledChannel pooledChannel) {
+            super(null);
+            this.endpoint = endpoint;
+            this.slot = slot;
+            this.pooledChannel = pooledChannel;
+            ++pooledChannel.references;
+        }
+
+        @Override
+        ManagedChannel getChannel() {
+            ManagedChannel built = null;
+
+            // Like acquire, a replacement channel is built outside the lock.
+            while (true) {
+                ManagedChannel ret = null;
+                ManagedChannel spare = null;
+                IllegalStateException failed = null;
+                synchronized (ManagedChannelPool.this) {
+                    if (released) {
+                        failed = new IllegalStateException("Channel lease has been released.");
+                    } else if (shutdown) {
+                        failed = new IllegalStateException("Channel pool has been shut down.");
+                    } else if (isLive(pooledChannel.channel)) {
+                        ret = pooledChannel.channel;
+                    } else {
+                        PooledChannel replacement = endpoint.getLive(slot);
+                        if (replacement == null && built != null) {
+                            replacement = endpoint.install(slot, built);
+                            built = null;
+                        }
+                        if (replacement != null) {
+                            --pooledChannel.references;
+                            ++replacement.references;
+                            pooledChannel = replacement;
+                            ret = replacement.channel;
+                        }
+                    }
+                    if (ret != null || failed != null) {
+                        spare = built;
+                    }
+                }
+                if (spare != null) {
+                    shutdown(spare, true);
+                }
+                if (failed != null) {
+                    throw failed;
+                }
+                if (ret != null) {
+                    return ret;
+                }
+                logger.debug(format("Replacing shutdown channel for %s", endpoint.url));
+                built = new Endpoint(endpoint.url, endpoint.properties).getChannelBuilder().build();
+            }
+        }
+
+        @Override
+        void release(boolean force) {
+            ManagedChannel unused = null;
+            synchronized (ManagedChannelPool.this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+                if (--pooledChannel.references == 0) {
+                    unused = pooledChannel.channel;
+                    endpoint.remove(slot, pooledChannel);
+                }
+            }
+            if (unused != null) {
+                shutdown(unused, force);
+            }
+        }
+    }
+
+    private static final class PooledChannel {
+        private final ManagedChannel channel;
+        private int references = 0;
+
+        private PooledChannel(ManagedChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    private final class PooledEndpoint {
+        private final Key key;
+        private final String url;
+        private final Properties properties;
+        private final PooledChannel[] channels;
+        private int next = 0;
+
+        private PooledEndpoint(Key key, String url, Properties properties, int size) {
+            this.key = key;
+            this.url = url;
+            this.properties = properties == null ? null : (Properties) properties.clone();
+            this.channels = new PooledChannel[size];
+        }
+
+        /**
+         * Active channel in the slot or null if it needs building. Caller holds pool lock.
+         */
+        private PooledChannel getLive(int slot) {
+            PooledChannel ret = channels[slot];
+            return ret != null && isLive(ret.channel) ? ret : null;
+        }
+
+        /**
+         * Put a newly built channel in the slot. Caller holds pool lock.
+         */
+        private PooledChannel install(int slot, ManagedChannel channel) {
+            PooledChannel ret = new PooledChannel(channel);
+            channels[slot] = ret;
+            endpoints.putIfAbsent(key, this); // may have been dropped while its last channel was being replaced.
+            return ret;
+        }
+
+        /**
+         * Remove a channel no longer referenced. Caller holds pool lock.
+         */
+        private void remove(int slot, PooledChannel channel) {
+            if (channels[slot] == channel) {
+                channels[slot] = null;
+            }
+            for (PooledChannel c : channels) {
+                if (c != null) {
+                    return;
+                }
+            }
+            endpoints.remove(key);
+        }
+    }
+
+    /**
+     * Url and the channel properties. Byte array and option array values compare by content.
+     */
+    private static final class Key {
+        private final String url;
+        private final Map<String, Object> properties = new TreeMap<>();
+        private final int hash;
+
+        private Key(String url, Properties props) {
+            this.url = url;
+            if (props != null) {
+                for (Map.Entry<Object, Object> entry : props.entrySet()) {
+                    final String name = String.valueOf(entry.getKey());
+                    if (CHANNEL_PROPERTIES.contains(name) || name.startsWith(CHANNEL_BUILDER_OPTION_PREFIX)) {
+                        properties.put(name, entry.getValue());
+                    }
+                }
+            }
+            int h = url.hashCode();
+            for (Map.Entry<String, Object> entry : properties.entrySet()) {
+                h = 31 * h + entry.getKey().hashCode();
+                h = 31 * h + Arrays.deepHashCode(new Object[] {entry.getValue()});
+            }
+            hash = h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            if (hash != other.hash || !Objects.equals(url, other.url) || !properties.keySet().equals(other.properties.keySet())) {
+                return false;
+            }
+            for (Map.Entry<String, Object> entry : properties.entrySet()) {
+                if (!Objects.deepEquals(entry.getValue(), other.properties.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
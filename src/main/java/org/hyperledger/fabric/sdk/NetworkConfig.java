@@ -505,6 +505,16 @@ public class NetworkConfig {
 
                 OrgInfo org = createOrg(orgName, jsonOrg);
                 organizations.put(orgName, org);
+
+                // Let the org's peers know who they belong to for endorsement policy peer selection.
+                if (org.getMspId() != null) {
+                    for (String peerName : org.getPeerNames()) {
+                        Node peer = peers.get(peerName);
+                        if (peer != null) {
+                            peer.getProperties().setProperty(Peer.PEER_ORGANIZATION_MSPID_PROPERTY, org.getMspId());
+                        }
+                    }
+                }
             }
         }
 
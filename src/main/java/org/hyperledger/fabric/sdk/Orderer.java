@@ -16,6 +16,7 @@ package org.hyperledger.fabric.sdk;
 
 import java.io.Serializable;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 
 import io.netty.util.internal.StringUtil;
 import org.apache.commons.logging.Log;
@@ -142,49 +143,126 @@ public class Orderer implements Serializable {
 
         logger.debug(format("Order.sendTransaction name: %s, url: %s", name, url));
 
-        OrdererClient localOrdererClient = ordererClient;
-
-        if (localOrdererClient == null || !localOrdererClient.isChannelActive()) {
-            ordererClient = new OrdererClient(this, new Endpoint(url, properties).getChannelBuilder(), properties);
-            localOrdererClient = ordererClient;
-        }
+        final OrdererClient localOrdererClient = getOrdererClient();
 
         try {
 
             return localOrdererClient.sendTransaction(transaction);
         } catch (Throwable t) {
-            ordererClient = null;
+            if (!localOrdererClient.isBroadcastStreaming()) { // streaming clients replace their own broken streams.
+                dropOrdererClient(localOrdererClient, false);
+            }
             throw t;
 
         }
 
     }
 
-    DeliverResponse[] sendDeliver(Common.Envelope transaction) throws TransactionException {
+    /**
+     * Send transaction to Order without blocking.
+     *
+     * @param transaction transaction to be sent
+     * @return future completed with the orderer's response.
+     */
 
+    CompletableFuture<Ab.BroadcastResponse> sendTransactionAsync(Common.Envelope transaction) {
         if (shutdown) {
-            throw new TransactionException(format("Orderer %s was shutdown.", name));
+            CompletableFuture<Ab.BroadcastResponse> ret = new CompletableFuture<>();
+            ret.completeExceptionally(new TransactionException(format("Orderer %s was shutdown.", name)));
+            return ret;
         }
 
-        OrdererClient localOrdererClient = ordererClient;
+        logger.debug(format("Order.sendTransactionAsync name: %s, url: %s", name, url));
 
-        logger.debug(format("Order.sendDeliver name: %s, url: %s", name, url));
-        if (localOrdererClient == null || !localOrdererClient.isChannelActive()) {
-            localOrdererClient = new OrdererClient(this, new Endpoint(url, properties).getChannelBuilder(), properties);
-            ordererClient = localOrdererClient;
+        final OrdererClient fordererClient;
+        try {
+            fordererClient = getOrdererClient();
+        } catch (TransactionException e) {
+            CompletableFuture<Ab.BroadcastResponse> ret = new CompletableFuture<>();
+            ret.completeExceptionally(e);
+            return ret;
         }
 
+        return fordererClient.sendTransactionAsync(transaction).whenComplete((resp, t) -> {
+            if (t != null && !fordererClient.isBroadcastStreaming()) {
+                dropOrdererClient(fordererClient, true); // don't wait on the timeout or gRPC thread completing this.
+            }
+        });
+
+    }
+
+    DeliverResponse[] sendDeliver(CompletableFuture<Common.Envelope> transaction) throws TransactionException {
+
+        if (shutdown) {
+            throw new TransactionException(format("Orderer %s was shutdown.", name));
+        }
+
+        logger.debug(format("Order.sendDeliver name: %s, url: %s", name, url));
+
+        final OrdererClient localOrdererClient = getOrdererClient();
+
         try {
 
             return localOrdererClient.sendDeliver(transaction);
         } catch (Throwable t) {
-            ordererClient = null;
+            dropOrdererClient(localOrdererClient, false);
             throw t;
 
         }
 
     }
 
+    /**
+     * The orderer client, created under the orderer's lock so racing callers share one lease. A client whose
+     * channel has gone away is shut down to release its lease before it's replaced.
+     */
+    private OrdererClient getOrdererClient() throws TransactionException {
+        OrdererClient ret = ordererClient;
+
+        if (ret == null || !ret.isChannelActive()) {
+            OrdererClient inactive = null;
+            synchronized (this) {
+                if (shutdown) {
+                    throw new TransactionException(format("Orderer %s was shutdown.", name));
+                }
+                ret = ordererClient;
+                if (ret == null || !ret.isChannelActive()) {
+                    inactive = ret;
+                    ret = new OrdererClient(this, acquireManagedChannel(), properties);
+                    ordererClient = ret;
+                }
+            }
+            if (inactive != null) {
+                inactive.shutdown(true); // nothing left on its channel to wait for.
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Stop using a client that failed and release its lease so the next call gets a new one.
+     */
+    private void dropOrdererClient(OrdererClient client, boolean force) {
+        synchronized (this) {
+            if (ordererClient == client) {
+                ordererClient = null;
+            }
+        }
+        client.shutdown(force);
+    }
+
+    /**
+     * Lease a gRPC channel to the orderer, shared with other services on the same endpoint when the orderer is on a channel.
+     */
+    private ManagedChannelPool.Lease acquireManagedChannel() {
+        final Channel lchannel = channel;
+        if (lchannel == null) {
+            return ManagedChannelPool.unpooled(new Endpoint(url, properties).getChannelBuilder());
+        }
+        return lchannel.acquireManagedChannel(url, properties);
+    }
+
     synchronized void shutdown(boolean force) {
         if (shutdown) {
             return;
@@ -14,14 +14,23 @@
 
 package org.hyperledger.fabric.sdk;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
 import io.grpc.stub.StreamObserver;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -41,25 +50,42 @@ import static org.hyperledger.fabric.protos.orderer.Ab.DeliverResponse.TypeCase.
 class OrdererClient {
     private static final Config config = Config.getConfig();
     private static final long ORDERER_WAIT_TIME = config.getOrdererWaitTime();
+    private static final int ORDERER_BROADCAST_STREAMS = config.getOrdererBroadcastStreams();
+    private static final int ORDERER_BROADCAST_MAX_IN_FLIGHT = config.getOrdererBroadcastMaxInFlight();
     private final String channelName;
-    private final ManagedChannelBuilder channelBuilder;
+    private final ManagedChannelPool.Lease channelLease;
     private boolean shutdown = false;
     private static final Log logger = LogFactory.getLog(OrdererClient.class);
-    private ManagedChannel managedChannel = null;
+    private volatile ManagedChannel managedChannel = null;
     private final String name;
     private final String url;
     private final long ordererWaitTimeMilliSecs;
+    private final BroadcastStream[] broadcastStreams;
+    private final int broadcastMaxInFlight;
+    private final AtomicInteger nextBroadcastStream = new AtomicInteger(0);
 
     /**
      * Construct client for accessing Orderer server using the existing managedChannel.
      */
     OrdererClient(Orderer orderer, ManagedChannelBuilder<?> channelBuilder, Properties properties) {
+        this(orderer, ManagedChannelPool.unpooled(channelBuilder), properties);
+    }
 
-        this.channelBuilder = channelBuilder;
+    /**
+     * Construct client for accessing Orderer server using a leased managedChannel.
+     *
+     * @param channelLease lease on the channel to the orderer, released on shutdown.
+     */
+    OrdererClient(Orderer orderer, ManagedChannelPool.Lease channelLease, Properties properties) {
+
+        this.channelLease = channelLease;
         name = orderer.getName();
         url = orderer.getUrl();
         channelName = orderer.getChannel().getName();
 
+        int streams = ORDERER_BROADCAST_STREAMS;
+        int maxInFlight = ORDERER_BROADCAST_MAX_IN_FLIGHT;
+
         if (null == properties) {
 
             ordererWaitTimeMilliSecs = ORDERER_WAIT_TIME;
@@ -77,8 +103,42 @@ class OrdererClient {
             }
 
             ordererWaitTimeMilliSecs = tempOrdererWaitTimeMilliSecs;
+
+            String ordererBroadcastStreamsString = properties.getProperty("ordererBroadcastStreams", Integer.toString(ORDERER_BROADCAST_STREAMS));
+
+            try {
+                streams = Integer.parseInt(ordererBroadcastStreamsString);
+            } catch (NumberFormatException e) {
+                logger.warn(format("Orderer %s broadcast streams %s not parsable.", name, ordererBroadcastStreamsString), e);
+            }
+
+            String ordererBroadcastMaxInFlightString = properties.getProperty("ordererBroadcastMaxInFlight", Integer.toString(ORDERER_BROADCAST_MAX_IN_FLIGHT));
+
+            try {
+                maxInFlight = Integer.parseInt(ordererBroadcastMaxInFlightString);
+            } catch (NumberFormatException e) {
+                logger.warn(format("Orderer %s broadcast max in flight %s not parsable.", name, ordererBroadcastMaxInFlightString), e);
+            }
         }
 
+        broadcastStreams = streams > 0 ? new BroadcastStream[streams] : null;
+        broadcastMaxInFlight = Math.max(1, maxInFlight);
+
+    }
+
+    /**
+     * @return true if transactions are pipelined on long lived broadcast streams.
+     */
+    boolean isBroadcastStreaming() {
+        return broadcastStreams != null;
+    }
+
+    private synchronized ManagedChannel getManagedChannel() {
+
+        ManagedChannel lmanagedChannel = channelLease.getChannel(); // lease replaces channels that were shutdown.
+        managedChannel = lmanagedChannel;
+
+        return lmanagedChannel;
     }
 
     synchronized void shutdown(boolean force) {
@@ -87,25 +147,21 @@ class OrdererClient {
             return;
         }
         shutdown = true;
-        ManagedChannel lchannel = managedChannel;
-        managedChannel = null;
-        if (lchannel == null) {
-            return;
-        }
-        if (force) {
-            lchannel.shutdownNow();
-        } else {
-            boolean isTerminated = false;
 
-            try {
-                isTerminated = lchannel.shutdown().awaitTermination(3, TimeUnit.SECONDS);
-            } catch (Exception e) {
-                logger.debug(e); //best effort
-            }
-            if (!isTerminated) {
-                lchannel.shutdownNow();
+        if (broadcastStreams != null) {
+            synchronized (broadcastStreams) {
+                for (int i = 0; i < broadcastStreams.length; ++i) {
+                    BroadcastStream stream = broadcastStreams[i];
+                    broadcastStreams[i] = null;
+                    if (stream != null) {
+                        stream.close(new TransactionException(format("Channel %s orderer %s client was shutdown.", channelName, name)), !force);
+                    }
+                }
             }
         }
+
+        managedChannel = null;
+        channelLease.release(force); // only shuts down the channel if no other service is using it.
     }
 
     @Override
@@ -114,105 +170,117 @@ class OrdererClient {
     }
 
     Ab.BroadcastResponse sendTransaction(Common.Envelope envelope) throws Exception {
-        StreamObserver<Common.Envelope> nso = null;
 
-        if (shutdown) {
-            throw new TransactionException("Orderer client is shutdown");
+        try {
+            return sendTransactionAsync(envelope).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
         }
+    }
 
-        ManagedChannel lmanagedChannel = managedChannel;
-
-        if (lmanagedChannel == null || lmanagedChannel.isTerminated() || lmanagedChannel.isShutdown()) {
+    /**
+     * Send a transaction to the orderer without blocking the calling thread.
+     *
+     * @param envelope the transaction envelope.
+     * @return future completed with the orderer's successful response, or exceptionally with a
+     * {@link TransactionException} on failure status, stream error or timeout.
+     */
+    CompletableFuture<Ab.BroadcastResponse> sendTransactionAsync(Common.Envelope envelope) {
 
-            lmanagedChannel = channelBuilder.build();
-            managedChannel = lmanagedChannel;
+        final CompletableFuture<Ab.BroadcastResponse> ret = new CompletableFuture<>();
 
+        if (shutdown) {
+            ret.completeExceptionally(new TransactionException("Orderer client is shutdown"));
+            return ret;
         }
 
+        final boolean streaming = broadcastStreams != null;
+        final BroadcastStream stream;
         try {
-            final CountDownLatch finishLatch = new CountDownLatch(1);
-            AtomicBroadcastGrpc.AtomicBroadcastStub broadcast = AtomicBroadcastGrpc.newStub(lmanagedChannel);
+            stream = streaming ? getBroadcastStream() : new BroadcastStream(getManagedChannel());
+        } catch (Exception e) {
+            if (!streaming) {
+                managedChannel = null;
+            }
+            ret.completeExceptionally(e);
+            return ret;
+        }
 
-            final Ab.BroadcastResponse[] ret = new Ab.BroadcastResponse[1];
-            final Throwable[] throwable = new Throwable[] {null};
+        final ScheduledFuture<?> timeout = TimeoutScheduler.schedule(() -> {
+            TransactionException ste = new TransactionException(format("Channel %s, send transactions failed on orderer %s. Reason:  timeout after %d ms.",
+                    channelName, name, ordererWaitTimeMilliSecs));
+            if (ret.completeExceptionally(ste)) {
+                logger.error("sendTransaction error " + ste.getMessage(), ste);
+                // Responses come back in order so everything queued behind this one is late too. Start over with a new stream.
+                stream.close(ste, false);
+                if (!streaming) {
+                    managedChannel = null;
+                }
+            }
+        }, ordererWaitTimeMilliSecs);
 
-            StreamObserver<Ab.BroadcastResponse> so = new StreamObserver<Ab.BroadcastResponse>() {
-                @Override
-                public void onNext(Ab.BroadcastResponse resp) {
-                    // logger.info("Got Broadcast response: " + resp);
-                    logger.debug("resp status value: " + resp.getStatusValue() + ", resp: " + resp.getStatus());
-                    if (resp.getStatus() == Common.Status.SUCCESS) {
-                        ret[0] = resp;
-                    } else {
-                        throwable[0] = new TransactionException(format("Channel %s orderer %s status returned failure code %d (%s) during order registration",
-                                channelName, name, resp.getStatusValue(), resp.getStatus().name()));
-                    }
-                    finishLatch.countDown();
+        stream.send(envelope).whenComplete((resp, throwable) -> {
+            timeout.cancel(false);
 
-                }
+            if (!streaming) {
+                stream.close(null, true);
+            }
 
-                @Override
-                public void onError(Throwable t) {
-                    if (!shutdown) {
-                        logger.error(format("Received error on channel %s, orderer %s, url %s, %s",
-                                channelName, name, url, t.getMessage()), t);
-                    }
-                    throwable[0] = t;
-                    finishLatch.countDown();
-                }
+            if (throwable == null) {
+                logger.debug("Done waiting for reply! Got:" + resp);
+                ret.complete(resp);
+                return;
+            }
 
-                @Override
-                public void onCompleted() {
-                    finishLatch.countDown();
+            //get full stack trace
+            TransactionException ste = new TransactionException(format("Channel %s, send transaction failed on orderer %s. Reason: %s",
+                    channelName, name, throwable.getMessage()), throwable);
+            if (ret.completeExceptionally(ste)) {
+                logger.error("sendTransaction error " + ste.getMessage(), ste);
+                if (!streaming) {
+                    managedChannel = null;
                 }
-            };
+            }
+        });
 
-            nso = broadcast.broadcast(so);
+        return ret;
+    }
 
-            nso.onNext(envelope);
+    private BroadcastStream getBroadcastStream() throws TransactionException {
 
-            try {
-                if (!finishLatch.await(ordererWaitTimeMilliSecs, TimeUnit.MILLISECONDS)) {
-                    TransactionException ste = new TransactionException(format("Channel %s, send transactions failed on orderer %s. Reason:  timeout after %d ms.",
-                            channelName, name, ordererWaitTimeMilliSecs));
-                    logger.error("sendTransaction error " + ste.getMessage(), ste);
-                    throw ste;
-                }
-                if (throwable[0] != null) {
-                    //get full stack trace
-                    TransactionException ste = new TransactionException(format("Channel %s, send transaction failed on orderer %s. Reason: %s",
-                            channelName, name, throwable[0].getMessage()), throwable[0]);
-                    logger.error("sendTransaction error " + ste.getMessage(), ste);
-                    throw ste;
-                }
-                logger.debug("Done waiting for reply! Got:" + ret[0]);
+        final int index = (nextBroadcastStream.getAndIncrement() & Integer.MAX_VALUE) % broadcastStreams.length;
 
-            } catch (InterruptedException e) {
-                logger.error(e);
+        synchronized (broadcastStreams) {
 
+            if (shutdown) {
+                throw new TransactionException("Orderer client is shutdown");
             }
 
-            return ret[0];
-        } catch (Throwable t) {
-            managedChannel = null;
-            throw t;
-
-        } finally {
+            BroadcastStream stream = broadcastStreams[index];
 
-            if (null != nso) {
-
-                try {
-                    nso.onCompleted();
-                } catch (Exception e) {  //Best effort only report on debug
-                    logger.debug(format("Exception completing sendTransaction with channel %s,  name %s, url %s %s",
-                            channelName, name, url, e.getMessage()), e);
-                }
+            if (stream == null || stream.isDone()) {
+                logger.debug(format("Channel %s orderer %s opening broadcast stream %d", channelName, name, index));
+                stream = new BroadcastStream(getManagedChannel());
+                broadcastStreams[index] = stream;
             }
 
+            return stream;
         }
     }
 
-    DeliverResponse[] sendDeliver(Common.Envelope envelope) throws TransactionException {
+    /**
+     * Deliver from the orderer. The stream is opened while the envelope is still being signed and the envelope is sent
+     * as soon as its signature is ready; the orderer wait time covers both.
+     *
+     * @param envelope future completed with the signed seek envelope.
+     * @return the responses, the status first.
+     * @throws TransactionException if signing or delivering fails.
+     */
+    DeliverResponse[] sendDeliver(CompletableFuture<Common.Envelope> envelope) throws TransactionException {
 
         if (shutdown) {
             throw new TransactionException("Orderer client is shutdown");
@@ -220,14 +288,7 @@ class OrdererClient {
 
         StreamObserver<Common.Envelope> nso = null;
 
-        ManagedChannel lmanagedChannel = managedChannel;
-
-        if (lmanagedChannel == null || lmanagedChannel.isTerminated() || lmanagedChannel.isShutdown()) {
-
-            lmanagedChannel = channelBuilder.build();
-            managedChannel = lmanagedChannel;
-
-        }
+        ManagedChannel lmanagedChannel = getManagedChannel();
 
         try {
 
@@ -281,7 +342,21 @@ class OrdererClient {
             };
 
             nso = broadcast.deliver(so);
-            nso.onNext(envelope);
+            final StreamObserver<Common.Envelope> lnso = nso;
+            envelope.whenComplete((signed, t) -> {
+                if (t != null) {
+                    throwableList.add(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+                    finishLatch.countDown();
+                    return;
+                }
+                synchronized (lnso) {
+                    try {
+                        lnso.onNext(signed);
+                    } catch (RuntimeException e) { // Completed already because the wait timed out.
+                        logger.debug(format("Could not send deliver on channel %s, orderer %s: %s", channelName, name, e.getMessage()), e);
+                    }
+                }
+            });
             //nso.onCompleted();
 
             try {
@@ -314,7 +389,9 @@ class OrdererClient {
             if (null != nso) {
 
                 try {
-                    nso.onCompleted();
+                    synchronized (nso) {
+                        nso.onCompleted();
+                    }
                 } catch (Exception e) {  //Best effort only report on debug
                     logger.debug(format("Exception completing sendDeliver with channel %s,  name %s, url %s %s",
                             channelName, name, url, e.getMessage()), e);
@@ -328,4 +405,142 @@ class OrdererClient {
         ManagedChannel lchannel = managedChannel;
         return lchannel != null && !lchannel.isShutdown() && !lchannel.isTerminated();
     }
+
+    /**
+     * A broadcast stream to the orderer. Streams may stay open for many transactions; the orderer replies on a stream in the
+     * same order envelopes were sent so each reply completes the oldest outstanding request. Envelopes are written only
+     * while gRPC reports the stream ready, the rest wait here, and at most broadcastMaxInFlight may be outstanding.
+     */
+    private class BroadcastStream implements ClientResponseObserver<Common.Envelope, Ab.BroadcastResponse> {
+        private final Queue<CompletableFuture<Ab.BroadcastResponse>> pending = new ArrayDeque<>(); // guarded by this
+        private final Queue<Common.Envelope> unsent = new ArrayDeque<>(); // guarded by this
+        private ClientCallStreamObserver<Common.Envelope> nso;
+        private volatile boolean done = false;
+
+        BroadcastStream(ManagedChannel lmanagedChannel) {
+            AtomicBroadcastGrpc.newStub(lmanagedChannel).broadcast(this); // calls beforeStart
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<Common.Envelope> requestStream) {
+            nso = requestStream;
+            requestStream.setOnReadyHandler(this::flush);
+        }
+
+        boolean isDone() {
+            return done;
+        }
+
+        synchronized CompletableFuture<Ab.BroadcastResponse> send(Common.Envelope envelope) {
+
+            CompletableFuture<Ab.BroadcastResponse> future = new CompletableFuture<>();
+
+            if (done) {
+                future.completeExceptionally(new TransactionException(format("Channel %s orderer %s broadcast stream is closed.", channelName, name)));
+                return future;
+            }
+
+            if (pending.size() >= broadcastMaxInFlight) {
+                future.completeExceptionally(new TransactionException(format("Channel %s orderer %s broadcast stream has %d transactions in flight.",
+                        channelName, name, pending.size())));
+                return future;
+            }
+
+            pending.add(future);
+            unsent.add(envelope);
+            flush();
+
+            return future;
+        }
+
+        // Write waiting envelopes for as long as gRPC can take them without buffering.
+        private synchronized void flush() {
+            while (!done && !unsent.isEmpty() && nso.isReady()) {
+                try {
+                    nso.onNext(unsent.poll());
+                } catch (Exception e) {
+                    close(e, false);
+                }
+            }
+        }
+
+        @Override
+        public void onNext(Ab.BroadcastResponse resp) {
+            logger.debug("resp status value: " + resp.getStatusValue() + ", resp: " + resp.getStatus());
+
+            final CompletableFuture<Ab.BroadcastResponse> future;
+            synchronized (this) {
+                future = pending.poll();
+            }
+
+            if (future == null) {
+                logger.warn(format("Channel %s orderer %s sent broadcast response with no outstanding request.", channelName, name));
+                return;
+            }
+
+            if (resp.getStatus() == Common.Status.SUCCESS) {
+                future.complete(resp);
+            } else {
+                future.completeExceptionally(new TransactionException(format("Channel %s orderer %s status returned failure code %d (%s) during order registration",
+                        channelName, name, resp.getStatusValue(), resp.getStatus().name())));
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!shutdown) {
+                logger.error(format("Received error on channel %s, orderer %s, url %s, %s",
+                        channelName, name, url, t.getMessage()), t);
+            }
+            failPending(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            failPending(new TransactionException(format("Channel %s orderer %s completed the broadcast stream.", channelName, name)));
+        }
+
+        /**
+         * Close the stream failing anything still outstanding.
+         *
+         * @param t        reason given to outstanding requests, null if none are expected.
+         * @param graceful half close the stream rather than cancel it.
+         */
+        void close(Throwable t, boolean graceful) {
+            if (!failPending(t)) {
+                return;
+            }
+
+            try {
+                if (graceful || t == null) {
+                    nso.onCompleted();
+                } else {
+                    nso.onError(t);
+                }
+            } catch (Exception e) {  //Best effort only report on debug
+                logger.debug(format("Exception closing broadcast stream with channel %s,  name %s, url %s %s",
+                        channelName, name, url, e.getMessage()), e);
+            }
+        }
+
+        private boolean failPending(Throwable t) {
+            final List<CompletableFuture<Ab.BroadcastResponse>> failed;
+            synchronized (this) {
+                if (done) {
+                    return false;
+                }
+                done = true;
+                failed = new ArrayList<>(pending);
+                pending.clear();
+                unsent.clear();
+            }
+
+            for (CompletableFuture<Ab.BroadcastResponse> future : failed) {
+                future.completeExceptionally(t != null ? t
+                        : new TransactionException(format("Channel %s orderer %s broadcast stream is closed.", channelName, name)));
+            }
+
+            return true;
+        }
+    }
 }
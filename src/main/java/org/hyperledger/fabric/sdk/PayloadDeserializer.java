@@ -25,10 +25,13 @@ import org.hyperledger.fabric.sdk.exception.InvalidProtocolBufferRuntimeExceptio
 
 class PayloadDeserializer {
     private final ByteString byteString;
+    protected final boolean retain; // hold what's decoded strongly
     private WeakReference<Payload> payload;
+    private WeakReference<HeaderDeserializer> header;
 
-    PayloadDeserializer(ByteString byteString) {
+    PayloadDeserializer(ByteString byteString, boolean retain) {
         this.byteString = byteString;
+        this.retain = retain;
     }
 
     Payload getPayload() {
@@ -41,11 +44,11 @@ class PayloadDeserializer {
         if (ret == null) {
 
             try {
-                ret = Payload.parseFrom(byteString);
+                ret = DeserializerUtils.parseAliased(Payload.parser(), byteString);
             } catch (InvalidProtocolBufferException e) {
                 throw new InvalidProtocolBufferRuntimeException(e);
             }
-            payload = new WeakReference<>(ret);
+            payload = DeserializerUtils.reference(ret, retain);
 
         }
 
@@ -53,8 +56,17 @@ class PayloadDeserializer {
     }
 
     HeaderDeserializer getHeader() {
+        HeaderDeserializer ret = null;
 
-        return new HeaderDeserializer(getPayload().getHeader());
+        if (header != null) {
+            ret = header.get();
+        }
+        if (ret == null) {
+            ret = new HeaderDeserializer(getPayload().getHeader(), retain);
+            header = DeserializerUtils.reference(ret, retain);
+        }
+
+        return ret;
 
     }
 
@@ -74,7 +86,7 @@ class PayloadDeserializer {
 ////            String ho = Hex.encodeHexString(bdb.toByteArray());
 ////            System.out.println(ho);
 //
-////        TransactionDeserializer ts = new TransactionDeserializer(getPayload().getData());
+////        TransactionDeserializer ts = new TransactionDeserializer(getPayload().getData(), retain);
 ////
 ////        for (TransactionActionDeserializer transactionActionDeserialize : ts.getTransactionActions()) {
 ////
@@ -18,9 +18,13 @@ import java.io.Serializable;
 import java.util.EnumSet;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutorService;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import io.netty.util.internal.StringUtil;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -40,6 +44,12 @@ import static org.hyperledger.fabric.sdk.helper.Utils.checkGrpcUrl;
  */
 public class Peer implements Serializable {
 
+    /**
+     * Property holding the MSP ID of the organization the peer belongs to. Used to select the peers that can
+     * satisfy a chaincode endorsement policy.
+     */
+    public static final String PEER_ORGANIZATION_MSPID_PROPERTY = "org.hyperledger.fabric.sdk.peer.organization_mspid";
+
     private static final Log logger = LogFactory.getLog(Peer.class);
     private static final long serialVersionUID = -5273194649991828876L;
     private final Properties properties;
@@ -51,6 +61,7 @@ public class Peer implements Serializable {
     private Channel channel;
     private String channelName;
     private transient TransactionContext transactionContext;
+    private transient volatile PeerStatistics statistics;
 
     Peer(String name, String grpcURL, Properties properties) throws InvalidArgumentException {
 
@@ -91,6 +102,31 @@ public class Peer implements Serializable {
         return properties == null ? null : (Properties) properties.clone();
     }
 
+    /**
+     * The MSP ID of the organization the peer belongs to if known.
+     *
+     * @return the MSP ID or null.
+     * @see #PEER_ORGANIZATION_MSPID_PROPERTY
+     */
+    String getOrganizationMSPID() {
+
+        return properties == null ? null : properties.getProperty(PEER_ORGANIZATION_MSPID_PROPERTY);
+    }
+
+    PeerStatistics getStatistics() {
+        PeerStatistics ret = statistics;
+        if (ret == null) {
+            synchronized (this) {
+                ret = statistics;
+                if (ret == null) {
+                    ret = new PeerStatistics();
+                    statistics = ret;
+                }
+            }
+        }
+        return ret;
+    }
+
     void unsetChannel() {
         channel = null;
         channelName = null;
@@ -109,7 +145,7 @@ public class Peer implements Serializable {
             //PeerEventServiceClient(Peer peer, ManagedChannelBuilder<?> channelBuilder, Properties properties)
             //   peerEventingClient = new PeerEventServiceClient(this, new HashSet<Channel>(Arrays.asList(new Channel[] {channel})));
 
-            peerEventingClient = new PeerEventServiceClient(this, new Endpoint(url, properties), properties, peersOptions);
+            peerEventingClient = new PeerEventServiceClient(this, new Endpoint(url, properties), acquireManagedChannel(), properties, peersOptions);
 
             peerEventingClient.connect(transactionContext);
 
@@ -189,19 +225,34 @@ public class Peer implements Serializable {
 
         logger.debug(format("peer.sendProposalAsync name: %s, url: %s", name, url));
 
-        EndorserClient localEndorserClient = endorserClent; //work off thread local copy.
-
-        if (null == localEndorserClient || !localEndorserClient.isChannelActive()) {
-            endorserClent = new EndorserClient(new Endpoint(url, properties).getChannelBuilder());
-            localEndorserClient = endorserClent;
-        }
+        final EndorserClient localEndorserClient = getEndorserClient();
 
+        final PeerStatistics peerStatistics = getStatistics();
+        final long start = System.nanoTime();
+        ListenableFuture<FabricProposalResponse.ProposalResponse> future;
         try {
-            return localEndorserClient.sendProposalAsync(proposal);
+            future = localEndorserClient.sendProposalAsync(proposal);
         } catch (Throwable t) {
-            endorserClent = null;
+            dropEndorserClient(localEndorserClient);
+            peerStatistics.failure();
             throw t;
         }
+
+        Futures.addCallback(future, new FutureCallback<FabricProposalResponse.ProposalResponse>() {
+            @Override
+            public void onSuccess(FabricProposalResponse.ProposalResponse result) {
+                peerStatistics.success(System.nanoTime() - start);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                if (!(t instanceof CancellationException)) { // we lost interest, not the peer's fault.
+                    peerStatistics.failure();
+                }
+            }
+        }, MoreExecutors.directExecutor());
+
+        return future;
     }
 
     FabricProposalResponse.ProposalResponse sendProposal(FabricProposal.SignedProposal proposal)
@@ -210,21 +261,61 @@ public class Peer implements Serializable {
 
         logger.debug(format("peer.sendProposalAsync name: %s, url: %s", name, url));
 
-        EndorserClient localEndorserClient = endorserClent; //work off thread local copy.
-
-        if (null == localEndorserClient || !localEndorserClient.isChannelActive()) {
-            endorserClent = new EndorserClient(new Endpoint(url, properties).getChannelBuilder());
-            localEndorserClient = endorserClent;
-        }
+        final EndorserClient localEndorserClient = getEndorserClient();
 
         try {
             return localEndorserClient.sendProposal(proposal);
         } catch (Throwable t) {
-            endorserClent = null;
+            dropEndorserClient(localEndorserClient);
             throw t;
         }
     }
 
+    /**
+     * The endorser client, created under the peer's lock so racing callers share one lease.
+     */
+    private EndorserClient getEndorserClient() throws PeerException {
+        EndorserClient ret = endorserClent; //work off thread local copy.
+
+        if (null == ret || !ret.isChannelActive()) {
+            synchronized (this) {
+                if (shutdown) {
+                    throw new PeerException(format("Peer %s was shutdown.", name));
+                }
+                ret = endorserClent;
+                if (null == ret || !ret.isChannelActive()) {
+                    ret = new EndorserClient(acquireManagedChannel());
+                    endorserClent = ret;
+                }
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Stop using a client that failed and release its lease so the next call gets a new one.
+     */
+    private void dropEndorserClient(EndorserClient client) {
+        synchronized (this) {
+            if (endorserClent == client) {
+                endorserClent = null;
+            }
+        }
+        client.shutdown(false);
+    }
+
+    /**
+     * Lease a gRPC channel to the peer, shared with other services on the same endpoint when the peer is on a channel.
+     */
+    ManagedChannelPool.Lease acquireManagedChannel() {
+        final Channel lchannel = channel;
+        if (lchannel == null) {
+            return ManagedChannelPool.unpooled(new Endpoint(url, properties).getChannelBuilder());
+        }
+        return lchannel.acquireManagedChannel(url, properties);
+    }
+
     private void checkSendProposal(FabricProposal.SignedProposal proposal) throws PeerException, InvalidArgumentException {
 
         if (shutdown) {
@@ -305,13 +396,14 @@ public class Peer implements Serializable {
                 logger.debug(t);
 
                 PeerEventServiceClient lpeerEventingClient = new PeerEventServiceClient(this,
-                        new Endpoint(url, properties), properties, failedPeerEventServiceClient.getPeerOptions());
+                        new Endpoint(url, properties), acquireManagedChannel(), properties, failedPeerEventServiceClient.getPeerOptions());
 
                 try {
                     lpeerEventingClient.connect(fltransactionContext);
                     if (lpeerEventingClient.isChannelActive()) {
                         logger.info(format("Channel %s PeerEventing Service %s reconnected to url %s ", channelName, name, url));
                         peerEventingClient = lpeerEventingClient;
+                        failedPeerEventServiceClient.shutdown(true); // give up its channel lease.
 
                     }
 
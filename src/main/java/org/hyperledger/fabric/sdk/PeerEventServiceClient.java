@@ -19,12 +19,15 @@ package org.hyperledger.fabric.sdk;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import io.grpc.CallOptions;
 import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
+import io.grpc.stub.ClientCalls;
 import io.grpc.stub.StreamObserver;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -32,10 +35,8 @@ import org.hyperledger.fabric.protos.common.Common;
 import org.hyperledger.fabric.protos.common.Common.Envelope;
 import org.hyperledger.fabric.protos.orderer.Ab;
 import org.hyperledger.fabric.protos.orderer.Ab.SeekInfo;
-import org.hyperledger.fabric.protos.peer.DeliverGrpc;
 import org.hyperledger.fabric.protos.peer.PeerEvents.DeliverResponse;
 import org.hyperledger.fabric.sdk.Channel.PeerOptions;
-import org.hyperledger.fabric.sdk.exception.CryptoException;
 import org.hyperledger.fabric.sdk.exception.TransactionException;
 import org.hyperledger.fabric.sdk.helper.Config;
 import org.hyperledger.fabric.sdk.transaction.TransactionContext;
@@ -44,7 +45,7 @@ import static java.lang.String.format;
 import static org.hyperledger.fabric.protos.peer.PeerEvents.DeliverResponse.TypeCase.BLOCK;
 import static org.hyperledger.fabric.protos.peer.PeerEvents.DeliverResponse.TypeCase.FILTERED_BLOCK;
 import static org.hyperledger.fabric.protos.peer.PeerEvents.DeliverResponse.TypeCase.STATUS;
-import static org.hyperledger.fabric.sdk.transaction.ProtoUtils.createSeekInfoEnvelope;
+import static org.hyperledger.fabric.sdk.transaction.ProtoUtils.createSeekInfoEnvelopeAsync;
 
 /**
  * Sample client code that makes gRPC calls to the server.
@@ -54,7 +55,7 @@ class PeerEventServiceClient {
     private static final long PEER_EVENT_REGISTRATION_WAIT_TIME = config.getPeerEventRegistrationWaitTime();
     private static final Log logger = LogFactory.getLog(PeerEventServiceClient.class);
     private final String channelName;
-    private final ManagedChannelBuilder channelBuilder;
+    private final ManagedChannelPool.Lease channelLease;
     private final String name;
     private final String url;
     private final long peerEventRegistrationWaitTimeMilliSecs;
@@ -72,11 +73,13 @@ class PeerEventServiceClient {
     private transient Peer peer;
 
     /**
-     * Construct client for accessing Peer eventing service using the existing managedChannel.
+     * Construct client for accessing Peer eventing service using a leased managedChannel.
+     *
+     * @param channelLease lease on the channel to the peer, released on shutdown.
      */
-    PeerEventServiceClient(Peer peer, Endpoint endpoint, Properties properties, PeerOptions peerOptions) {
+    PeerEventServiceClient(Peer peer, Endpoint endpoint, ManagedChannelPool.Lease channelLease, Properties properties, PeerOptions peerOptions) {
 
-        this.channelBuilder = endpoint.getChannelBuilder();
+        this.channelLease = channelLease;
         this.filterBlock = peerOptions.isRegisterEventsForFilteredBlocks();
         this.peer = peer;
         name = peer.getName();
@@ -130,25 +133,8 @@ class PeerEventServiceClient {
             }
         }
 
-        ManagedChannel lchannel = managedChannel;
         managedChannel = null;
-        if (lchannel != null) {
-
-            if (force) {
-                lchannel.shutdownNow();
-            } else {
-                boolean isTerminated = false;
-
-                try {
-                    isTerminated = lchannel.shutdown().awaitTermination(3, TimeUnit.SECONDS);
-                } catch (Exception e) {
-                    logger.debug(e); //best effort
-                }
-                if (!isTerminated) {
-                    lchannel.shutdownNow();
-                }
-            }
-        }
+        channelLease.release(force); // only shuts down the channel if no other service is using it.
         peer = null;
         channelEventQue = null;
 
@@ -159,25 +145,25 @@ class PeerEventServiceClient {
         shutdown(true);
     }
 
-    DeliverResponse[] connectEnvelope(Envelope envelope) throws TransactionException {
+    /**
+     * Connect to the peer's deliver service. The stream is opened while the envelope is still being signed and the
+     * envelope is sent as soon as its signature is ready; the registration wait time covers both.
+     *
+     * @param envelope future completed with the signed seek envelope.
+     * @return the responses, the status first.
+     * @throws TransactionException if signing or connecting fails.
+     */
+    DeliverResponse[] connectEnvelope(CompletableFuture<Envelope> envelope) throws TransactionException {
 
         if (shutdown) {
             throw new TransactionException("Peer eventing client is shutdown");
         }
 
-        ManagedChannel lmanagedChannel = managedChannel;
-
-        if (lmanagedChannel == null || lmanagedChannel.isTerminated() || lmanagedChannel.isShutdown()) {
-
-            lmanagedChannel = channelBuilder.build();
-            managedChannel = lmanagedChannel;
-
-        }
+        ManagedChannel lmanagedChannel = channelLease.getChannel(); // lease replaces channels that were shutdown.
+        managedChannel = lmanagedChannel;
 
         try {
 
-            DeliverGrpc.DeliverStub broadcast = DeliverGrpc.newStub(lmanagedChannel);
-
             // final DeliverResponse[] ret = new DeliverResponse[1];
             final List<DeliverResponse> retList = new ArrayList<>();
             final List<Throwable> throwableList = new ArrayList<>();
@@ -268,9 +254,25 @@ class PeerEventServiceClient {
                 }
             };
 
-            nso = filterBlock ? broadcast.deliverFiltered(so) : broadcast.deliver(so);
+            // Blocks are parsed without copying their envelopes, see DeliverResponseMarshaller.
+            nso = ClientCalls.asyncBidiStreamingCall(lmanagedChannel.newCall(
+                    filterBlock ? DeliverResponseMarshaller.DELIVER_FILTERED : DeliverResponseMarshaller.DELIVER, CallOptions.DEFAULT), so);
 
-            nso.onNext(envelope);
+            final StreamObserver<Envelope> lnso = nso;
+            envelope.whenComplete((signed, t) -> {
+                if (t != null) {
+                    throwableList.add(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+                    finishLatch.countDown();
+                    return;
+                }
+                synchronized (lnso) {
+                    try {
+                        lnso.onNext(signed);
+                    } catch (RuntimeException e) { // Completed already because the wait timed out.
+                        logger.debug(format("Could not send deliver on channel %s, peer %s: %s", channelName, name, e.getMessage()), e);
+                    }
+                }
+            });
             //nso.onCompleted();
 
             try {
@@ -300,10 +302,13 @@ class PeerEventServiceClient {
             throw t;
 
         } finally {
-            if (null != nso) {
+            final StreamObserver<Envelope> lnso = nso;
+            if (null != lnso) {
 
                 try {
-                    nso.onCompleted();
+                    synchronized (lnso) {
+                        lnso.onCompleted();
+                    }
                 } catch (Exception e) {  //Best effort only report on debug
                     logger.debug(format("Exception completing connect with channel %s,  name %s, url %s %s",
                             channelName, name, url, e.getMessage()), e);
@@ -329,32 +334,25 @@ class PeerEventServiceClient {
     // Peer eventing
     void peerVent(TransactionContext transactionContext) throws TransactionException {
 
-        final Envelope envelope;
-        try {
-
-            Ab.SeekPosition.Builder start = Ab.SeekPosition.newBuilder();
-            if (null != peerOptions.getNewest()) {
-                start.setNewest(Ab.SeekNewest.getDefaultInstance());
-            } else if (peerOptions.getStartEvents() != null) {
-                start.setSpecified(Ab.SeekSpecified.newBuilder().setNumber(peerOptions.getStartEvents()));
-            } else {
-                start.setNewest(Ab.SeekNewest.getDefaultInstance());
-            }
-
-            //   properties.
+        Ab.SeekPosition.Builder start = Ab.SeekPosition.newBuilder();
+        if (null != peerOptions.getNewest()) {
+            start.setNewest(Ab.SeekNewest.getDefaultInstance());
+        } else if (peerOptions.getStartEvents() != null) {
+            start.setSpecified(Ab.SeekSpecified.newBuilder().setNumber(peerOptions.getStartEvents()));
+        } else {
+            start.setNewest(Ab.SeekNewest.getDefaultInstance());
+        }
 
-            envelope = createSeekInfoEnvelope(transactionContext,
-                    start.build(),
-                    Ab.SeekPosition.newBuilder()
-                            .setSpecified(Ab.SeekSpecified.newBuilder().setNumber(peerOptions.getStopEvents()).build())
-                            .build(),
-                    SeekInfo.SeekBehavior.BLOCK_UNTIL_READY,
+        //   properties.
 
-                    clientTLSCertificateDigest);
-            connectEnvelope(envelope);
-        } catch (CryptoException e) {
-            throw new TransactionException(e);
-        }
+        connectEnvelope(createSeekInfoEnvelopeAsync(transactionContext, SeekInfo.newBuilder()
+                        .setStart(start.build())
+                        .setStop(Ab.SeekPosition.newBuilder()
+                                .setSpecified(Ab.SeekSpecified.newBuilder().setNumber(peerOptions.getStopEvents()).build())
+                                .build())
+                        .setBehavior(SeekInfo.SeekBehavior.BLOCK_UNTIL_READY)
+                        .build(),
+                clientTLSCertificateDigest));
 
     }
 
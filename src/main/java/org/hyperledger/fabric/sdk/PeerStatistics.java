@@ -0,0 +1,117 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+/**
+ * Live endorsement statistics for a peer used to prefer fast and healthy peers.
+ * Latency and error rate are exponentially weighted moving averages so the peer's recent behavior counts most.
+ * A latency histogram with exponentially growing buckets gives percentiles for hedging slow requests.
+ */
+final class PeerStatistics {
+
+    // Weight given to the newest sample.
+    private static final double WEIGHT = 0.2;
+    // Keep a peer that always fails from having an infinite cost.
+    private static final double MIN_SUCCESS_RATE = 0.05;
+
+    // Bucket i holds latencies up to FIRST_BUCKET_MILLISECS * BUCKET_GROWTH^i, the last one everything above.
+    private static final double FIRST_BUCKET_MILLISECS = 1.0;
+    private static final double BUCKET_GROWTH = 1.25;
+    private static final int BUCKETS = 50; // ~56 seconds
+    // Percentiles are not trusted until there are this many samples.
+    static final int MIN_PERCENTILE_SAMPLES = 10;
+    // Halve the histogram when it gets this big so old samples age out.
+    private static final int MAX_HISTOGRAM_SAMPLES = 1000;
+
+    private double latencyMilliSecs = 0;
+    private double errorRate = 0;
+    private long samples = 0;
+    private final int[] histogram = new int[BUCKETS];
+    private int histogramSamples = 0;
+
+    synchronized void success(long latencyNanos) {
+        final double latency = latencyNanos / 1_000_000.0;
+        latencyMilliSecs = samples == 0 ? latency : latencyMilliSecs + WEIGHT * (latency - latencyMilliSecs);
+        errorRate -= WEIGHT * errorRate;
+        ++samples;
+
+        if (histogramSamples >= MAX_HISTOGRAM_SAMPLES) {
+            histogramSamples = 0;
+            for (int i = 0; i < BUCKETS; ++i) {
+                histogram[i] /= 2;
+                histogramSamples += histogram[i];
+            }
+        }
+        ++histogram[bucket(latency)];
+        ++histogramSamples;
+    }
+
+    synchronized void failure() {
+        errorRate += WEIGHT * (1.0 - errorRate);
+        ++samples;
+    }
+
+    synchronized double getLatencyMilliSecs() {
+        return latencyMilliSecs;
+    }
+
+    synchronized double getErrorRate() {
+        return errorRate;
+    }
+
+    /**
+     * Latency percentile of successful requests.
+     *
+     * @param percentile between 0 and 100.
+     * @return upper bound of the latency in milliseconds or -1 if there are too few samples to tell.
+     */
+    synchronized long getLatencyPercentile(double percentile) {
+        if (histogramSamples < MIN_PERCENTILE_SAMPLES) {
+            return -1;
+        }
+
+        final double wanted = Math.min(100.0, Math.max(0.0, percentile)) * histogramSamples / 100.0;
+        int count = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            count += histogram[i];
+            if (count >= wanted && count > 0) {
+                return (long) Math.ceil(bucketLimit(i));
+            }
+        }
+        return (long) Math.ceil(bucketLimit(BUCKETS - 1));
+    }
+
+    private static int bucket(double latencyMilliSecs) {
+        if (latencyMilliSecs <= FIRST_BUCKET_MILLISECS) {
+            return 0;
+        }
+        final int ret = (int) Math.ceil(Math.log(latencyMilliSecs / FIRST_BUCKET_MILLISECS) / Math.log(BUCKET_GROWTH));
+        return Math.min(ret, BUCKETS - 1);
+    }
+
+    private static double bucketLimit(int bucket) {
+        return FIRST_BUCKET_MILLISECS * Math.pow(BUCKET_GROWTH, bucket);
+    }
+
+    /**
+     * Expected cost of getting an endorsement from the peer, lower is better.
+     * Peers never used cost nothing so they get tried.
+     *
+     * @return the cost.
+     */
+    synchronized double getCost() {
+        return latencyMilliSecs / Math.max(MIN_SUCCESS_RATE, 1.0 - errorRate);
+    }
+}
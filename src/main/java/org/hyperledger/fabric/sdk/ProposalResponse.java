@@ -6,6 +6,9 @@
 package org.hyperledger.fabric.sdk;
 
 import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.xml.bind.DatatypeConverter;
 
@@ -15,12 +18,10 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.hyperledger.fabric.protos.common.Common;
 import org.hyperledger.fabric.protos.common.Common.Header;
-import org.hyperledger.fabric.protos.ledger.rwset.Rwset.TxReadWriteSet;
 import org.hyperledger.fabric.protos.msp.Identities;
 import org.hyperledger.fabric.protos.peer.FabricProposal;
 import org.hyperledger.fabric.protos.peer.FabricProposal.ChaincodeHeaderExtension;
 import org.hyperledger.fabric.protos.peer.FabricProposalResponse;
-import org.hyperledger.fabric.sdk.exception.CryptoException;
 import org.hyperledger.fabric.sdk.exception.InvalidArgumentException;
 import org.hyperledger.fabric.sdk.exception.ProposalException;
 import org.hyperledger.fabric.sdk.helper.Config;
@@ -63,7 +64,7 @@ public class ProposalResponse extends ChaincodeResponse {
         if (ret == null) {
 
             try {
-                ret = new ProposalResponsePayloadDeserializer(proposalResponse.getPayload());
+                ret = new ProposalResponsePayloadDeserializer(proposalResponse.getPayload(), false);
             } catch (Exception e) {
                 throw new InvalidArgumentException(e);
             }
@@ -101,9 +102,20 @@ public class ProposalResponse extends ChaincodeResponse {
             return isVerified();
         }
 
-        if (isInvalid()) {
-            this.isVerified = false;
-        }
+        CryptoSuite.Verification verification = getVerification();
+
+        this.isVerified = verification != null && verification.verify(crypto);
+
+        return this.isVerified;
+    } // verify
+
+    /**
+     * The endorsement signature to verify. The signed payload and endorser are passed as segments of the
+     * response's byte strings so they are not copied.
+     *
+     * @return the verification or null if the endorser can't be parsed.
+     */
+    CryptoSuite.Verification getVerification() {
 
         FabricProposalResponse.Endorsement endorsement = this.proposalResponse.getEndorsement();
         ByteString sig = endorsement.getSignature();
@@ -111,11 +123,11 @@ public class ProposalResponse extends ChaincodeResponse {
         try {
             Identities.SerializedIdentity endorser = Identities.SerializedIdentity
                     .parseFrom(endorsement.getEndorser());
-            ByteString plainText = proposalResponse.getPayload().concat(endorsement.getEndorser());
 
             if (config.extraLogLevel(10)) {
 
                 if (null != diagnosticFileDumper) {
+                    ByteString plainText = proposalResponse.getPayload().concat(endorsement.getEndorser());
                     StringBuilder sb = new StringBuilder(10000);
                     sb.append("payload TransactionBuilderbytes in hex: " + DatatypeConverter.printHexBinary(proposalResponse.getPayload().toByteArray()));
                     sb.append("\n");
@@ -130,16 +142,20 @@ public class ProposalResponse extends ChaincodeResponse {
 
             }
 
-            this.isVerified = crypto.verify(endorser.getIdBytes().toByteArray(), config.getSignatureAlgorithm(),
-                    sig.toByteArray(), plainText.toByteArray()
-            );
-        } catch (InvalidProtocolBufferException | CryptoException e) {
+            List<ByteBuffer> plainText = new ArrayList<>(proposalResponse.getPayload().asReadOnlyByteBufferList());
+            plainText.addAll(endorsement.getEndorser().asReadOnlyByteBufferList());
+
+            return new CryptoSuite.Verification(endorser.getIdBytes().toByteArray(), config.getSignatureAlgorithm(),
+                    sig.toByteArray(), plainText);
+        } catch (InvalidProtocolBufferException e) {
             logger.error("verify: Cannot retrieve peer identity from ProposalResponse. Error is: " + e.getMessage(), e);
-            this.isVerified = false;
+            return null;
         }
+    }
 
-        return this.isVerified;
-    } // verify
+    void setVerified(boolean isVerified) {
+        this.isVerified = isVerified;
+    }
 
     public FabricProposal.Proposal getProposal() {
         return proposal;
@@ -283,13 +299,7 @@ public class ProposalResponse extends ChaincodeResponse {
 
             final ProposalResponsePayloadDeserializer proposalResponsePayloadDeserializer = getProposalResponsePayloadDeserializer();
 
-            TxReadWriteSet txReadWriteSet = proposalResponsePayloadDeserializer.getExtension().getResults();
-
-            if (txReadWriteSet == null) {
-                return null;
-            }
-
-            return new TxReadWriteSetInfo(txReadWriteSet);
+            return proposalResponsePayloadDeserializer.getExtension().getResultsInfo();
 
         } catch (Exception e) {
             throw new InvalidArgumentException(e);
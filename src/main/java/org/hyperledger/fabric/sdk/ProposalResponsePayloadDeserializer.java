@@ -26,11 +26,13 @@ import static org.hyperledger.fabric.protos.peer.FabricProposalResponse.Proposal
 
 class ProposalResponsePayloadDeserializer {
     private final ByteString byteString;
+    private final boolean retain;
     private WeakReference<ProposalResponsePayload> proposalResponsePayload;
     private WeakReference<ChaincodeActionDeserializer> chaincodeAction;
 
-    ProposalResponsePayloadDeserializer(ByteString byteString) {
+    ProposalResponsePayloadDeserializer(ByteString byteString, boolean retain) {
         this.byteString = byteString;
+        this.retain = retain;
     }
 
     ProposalResponsePayload getProposalResponsePayload() {
@@ -48,7 +50,7 @@ class ProposalResponsePayloadDeserializer {
                 throw new InvalidProtocolBufferRuntimeException(e);
             }
 
-            proposalResponsePayload = new WeakReference<>(ret);
+            proposalResponsePayload = DeserializerUtils.reference(ret, retain);
 
         }
 
@@ -66,9 +68,9 @@ class ProposalResponsePayloadDeserializer {
         }
         if (ret == null) {
 
-            ret = new ChaincodeActionDeserializer(getProposalResponsePayload().getExtension());
+            ret = new ChaincodeActionDeserializer(getProposalResponsePayload().getExtension(), retain);
 
-            chaincodeAction = new WeakReference<>(ret);
+            chaincodeAction = DeserializerUtils.reference(ret, retain);
 
         }
 
@@ -0,0 +1,138 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Decodes items in parallel and releases them in the order they were submitted. An item finished early waits
+ * until everything submitted before it has been released. At most window items are decoding or waiting;
+ * submitting more blocks until the oldest is released.
+ *
+ * @param <T> the item.
+ */
+final class ReorderBuffer<T> {
+    private static final Log logger = LogFactory.getLog(ReorderBuffer.class);
+
+    private final Executor decoder;
+    private final Consumer<T> decode;
+    private final Consumer<T> release;
+    private final Semaphore room;
+    private final Queue<Slot<T>> slots = new ArrayDeque<>(); // guarded by itself
+    private boolean releasing = false; // guarded by slots
+
+    /**
+     * @param decoder runs decode for each item.
+     * @param window  most items submitted but not yet released.
+     * @param decode  work done on the decoder. If it fails the item is still released.
+     * @param release called with each item in submit order, one at a time.
+     */
+    ReorderBuffer(Executor decoder, int window, Consumer<T> decode, Consumer<T> release) {
+        this.decoder = decoder;
+        this.decode = decode;
+        this.release = release;
+        this.room = new Semaphore(Math.max(1, window));
+    }
+
+    /**
+     * Start decoding the item, waiting for room if the window is full.
+     *
+     * @param item the item.
+     * @throws RejectedExecutionException if interrupted while waiting or the decoder rejects it.
+     */
+    void submit(T item) {
+        try {
+            room.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException(e);
+        }
+        final Slot<T> slot = new Slot<>(item);
+        synchronized (slots) {
+            slots.add(slot);
+        }
+        try {
+            decoder.execute(() -> {
+                try {
+                    decode.accept(item);
+                } catch (Throwable t) { // Listeners will see the same failure when they read it.
+                    logger.debug("Failed to decode ahead.", t);
+                }
+                done(slot);
+            });
+        } catch (RuntimeException e) {
+            done(slot); // Don't hold back the items after it.
+            throw e;
+        }
+    }
+
+    int getPending() {
+        synchronized (slots) {
+            return slots.size();
+        }
+    }
+
+    // Release calls run outside the lock, one thread at a time so they stay in order. A thread finishing an item while
+    // another is releasing leaves its items to that thread.
+    private void done(Slot<T> slot) {
+        slot.done = true;
+        final List<T> ready = new ArrayList<>();
+        synchronized (slots) {
+            if (releasing) {
+                return;
+            }
+            releasing = true;
+        }
+        while (true) {
+            synchronized (slots) {
+                while (!slots.isEmpty() && slots.peek().done) {
+                    ready.add(slots.poll().item);
+                    room.release();
+                }
+                if (ready.isEmpty()) {
+                    releasing = false;
+                    return;
+                }
+            }
+            for (T item : ready) {
+                try {
+                    release.accept(item);
+                } catch (Throwable t) { // Don't let one item stop the rest.
+                    logger.error("Failed to release item.", t);
+                }
+            }
+            ready.clear();
+        }
+    }
+
+    private static final class Slot<T> {
+        final T item;
+        volatile boolean done;
+
+        Slot(T item) {
+            this.item = item;
+        }
+    }
+}
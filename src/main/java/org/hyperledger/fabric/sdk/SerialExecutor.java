@@ -0,0 +1,128 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Runs tasks one at a time in the order they were submitted, on threads borrowed from another executor.
+ * Each listener gets its own so events reach it in order while different listeners run in parallel.
+ * At most capacity tasks wait; submitting more blocks until the listener catches up. With no capacity
+ * any number wait, for the channel's own listeners that must never hold up the thread submitting to them.
+ */
+final class SerialExecutor implements Executor {
+    private static final Log logger = LogFactory.getLog(SerialExecutor.class);
+
+    // Tasks run before giving the borrowed thread back so one busy listener doesn't hold it forever.
+    private static final int BATCH = 64;
+
+    private final Executor delegate;
+    private final Semaphore room; // null when unbounded
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * @param delegate runs the tasks.
+     * @param capacity most tasks waiting, zero or less for no limit.
+     */
+    SerialExecutor(Executor delegate, int capacity) {
+        this.delegate = delegate;
+        this.room = capacity > 0 ? new Semaphore(capacity) : null;
+    }
+
+    /**
+     * Queue the task, waiting for room if the queue is full.
+     *
+     * @param task the task.
+     * @throws RejectedExecutionException if interrupted while waiting or the delegate rejects it.
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (room != null) {
+            try {
+                room.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException(e);
+            }
+        }
+        tasks.add(task);
+        try {
+            schedule();
+        } catch (RuntimeException e) {
+            // Nothing will run it, don't leave it holding room. Unless a drain already took it.
+            if (tasks.remove(task)) {
+                release();
+            }
+            throw e;
+        }
+    }
+
+    int getQueued() {
+        return tasks.size();
+    }
+
+    private void schedule() {
+        if (running.compareAndSet(false, true)) {
+            try {
+                delegate.execute(this::drain);
+            } catch (RuntimeException e) {
+                running.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            for (int i = 0; i < BATCH; ++i) {
+                final Runnable task = tasks.poll();
+                if (task == null) {
+                    break;
+                }
+                release();
+                try {
+                    task.run();
+                } catch (Throwable t) { // Don't let one event stop the rest.
+                    logger.error("Listener failed to process event.", t);
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+        // Tasks added while finishing the batch would otherwise wait for the next submit.
+        if (!tasks.isEmpty()) {
+            try {
+                schedule();
+            } catch (RuntimeException e) { // They stay queued for the next submit to schedule.
+                logger.warn("Unable to schedule queued listener events.", e);
+            }
+        }
+    }
+
+    private void release() {
+        if (room != null) {
+            room.release();
+        }
+    }
+}
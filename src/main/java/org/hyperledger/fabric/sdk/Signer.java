@@ -0,0 +1,36 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Signs for an {@link Enrollment} whose private key is not available to the SDK, for example a key held in an HSM
+ * or by a remote signing service.
+ * <p>
+ * The SDK doesn't wait on the returned future where it can, so a signer may queue requests and sign them in
+ * batches or have several outstanding at once.
+ */
+public interface Signer {
+
+    /**
+     * Sign a message.
+     *
+     * @param message the bytes to sign.
+     * @return future completed with the signature the same as {@link org.hyperledger.fabric.sdk.security.CryptoSuite#sign}
+     * would return for the enrollment's key, or completed exceptionally if the message can't be signed.
+     */
+    CompletableFuture<byte[]> sign(byte[] message);
+}
@@ -0,0 +1,89 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Tracks the transactions a channel has in flight through {@link Channel#submitAsync(TransactionProposalRequest)}.
+ * Every stage runs on completion of the one before it, so no thread waits on peers, signers or orderers. The number
+ * of transactions in flight is bounded: submitting blocks while the pipeline is full, which pushes back on
+ * applications that submit faster than the network commits.
+ */
+final class SubmitPipeline {
+
+    /**
+     * The stages of a submitted transaction in order.
+     */
+    enum Stage {
+        ENDORSE, VALIDATE, SIGN, BROADCAST, COMMIT
+    }
+
+    private final int capacity;
+    private final Semaphore permits;
+    private final AtomicIntegerArray inStage = new AtomicIntegerArray(Stage.values().length);
+
+    SubmitPipeline(int capacity) {
+        this.capacity = capacity;
+        this.permits = new Semaphore(capacity, true);
+    }
+
+    /**
+     * Wait for room in the pipeline.
+     *
+     * @param timeout  how long to wait.
+     * @param timeUnit unit of the timeout.
+     * @return true if the transaction can be submitted, false if the pipeline stayed full.
+     * @throws InterruptedException
+     */
+    boolean enter(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        return permits.tryAcquire(timeout, timeUnit);
+    }
+
+    /**
+     * A submitted transaction has completed, successfully or not.
+     */
+    void exit() {
+        permits.release();
+    }
+
+    /**
+     * Count the future as being in a stage until it completes.
+     *
+     * @param stage  the stage.
+     * @param future the stage's work.
+     * @return future completed like the stage's work once it is no longer counted.
+     */
+    <T> CompletableFuture<T> stage(Stage stage, CompletableFuture<T> future) {
+        final int index = stage.ordinal();
+        inStage.incrementAndGet(index);
+        return future.whenComplete((result, t) -> inStage.decrementAndGet(index));
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    int getInFlight() {
+        return capacity - permits.availablePermits();
+    }
+
+    int getInFlight(Stage stage) {
+        return inStage.get(stage.ordinal());
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times out outstanding asynchronous requests so no thread has to wait on a remote service.
+ * Tasks must be short; they run on a single shared daemon thread.
+ */
+final class TimeoutScheduler {
+
+    private static final ScheduledThreadPoolExecutor SCHEDULER = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread t = Executors.defaultThreadFactory().newThread(r);
+        t.setDaemon(true);
+        return t;
+    });
+
+    static {
+        SCHEDULER.setRemoveOnCancelPolicy(true); // most timeouts are cancelled, don't keep them queued.
+    }
+
+    private TimeoutScheduler() {
+    }
+
+    /**
+     * Run a task after a delay.
+     *
+     * @param task          the task to run.
+     * @param delayMilliSec the delay in milliseconds.
+     * @return future to cancel the task.
+     */
+    static ScheduledFuture<?> schedule(Runnable task, long delayMilliSec) {
+        return SCHEDULER.schedule(task, delayMilliSec, TimeUnit.MILLISECONDS);
+    }
+}
@@ -25,16 +25,19 @@ import org.hyperledger.fabric.sdk.exception.InvalidProtocolBufferRuntimeExceptio
 
 class TransactionActionDeserializer {
     private final ByteString byteString;
+    private final boolean retain;
     private WeakReference<TransactionAction> transactionAction;
     private WeakReference<ChaincodeActionPayloadDeserializer> chaincodeActionPayloadDeserializer;
 
-    TransactionActionDeserializer(ByteString byteString) {
+    TransactionActionDeserializer(ByteString byteString, boolean retain) {
         this.byteString = byteString;
+        this.retain = retain;
     }
 
-    TransactionActionDeserializer(TransactionAction transactionAction) {
+    TransactionActionDeserializer(TransactionAction transactionAction, boolean retain) {
         byteString = transactionAction.toByteString();
-        this.transactionAction = new WeakReference<TransactionAction>(transactionAction);
+        this.retain = retain;
+        this.transactionAction = DeserializerUtils.reference(transactionAction, retain);
     }
 
     TransactionAction getTransactionAction() {
@@ -52,7 +55,7 @@ class TransactionActionDeserializer {
                 throw new InvalidProtocolBufferRuntimeException(e);
             }
 
-            transactionAction = new WeakReference<TransactionAction>(ret);
+            transactionAction = DeserializerUtils.reference(ret, retain);
         }
 
         return ret;
@@ -69,9 +72,9 @@ class TransactionActionDeserializer {
         }
         if (ret == null) {
 
-            ret = new ChaincodeActionPayloadDeserializer(getTransactionAction().getPayload());
+            ret = new ChaincodeActionPayloadDeserializer(getTransactionAction().getPayload(), retain);
 
-            chaincodeActionPayloadDeserializer = new WeakReference<ChaincodeActionPayloadDeserializer>(ret);
+            chaincodeActionPayloadDeserializer = DeserializerUtils.reference(ret, retain);
 
         }
 
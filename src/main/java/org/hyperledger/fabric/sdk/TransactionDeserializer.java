@@ -18,9 +18,9 @@ package org.hyperledger.fabric.sdk;
 
 import java.lang.ref.WeakReference;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.WeakHashMap;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
@@ -30,12 +30,14 @@ import static org.hyperledger.fabric.protos.peer.FabricTransaction.Transaction;
 
 class TransactionDeserializer {
     private final ByteString byteString;
+    private final boolean retain;
     private WeakReference<Transaction> transaction;
     private final Map<Integer, WeakReference<TransactionActionDeserializer>> transactionActions =
-            Collections.synchronizedMap(new WeakHashMap<Integer, WeakReference<TransactionActionDeserializer>>());
+            Collections.synchronizedMap(new HashMap<Integer, WeakReference<TransactionActionDeserializer>>());
 
-    TransactionDeserializer(ByteString byteString) {
+    TransactionDeserializer(ByteString byteString, boolean retain) {
         this.byteString = byteString;
+        this.retain = retain;
     }
 
     Transaction getTransaction() {
@@ -53,7 +55,7 @@ class TransactionDeserializer {
                 throw new InvalidProtocolBufferRuntimeException(e);
             }
 
-            transaction = new WeakReference<>(ret);
+            transaction = DeserializerUtils.reference(ret, retain);
 
         }
 
@@ -82,9 +84,9 @@ class TransactionDeserializer {
             }
         }
 
-        TransactionActionDeserializer transactionActionDeserialize = new TransactionActionDeserializer(transaction.getActions(index));
+        TransactionActionDeserializer transactionActionDeserialize = new TransactionActionDeserializer(transaction.getActions(index), retain);
 
-        transactionActions.put(index, new WeakReference<>(transactionActionDeserialize));
+        transactionActions.put(index, DeserializerUtils.reference(transactionActionDeserialize, retain));
 
         return transactionActionDeserialize;
 
@@ -24,9 +24,9 @@ class TransactionPayloadDeserializer extends PayloadDeserializer {
 
     private WeakReference<TransactionDeserializer> transactionDeserialize;
 
-    TransactionPayloadDeserializer(ByteString byteString) {
+    TransactionPayloadDeserializer(ByteString byteString, boolean retain) {
 
-        super(byteString);
+        super(byteString, retain);
     }
 
     TransactionDeserializer getTransaction() {
@@ -39,8 +39,8 @@ class TransactionPayloadDeserializer extends PayloadDeserializer {
         }
         if (ret == null) {
 
-            ret = new TransactionDeserializer(getPayload().getData());
-            transactionDeserialize = new WeakReference<>(ret);
+            ret = new TransactionDeserializer(getPayload().getData(), retain);
+            transactionDeserialize = DeserializerUtils.reference(ret, retain);
 
         }
 
@@ -54,6 +54,8 @@ public class TransactionRequest {
     private ChaincodeEndorsementPolicy endorsementPolicy = null;
     // The timeout for a single proposal request to endorser in milliseconds
     protected long proposalWaitTime = config.getProposalWaitTime();
+    // Latency percentile after which slow endorsements are hedged, zero for never.
+    private double proposalHedgePercentile = config.getProposalHedgePercentile();
 
     protected Map<String, byte[]> transientMap;
 
@@ -237,9 +239,12 @@ public class TransactionRequest {
     }
 
     /**
-     * sets the endorsementPolicy associated with the chaincode of this transaction
+     * sets the endorsementPolicy associated with the chaincode of this transaction.
+     * For transaction proposals sent to the channel's endorsing peers only the peers needed to satisfy the
+     * policy are sent the proposal when their organization is known.
      *
      * @param policy a Policy object
+     * @see Peer#PEER_ORGANIZATION_MSPID_PROPERTY
      * @see ChaincodeEndorsementPolicy
      */
     public void setChaincodeEndorsementPolicy(ChaincodeEndorsementPolicy policy) {
@@ -274,6 +279,27 @@ public class TransactionRequest {
         this.proposalWaitTime = proposalWaitTime;
     }
 
+    /**
+     * Gets the latency percentile after which a proposal is hedged.
+     *
+     * @return the percentile. Zero when hedging is disabled.
+     * @see #setProposalHedgePercentile(double)
+     */
+    public double getProposalHedgePercentile() {
+        return proposalHedgePercentile;
+    }
+
+    /**
+     * Hedge slow endorsements. If a peer has not answered within this percentile of its observed latency the same
+     * signed proposal is also sent to another endorsing peer of the same organization and the first good answer is used.
+     * Peers need {@link Peer#PEER_ORGANIZATION_MSPID_PROPERTY} set to find alternates.
+     *
+     * @param proposalHedgePercentile percentile between 0 and 100. Zero disables hedging.
+     */
+    public void setProposalHedgePercentile(double proposalHedgePercentile) {
+        this.proposalHedgePercentile = proposalHedgePercentile;
+    }
+
     /**
      * If this request has been submitted already.
      *
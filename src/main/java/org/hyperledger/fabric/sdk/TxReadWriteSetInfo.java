@@ -16,18 +16,32 @@
 
 package org.hyperledger.fabric.sdk;
 
+import java.io.IOException;
+import java.lang.ref.SoftReference;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.ExtensionRegistryLite;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import com.google.protobuf.WireFormat;
 import org.hyperledger.fabric.protos.ledger.rwset.Rwset.NsReadWriteSet;
 import org.hyperledger.fabric.protos.ledger.rwset.Rwset.TxReadWriteSet;
 import org.hyperledger.fabric.protos.ledger.rwset.kvrwset.KvRwset;
+import org.hyperledger.fabric.sdk.exception.InvalidProtocolBufferRuntimeException;
+import org.hyperledger.fabric.sdk.helper.Config;
 
 public class TxReadWriteSetInfo {
     private final TxReadWriteSet txReadWriteSet;
+    private final boolean softReferences = Config.getConfig().getRwsetSoftReferences();
+    private final AtomicReferenceArray<NsRwsetInfo> nsRwsetInfos;
 
     public TxReadWriteSetInfo(TxReadWriteSet txReadWriteSet) {
         this.txReadWriteSet = txReadWriteSet;
+        this.nsRwsetInfos = new AtomicReferenceArray<>(txReadWriteSet.getNsRwsetCount());
     }
 
     public int getNsRwsetCount() {
@@ -38,7 +52,12 @@ public class TxReadWriteSetInfo {
 
     public NsRwsetInfo getNsRwsetInfo(int index) {
 
-        return new NsRwsetInfo(txReadWriteSet.getNsRwset(index));
+        NsRwsetInfo ret = nsRwsetInfos.get(index);
+        if (ret == null) {
+            nsRwsetInfos.compareAndSet(index, null, new NsRwsetInfo(txReadWriteSet.getNsRwset(index), softReferences));
+            ret = nsRwsetInfos.get(index);
+        }
+        return ret;
 
     }
 
@@ -49,21 +68,141 @@ public class TxReadWriteSetInfo {
     }
 
     public static class NsRwsetInfo {
+        private static final int READS = KvRwset.KVRWSet.READS_FIELD_NUMBER;
+        private static final int RANGE_QUERIES_INFO = KvRwset.KVRWSet.RANGE_QUERIES_INFO_FIELD_NUMBER;
+        private static final int WRITES = KvRwset.KVRWSet.WRITES_FIELD_NUMBER;
+
         private final NsReadWriteSet nsReadWriteSet;
+        private final boolean softReferences;
+        // The parsed rwset: the KVRWSet itself, or a SoftReference to it when memory may reclaim it.
+        private volatile Object rwset;
 
-        NsRwsetInfo(NsReadWriteSet nsReadWriteSet) {
+        NsRwsetInfo(NsReadWriteSet nsReadWriteSet, boolean softReferences) {
 
             this.nsReadWriteSet = nsReadWriteSet;
+            this.softReferences = softReferences;
         }
 
+        /**
+         * The read write set, parsed on first use and kept for later calls.
+         *
+         * @return the read write set.
+         * @throws InvalidProtocolBufferException
+         */
         public KvRwset.KVRWSet getRwset() throws InvalidProtocolBufferException {
-            return KvRwset.KVRWSet.parseFrom(nsReadWriteSet.getRwset());
+            KvRwset.KVRWSet ret = getParsedRwset();
+            if (ret == null) {
+                ret = DeserializerUtils.parseAliased(KvRwset.KVRWSet.parser(), nsReadWriteSet.getRwset());
+                rwset = softReferences ? new SoftReference<>(ret) : ret;
+            }
+            return ret;
         }
 
         public String getNamespace() {
             return nsReadWriteSet.getNamespace();
         }
 
+        /**
+         * The keys read, decoded one at a time as iterated unless the read write set has already been parsed.
+         * Iterators throw {@link InvalidProtocolBufferRuntimeException} if the read write set can't be decoded.
+         *
+         * @return the reads.
+         */
+        public Iterable<KvRwset.KVRead> getReads() {
+            return () -> {
+                final KvRwset.KVRWSet parsed = getParsedRwset();
+                return parsed != null ? parsed.getReadsList().iterator() : new FieldIterator<>(READS, KvRwset.KVRead.parser());
+            };
+        }
+
+        /**
+         * The keys written, decoded one at a time as iterated unless the read write set has already been parsed.
+         * Iterators throw {@link InvalidProtocolBufferRuntimeException} if the read write set can't be decoded.
+         *
+         * @return the writes.
+         */
+        public Iterable<KvRwset.KVWrite> getWrites() {
+            return () -> {
+                final KvRwset.KVRWSet parsed = getParsedRwset();
+                return parsed != null ? parsed.getWritesList().iterator() : new FieldIterator<>(WRITES, KvRwset.KVWrite.parser());
+            };
+        }
+
+        /**
+         * The range queries, decoded one at a time as iterated unless the read write set has already been parsed.
+         * Iterators throw {@link InvalidProtocolBufferRuntimeException} if the read write set can't be decoded.
+         *
+         * @return the range queries.
+         */
+        public Iterable<KvRwset.RangeQueryInfo> getRangeQueriesInfos() {
+            return () -> {
+                final KvRwset.KVRWSet parsed = getParsedRwset();
+                return parsed != null ? parsed.getRangeQueriesInfoList().iterator()
+                        : new FieldIterator<>(RANGE_QUERIES_INFO, KvRwset.RangeQueryInfo.parser());
+            };
+        }
+
+        private KvRwset.KVRWSet getParsedRwset() {
+            final Object ret = rwset;
+            return (KvRwset.KVRWSet) (ret instanceof SoftReference ? ((SoftReference<?>) ret).get() : ret);
+        }
+
+        /**
+         * Decodes one repeated field of the serialized KVRWSet as it's iterated.
+         */
+        private class FieldIterator<T extends MessageLite> implements Iterator<T> {
+            private final int tag;
+            private final Parser<T> parser;
+            private final CodedInputStream input;
+            private T next;
+            private boolean done;
+
+            FieldIterator(int fieldNumber, Parser<T> parser) {
+                this.tag = fieldNumber << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+                this.parser = parser;
+                this.input = nsReadWriteSet.getRwset().newCodedInput();
+                input.enableAliasing(true);
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (next != null || done) {
+                    return !done;
+                }
+                try {
+                    while (true) {
+                        final int t = input.readTag();
+                        if (t == 0) {
+                            done = true;
+                            return false;
+                        }
+                        if (t == tag) {
+                            next = input.readMessage(parser, ExtensionRegistryLite.getEmptyRegistry());
+                            return true;
+                        }
+                        if (!input.skipField(t)) {
+                            done = true; // end group, not expected in a KVRWSet.
+                            return false;
+                        }
+                    }
+                } catch (InvalidProtocolBufferException e) {
+                    throw new InvalidProtocolBufferRuntimeException(e);
+                } catch (IOException e) {
+                    throw new InvalidProtocolBufferRuntimeException(new InvalidProtocolBufferException(e));
+                }
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final T ret = next;
+                next = null;
+                return ret;
+            }
+        }
+
     }
 
     public class NsRwsetInfoIterator implements Iterator<NsRwsetInfo> {
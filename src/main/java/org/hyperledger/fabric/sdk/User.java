@@ -91,7 +91,7 @@ public interface User {
         if (Utils.isNullOrEmpty(enrollment.getCert())) {
             throw new InvalidArgumentException(format("UserContext for user %s enrollment missing user certificate.", userName));
         }
-        if (null == enrollment.getKey()) {
+        if (null == enrollment.getKey() && null == enrollment.getSigner()) {
             throw new InvalidArgumentException(format("UserContext for user %s has Enrollment missing signing key", userName));
         }
 
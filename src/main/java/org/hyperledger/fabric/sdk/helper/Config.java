@@ -47,13 +47,25 @@ public class Config {
      * Timeout settings
      **/
     public static final String PROPOSAL_WAIT_TIME = "org.hyperledger.fabric.sdk.proposal.wait.time";
+    public static final String PROPOSAL_HEDGE_PERCENTILE = "org.hyperledger.fabric.sdk.proposal.hedge_percentile";
     public static final String CHANNEL_CONFIG_WAIT_TIME = "org.hyperledger.fabric.sdk.channelconfig.wait_time";
     public static final String TRANSACTION_CLEANUP_UP_TIMEOUT_WAIT_TIME = "org.hyperledger.fabric.sdk.client.transaction_cleanup_up_timeout_wait_time";
     public static final String ORDERER_RETRY_WAIT_TIME = "org.hyperledger.fabric.sdk.orderer_retry.wait_time";
     public static final String ORDERER_WAIT_TIME = "org.hyperledger.fabric.sdk.orderer.ordererWaitTimeMilliSecs";
+    public static final String ORDERER_BROADCAST_STREAMS = "org.hyperledger.fabric.sdk.orderer.broadcast_streams";
+    public static final String ORDERER_BROADCAST_MAX_IN_FLIGHT = "org.hyperledger.fabric.sdk.orderer.broadcast_max_in_flight";
+    public static final String GRPC_CHANNEL_POOL_SIZE = "org.hyperledger.fabric.sdk.client.grpc_channel_pool_size";
+    public static final String ENDPOINT_TLS_CACHE_SIZE = "org.hyperledger.fabric.sdk.client.endpoint_tls_cache_size";
     public static final String PEER_EVENT_REGISTRATION_WAIT_TIME = "org.hyperledger.fabric.sdk.peer.eventRegistration.wait_time";
     public static final String EVENTHUB_CONNECTION_WAIT_TIME = "org.hyperledger.fabric.sdk.eventhub_connection.wait_time";
     public static final String GENESISBLOCK_WAIT_TIME = "org.hyperledger.fabric.sdk.channel.genesisblock_wait_time";
+    public static final String SUBMIT_MAX_IN_FLIGHT = "org.hyperledger.fabric.sdk.channel.submit_max_in_flight";
+    public static final String EVENT_QUEUE_SIZE = "org.hyperledger.fabric.sdk.channel.event_queue_size";
+    public static final String EVENT_QUEUE_OVERFLOW = "org.hyperledger.fabric.sdk.channel.event_queue_overflow";
+    public static final String EVENT_DEDUPLICATE = "org.hyperledger.fabric.sdk.channel.event_deduplicate";
+    public static final String LISTENER_QUEUE_SIZE = "org.hyperledger.fabric.sdk.channel.listener_queue_size";
+    public static final String EVENT_REPLAY_PARALLELISM = "org.hyperledger.fabric.sdk.channel.event_replay_parallelism";
+    public static final String RWSET_SOFT_REFERENCES = "org.hyperledger.fabric.sdk.channel.rwset_soft_references";
     /**
      * Crypto configuration settings
      **/
@@ -65,6 +77,7 @@ public class Config {
     public static final String ASYMMETRIC_KEY_TYPE = "org.hyperledger.fabric.sdk.crypto.asymmetric_key_type";
     public static final String CERTIFICATE_FORMAT = "org.hyperledger.fabric.sdk.crypto.certificate_format";
     public static final String SIGNATURE_ALGORITHM = "org.hyperledger.fabric.sdk.crypto.default_signature_algorithm";
+    public static final String CERTIFICATE_CACHE_SIZE = "org.hyperledger.fabric.sdk.crypto.certificate_cache_size";
     /**
      * Logging settings
      **/
@@ -77,6 +90,7 @@ public class Config {
      * Miscellaneous settings
      **/
     public static final String PROPOSAL_CONSISTENCY_VALIDATION = "org.hyperledger.fabric.sdk.proposal.consistency_validation";
+    public static final String TXID_POOL_SIZE = "org.hyperledger.fabric.sdk.transaction.txid_pool_size";
 
     private static Config config;
     private static final Properties sdkProperties = new Properties();
@@ -103,15 +117,27 @@ public class Config {
              * Timeout settings
              **/
             defaultProperty(PROPOSAL_WAIT_TIME, "20000");
+            defaultProperty(PROPOSAL_HEDGE_PERCENTILE, "0");
             defaultProperty(CHANNEL_CONFIG_WAIT_TIME, "15000");
             defaultProperty(ORDERER_RETRY_WAIT_TIME, "200");
             defaultProperty(ORDERER_WAIT_TIME, "10000");
+            defaultProperty(ORDERER_BROADCAST_STREAMS, "0");
+            defaultProperty(ORDERER_BROADCAST_MAX_IN_FLIGHT, "1000");
+            defaultProperty(GRPC_CHANNEL_POOL_SIZE, "1");
+            defaultProperty(ENDPOINT_TLS_CACHE_SIZE, "100");
             defaultProperty(PEER_EVENT_REGISTRATION_WAIT_TIME, "5000");
             defaultProperty(EVENTHUB_CONNECTION_WAIT_TIME, "1000");
             defaultProperty(GENESISBLOCK_WAIT_TIME, "5000");
+            defaultProperty(SUBMIT_MAX_IN_FLIGHT, "1000");
+            defaultProperty(EVENT_QUEUE_SIZE, "1000");
+            defaultProperty(EVENT_QUEUE_OVERFLOW, "BLOCK");
+            defaultProperty(EVENT_DEDUPLICATE, "false");
+            defaultProperty(LISTENER_QUEUE_SIZE, "0");
+            defaultProperty(EVENT_REPLAY_PARALLELISM, "0");
+            defaultProperty(RWSET_SOFT_REFERENCES, "false");
             /**
-             * This will NOT complete any transaction futures time out and must be kept WELL above any expected future timeout
-             * for transactions sent to the Orderer. For internal cleanup only.
+             * Transaction futures not seen in this time are completed with a TimeoutException. Must be kept WELL above any
+             * expected future timeout for transactions sent to the Orderer.
              */
 
             defaultProperty(TRANSACTION_CLEANUP_UP_TIMEOUT_WAIT_TIME, "600000"); //10 min.
@@ -128,6 +154,7 @@ public class Config {
 
             defaultProperty(CERTIFICATE_FORMAT, "X.509");
             defaultProperty(SIGNATURE_ALGORITHM, "SHA256withECDSA");
+            defaultProperty(CERTIFICATE_CACHE_SIZE, "1000");
 
             /**
              * Logging settings
@@ -140,6 +167,7 @@ public class Config {
              * Miscellaneous settings
              */
             defaultProperty(PROPOSAL_CONSISTENCY_VALIDATION, "true");
+            defaultProperty(TXID_POOL_SIZE, "0");
 
             final String inLogLevel = sdkProperties.getProperty(LOGGERLEVEL);
 
@@ -319,6 +347,15 @@ public class Config {
         return Long.parseLong(getProperty(PROPOSAL_WAIT_TIME));
     }
 
+    /**
+     * Latency percentile of a peer after which a proposal is also sent to another peer of the same organization.
+     *
+     * @return the percentile. Zero disables hedging.
+     */
+    public double getProposalHedgePercentile() {
+        return Double.parseDouble(getProperty(PROPOSAL_HEDGE_PERCENTILE));
+    }
+
     /**
      * Get the configured time to wait for genesis block.
      *
@@ -328,6 +365,80 @@ public class Config {
         return Long.parseLong(getProperty(GENESISBLOCK_WAIT_TIME));
     }
 
+    /**
+     * Maximum number of transactions submitted with Channel.submitAsync that a channel has in flight.
+     * Further submits wait until one completes.
+     *
+     * @return maximum transactions in flight.
+     */
+    public int getSubmitMaxInFlight() {
+        return Integer.parseInt(getProperty(SUBMIT_MAX_IN_FLIGHT));
+    }
+
+    /**
+     * Maximum number of block events a channel queues for its listeners.
+     *
+     * @return event queue size.
+     */
+    public int getEventQueueSize() {
+        return Integer.parseInt(getProperty(EVENT_QUEUE_SIZE));
+    }
+
+    /**
+     * What event sources do when the channel's event queue is full. BLOCK waits for room, which stops reading
+     * the event stream so gRPC flow control holds back the peer. DROP_DUPLICATES drops blocks already queued
+     * from another source, still counting them towards transaction completion, and waits for room otherwise.
+     *
+     * @return event queue overflow policy.
+     */
+    public String getEventQueueOverflow() {
+        return getProperty(EVENT_QUEUE_OVERFLOW);
+    }
+
+    /**
+     * Deliver a block to a channel's listeners once no matter how many event sources it arrives from.
+     * Filtered and full copies of a block are delivered separately, they are not duplicates of each other.
+     *
+     * @return true if block events are deduplicated.
+     */
+    public boolean getEventDeduplicate() {
+        return Boolean.parseBoolean(getProperty(EVENT_DEDUPLICATE));
+    }
+
+    /**
+     * Maximum number of events waiting for each block or chaincode event listener, zero or less (the default) for no
+     * limit. When a listener's queue is full the channel waits for it before dispatching more.
+     * <p>
+     * That wait holds up the listeners after it and the events behind. The channel's own transaction tracking is
+     * never bounded and gets each block first, so transactions still complete, but a listener that blocks waiting on
+     * anything else carried by later blocks can stall every listener once its queue fills.
+     *
+     * @return listener queue size.
+     */
+    public int getListenerQueueSize() {
+        return Integer.parseInt(getProperty(LISTENER_QUEUE_SIZE));
+    }
+
+    /**
+     * Threads decoding queued blocks ahead of the listeners, for catching up on many blocks. Decoded blocks are
+     * still given to listeners in the order they were received. Zero, the default, decodes only as listeners read.
+     *
+     * @return replay decoding threads.
+     */
+    public int getEventReplayParallelism() {
+        return Integer.parseInt(getProperty(EVENT_REPLAY_PARALLELISM));
+    }
+
+    /**
+     * Whether parsed read write sets are kept through soft references, letting the garbage collector reclaim them
+     * and parse again on the next use, instead of for as long as their TxReadWriteSetInfo.
+     *
+     * @return true to keep parsed read write sets through soft references.
+     */
+    public boolean getRwsetSoftReferences() {
+        return Boolean.parseBoolean(getProperty(RWSET_SOFT_REFERENCES));
+    }
+
     /**
      * Time to wait for channel to be configured.
      *
@@ -350,6 +461,43 @@ public class Config {
         return Long.parseLong(getProperty(ORDERER_WAIT_TIME));
     }
 
+    /**
+     * Number of long lived broadcast streams kept open to each orderer.
+     *
+     * @return number of streams. Zero opens a new stream for every transaction.
+     */
+    public int getOrdererBroadcastStreams() {
+        return Integer.parseInt(getProperty(ORDERER_BROADCAST_STREAMS));
+    }
+
+    /**
+     * Most transactions waiting for a reply on each broadcast stream. Envelopes are only written while the stream
+     * can take them; transactions beyond this many fail at once instead of buffering without limit.
+     *
+     * @return transactions in flight per stream.
+     */
+    public int getOrdererBroadcastMaxInFlight() {
+        return Integer.parseInt(getProperty(ORDERER_BROADCAST_MAX_IN_FLIGHT));
+    }
+
+    /**
+     * Number of gRPC channels a client shares between all the services connecting to the same endpoint.
+     *
+     * @return number of channels per endpoint. Zero gives every service its own channel.
+     */
+    public int getGrpcChannelPoolSize() {
+        return Integer.parseInt(getProperty(GRPC_CHANNEL_POOL_SIZE));
+    }
+
+    /**
+     * Number of parsed endpoint TLS configurations (certificates, keys and SSL contexts) kept for reconnecting.
+     *
+     * @return number of configurations. Zero parses the TLS properties for every connection.
+     */
+    public int getEndpointTLSCacheSize() {
+        return Integer.parseInt(getProperty(ENDPOINT_TLS_CACHE_SIZE));
+    }
+
     /**
      * getPeerEventRegistrationWaitTime
      *
@@ -375,6 +523,16 @@ public class Config {
         return getProperty(SIGNATURE_ALGORITHM);
     }
 
+    /**
+     * Number of parsed X509 certificates, and of certificates validated against a trust store, kept so
+     * repeated certificates, like endorsers', are parsed and validated once.
+     *
+     * @return number of certificates. Zero parses and validates every time.
+     */
+    public int getCertificateCacheSize() {
+        return Integer.parseInt(getProperty(CERTIFICATE_CACHE_SIZE));
+    }
+
     public String getDefaultCryptoSuiteFactory() {
         return getProperty(DEFAULT_CRYPTO_SUITE_FACTORY);
     }
@@ -395,6 +553,15 @@ public class Config {
 
     }
 
+    /**
+     * Number of nonces and transaction ids generated ahead of time in the background for each user.
+     *
+     * @return number of transaction ids per user. Zero generates them when each transaction context is created.
+     */
+    public int getTxIDPoolSize() {
+        return Integer.parseInt(getProperty(TXID_POOL_SIZE));
+    }
+
     private int extraLogLevel = -1;
 
     public boolean extraLogLevel(int val) {
@@ -432,7 +599,8 @@ public class Config {
     }
 
     /**
-     * This does NOT trigger futures time out and must be kept WELL above any expected future timeout
+     * Time after which a transaction future whose transaction hasn't been seen on the channel's event sources is completed
+     * exceptionally with a TimeoutException. This must be kept WELL above any expected future timeout
      * for transactions sent to the Orderer
      *
      * @return
@@ -16,12 +16,11 @@ package org.hyperledger.fabric.sdk.security;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
-import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.KeyPair;
@@ -39,6 +38,7 @@ import java.security.cert.CertPath;
 import java.security.cert.CertPathValidator;
 import java.security.cert.CertPathValidatorException;
 import java.security.cert.Certificate;
+import java.security.cert.CertificateEncodingException;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.PKIXParameters;
@@ -48,11 +48,17 @@ import java.security.spec.ECGenParameterSpec;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.security.auth.x500.X500Principal;
@@ -61,12 +67,6 @@ import javax.xml.bind.DatatypeConverter;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.bouncycastle.asn1.ASN1Encodable;
-import org.bouncycastle.asn1.ASN1InputStream;
-import org.bouncycastle.asn1.ASN1Integer;
-import org.bouncycastle.asn1.ASN1Primitive;
-import org.bouncycastle.asn1.ASN1Sequence;
-import org.bouncycastle.asn1.DERSequenceGenerator;
 import org.bouncycastle.asn1.x9.ECNamedCurveTable;
 import org.bouncycastle.asn1.x9.X9ECParameters;
 import org.bouncycastle.crypto.Digest;
@@ -101,6 +101,20 @@ public class CryptoPrimitives implements CryptoSuite {
     private static final DiagnosticFileDumper diagnosticFileDumper = IS_TRACE_LEVEL
             ? config.getDiagnosticFileDumper() : null;
 
+    // Parsed certificates by format, security provider and PEM digest. Endorser certificates repeat for every proposal
+    // response. Access ordered for LRU.
+    private static final int CERTIFICATE_CACHE_SIZE = config.getCertificateCacheSize();
+    private static final Map<CertificateKey, X509Certificate> CERTIFICATE_CACHE = newCertificateCache();
+    // Provider that last parsed a certificate by format and explicit security provider, tried before all others.
+    private static final Map<String, Provider> CERTIFICATE_PROVIDERS = new ConcurrentHashMap<>();
+
+    // Signature verification is CPU bound, don't use more threads than processors.
+    private static final ExecutorService VERIFY_EXECUTOR = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+        Thread t = Executors.defaultThreadFactory().newThread(r);
+        t.setDaemon(true);
+        return t;
+    });
+
     private String curveName;
     private CertificateFactory cf;
     private Provider SECURITY_PROVIDER;
@@ -207,6 +221,57 @@ public class CryptoPrimitives implements CryptoSuite {
      */
 
     private X509Certificate getX509Certificate(byte[] pemCertificate) throws CryptoException {
+
+        if (CERTIFICATE_CACHE_SIZE <= 0) {
+            return parseX509Certificate(pemCertificate);
+        }
+
+        final CertificateKey key = new CertificateKey(getProviderKey(), pemCertificate);
+        X509Certificate ret = CERTIFICATE_CACHE.get(key);
+
+        if (ret == null) {
+            ret = parseX509Certificate(pemCertificate);
+
+            if (ret != null) {
+                CERTIFICATE_CACHE.put(key, ret);
+            }
+        }
+
+        return ret;
+    }
+
+    // Certificate format and explicit security provider.
+    private String getProviderKey() {
+        return CERTIFICATE_FORMAT + "/" + (SECURITY_PROVIDER == null ? "" : SECURITY_PROVIDER.getName());
+    }
+
+    private static <V> Map<CertificateKey, V> newCertificateCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<CertificateKey, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CertificateKey, V> eldest) {
+                return size() > CERTIFICATE_CACHE_SIZE;
+            }
+        });
+    }
+
+    private X509Certificate parseX509Certificate(byte[] pemCertificate) throws CryptoException {
+
+        final String providerKey = getProviderKey();
+        final Provider lastProvider = CERTIFICATE_PROVIDERS.get(providerKey);
+        if (lastProvider != null) {
+            try {
+                Certificate certificate = CertificateFactory.getInstance(CERTIFICATE_FORMAT, lastProvider)
+                        .generateCertificate(new ByteArrayInputStream(pemCertificate));
+                if (certificate instanceof X509Certificate) {
+                    return (X509Certificate) certificate;
+                }
+            } catch (Exception e) {
+                logger.trace(format("Provider %s could not convert pem bytes, trying all providers.", lastProvider.getName()));
+            }
+        }
+
         X509Certificate ret = null;
         CryptoException rete = null;
 
@@ -233,6 +298,7 @@ public class CryptoPrimitives implements CryptoSuite {
                     if (certificate instanceof X509Certificate) {
                         ret = (X509Certificate) certificate;
                         rete = null;
+                        CERTIFICATE_PROVIDERS.put(providerKey, provider);
                         break;
                     }
 
@@ -284,8 +350,6 @@ public class CryptoPrimitives implements CryptoSuite {
 
     @Override
     public boolean verify(byte[] pemCertificate, String signatureAlgorithm, byte[] signature, byte[] plainText) throws CryptoException {
-        boolean isVerified = false;
-
         if (plainText == null || signature == null || pemCertificate == null) {
             return false;
         }
@@ -303,6 +367,25 @@ public class CryptoPrimitives implements CryptoSuite {
             }
         }
 
+        return doVerify(pemCertificate, signatureAlgorithm, signature, Collections.singletonList(ByteBuffer.wrap(plainText)));
+    } // verify
+
+    @Override
+    public boolean verifySegments(byte[] pemCertificate, String signatureAlgorithm, byte[] signature, List<ByteBuffer> plainText) throws CryptoException {
+
+        if (plainText == null || signature == null || pemCertificate == null) {
+            return false;
+        }
+
+        return doVerify(pemCertificate, signatureAlgorithm, signature, plainText);
+    }
+
+    /**
+     * Verify the signature streaming the plain text segments into the signature instead of concatenating them.
+     */
+    private boolean doVerify(byte[] pemCertificate, String signatureAlgorithm, byte[] signature, List<ByteBuffer> plainText) throws CryptoException {
+        boolean isVerified = false;
+
         try {
 
             X509Certificate certificate = getX509Certificate(pemCertificate);
@@ -314,7 +397,9 @@ public class CryptoPrimitives implements CryptoSuite {
 
                     Signature sig = Signature.getInstance(signatureAlgorithm);
                     sig.initVerify(certificate);
-                    sig.update(plainText);
+                    for (ByteBuffer segment : plainText) {
+                        sig.update(segment.duplicate()); // don't move the caller's position.
+                    }
                     isVerified = sig.verify(signature);
                 }
             }
@@ -331,9 +416,32 @@ public class CryptoPrimitives implements CryptoSuite {
         }
 
         return isVerified;
-    } // verify
+    }
+
+    /**
+     * Verifies the signatures concurrently on a dedicated crypto executor.
+     * A single signature is verified on the calling thread.
+     */
+    @Override
+    public CompletableFuture<boolean[]> verifyAsync(List<Verification> verifications) {
+
+        if (verifications.size() <= 1) {
+            return CryptoSuite.super.verifyAsync(verifications);
+        }
+
+        final boolean[] ret = new boolean[verifications.size()];
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[verifications.size()];
+        int i = 0;
+        for (Verification verification : verifications) {
+            final int index = i++;
+            futures[index] = CompletableFuture.runAsync(() -> ret[index] = verification.verify(this), VERIFY_EXECUTOR);
+        }
+        return CompletableFuture.allOf(futures).thenApply(v -> ret);
+    }
 
     private KeyStore trustStore = null;
+    // Certificates that passed validation against the trust store and when they expire. Cleared when the trust store changes.
+    private final Map<CertificateKey, Long> validatedCertificates = newCertificateCache();
 
     private void createTrustStore() throws CryptoException {
         try {
@@ -359,6 +467,7 @@ public class CryptoPrimitives implements CryptoSuite {
         }
 
         trustStore = keyStore;
+        validatedCertificates.clear();
     }
 
     /**
@@ -460,6 +569,7 @@ public class CryptoPrimitives implements CryptoSuite {
 
             }
             getTrustStore().setCertificateEntry(alias, caCert);
+            validatedCertificates.clear(); // may trust more or, replacing an alias, fewer certificates.
         } catch (KeyStoreException e) {
             String emsg = "Unable to add CA certificate to trust store. Error: " + e.getMessage();
             logger.error(emsg, e);
@@ -543,6 +653,22 @@ public class CryptoPrimitives implements CryptoSuite {
             return false;
         }
 
+        CertificateKey key = null;
+        if (CERTIFICATE_CACHE_SIZE > 0 && cert instanceof X509Certificate) {
+            try {
+                key = new CertificateKey(getProviderKey(), cert.getEncoded());
+                Long expires = validatedCertificates.get(key);
+                if (expires != null) {
+                    if (System.currentTimeMillis() < expires) {
+                        return true;
+                    }
+                    validatedCertificates.remove(key);
+                }
+            } catch (CertificateEncodingException e) {
+                key = null; // just validate it.
+            }
+        }
+
         try {
             KeyStore keyStore = getTrustStore();
 
@@ -558,6 +684,10 @@ public class CryptoPrimitives implements CryptoSuite {
 
             certValidator.validate(certPath, parms);
             isValidated = true;
+
+            if (key != null) {
+                validatedCertificates.put(key, ((X509Certificate) cert).getNotAfter().getTime());
+            }
         } catch (KeyStoreException | InvalidAlgorithmParameterException | NoSuchAlgorithmException
                 | CertificateException | CertPathValidatorException | CryptoException e) {
             logger.error("Cannot validate certificate. Error is: " + e.getMessage() + "\r\nCertificate"
@@ -644,43 +774,6 @@ public class CryptoPrimitives implements CryptoSuite {
         }
     }
 
-    /**
-     * Decodes an ECDSA signature and returns a two element BigInteger array.
-     *
-     * @param signature ECDSA signature bytes.
-     * @return BigInteger array for the signature's r and s values
-     * @throws Exception
-     */
-    private static BigInteger[] decodeECDSASignature(byte[] signature) throws Exception {
-        ByteArrayInputStream inStream = new ByteArrayInputStream(signature);
-        ASN1InputStream asnInputStream = new ASN1InputStream(inStream);
-        ASN1Primitive asn1 = asnInputStream.readObject();
-
-        BigInteger[] sigs = new BigInteger[2];
-        int count = 0;
-        if (asn1 instanceof ASN1Sequence) {
-            ASN1Sequence asn1Sequence = (ASN1Sequence) asn1;
-            ASN1Encodable[] asn1Encodables = asn1Sequence.toArray();
-            for (ASN1Encodable asn1Encodable : asn1Encodables) {
-                ASN1Primitive asn1Primitive = asn1Encodable.toASN1Primitive();
-                if (asn1Primitive instanceof ASN1Integer) {
-                    ASN1Integer asn1Integer = (ASN1Integer) asn1Primitive;
-                    BigInteger integer = asn1Integer.getValue();
-                    if (count  < 2) {
-                        sigs[count] = integer;
-                    }
-                    count++;
-                }
-            }
-        }
-        if (count != 2) {
-            throw new CryptoException(format("Invalid ECDSA signature. Expected count of 2 but got: %d. Signature is: %s", count,
-                    DatatypeConverter.printHexBinary(signature)));
-        }
-        return sigs;
-    }
-
-
     /**
      * Sign data with the specified elliptic curve private key.
      *
@@ -691,27 +784,7 @@ public class CryptoPrimitives implements CryptoSuite {
      */
     private byte[] ecdsaSignToBytes(ECPrivateKey privateKey, byte[] data) throws CryptoException {
         try {
-            X9ECParameters params = ECNamedCurveTable.getByName(curveName);
-            BigInteger curveN = params.getN();
-
-            Signature sig = SECURITY_PROVIDER == null ? Signature.getInstance(DEFAULT_SIGNATURE_ALGORITHM) :
-                                                        Signature.getInstance(DEFAULT_SIGNATURE_ALGORITHM, SECURITY_PROVIDER);
-            sig.initSign(privateKey);
-            sig.update(data);
-            byte[] signature = sig.sign();
-
-            BigInteger[] sigs = decodeECDSASignature(signature);
-
-            sigs = preventMalleability(sigs, curveN);
-
-            ByteArrayOutputStream s = new ByteArrayOutputStream();
-
-            DERSequenceGenerator seq = new DERSequenceGenerator(s);
-            seq.addObject(new ASN1Integer(sigs[0]));
-            seq.addObject(new ASN1Integer(sigs[1]));
-            seq.close();
-            return s.toByteArray();
-
+            return ECDSASigner.sign(privateKey, data, curveName, DEFAULT_SIGNATURE_ALGORITHM, SECURITY_PROVIDER);
         } catch (Exception e) {
             throw new CryptoException("Could not sign the message using private key", e);
         }
@@ -726,19 +799,6 @@ public class CryptoPrimitives implements CryptoSuite {
         return ecdsaSignToBytes((ECPrivateKey) key, data);
     }
 
-    private BigInteger[] preventMalleability(BigInteger[] sigs, BigInteger curveN) {
-        BigInteger cmpVal = curveN.divide(BigInteger.valueOf(2L));
-
-        BigInteger sval = sigs[1];
-
-        if (sval.compareTo(cmpVal) == 1) {
-
-            sigs[1] = curveN.subtract(sval);
-        }
-
-        return sigs;
-    }
-
     /**
      * generateCertificationRequest
      *
@@ -813,6 +873,30 @@ public class CryptoPrimitives implements CryptoSuite {
         return retValue;
     }
 
+    @Override
+    public byte[] hashSegments(List<ByteBuffer> plainText) {
+        Digest digest = getHashDigest();
+        byte[] chunk = null;
+        for (ByteBuffer segment : plainText) {
+            if (segment.hasArray()) {
+                digest.update(segment.array(), segment.arrayOffset() + segment.position(), segment.remaining());
+            } else {
+                ByteBuffer remaining = segment.duplicate();
+                if (chunk == null) {
+                    chunk = new byte[1024];
+                }
+                while (remaining.hasRemaining()) {
+                    final int length = Math.min(chunk.length, remaining.remaining());
+                    remaining.get(chunk, 0, length);
+                    digest.update(chunk, 0, length);
+                }
+            }
+        }
+        byte[] retValue = new byte[digest.getDigestSize()];
+        digest.doFinal(retValue, 0);
+        return retValue;
+    }
+
     @Override
     public CryptoSuiteFactory getCryptoSuiteFactory() {
         return HLSDKJCryptoSuiteFactory.instance(); //Factory for this crypto suite.
@@ -951,4 +1035,36 @@ public class CryptoPrimitives implements CryptoSuite {
         return content;
     }
 
+
+    /**
+     * Certificate format and SHA-256 digest of the certificate's PEM or DER bytes.
+     */
+    private static final class CertificateKey {
+        private final String providerKey;
+        private final byte[] digest;
+        private final int hash;
+
+        private CertificateKey(String providerKey, byte[] certificate) {
+            this.providerKey = providerKey;
+            Digest sha256 = new SHA256Digest();
+            digest = new byte[sha256.getDigestSize()];
+            sha256.update(certificate, 0, certificate.length);
+            sha256.doFinal(digest, 0);
+            hash = 31 * providerKey.hashCode() + Arrays.hashCode(digest);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CertificateKey)) {
+                return false;
+            }
+            CertificateKey other = (CertificateKey) o;
+            return hash == other.hash && providerKey.equals(other.providerKey) && Arrays.equals(digest, other.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
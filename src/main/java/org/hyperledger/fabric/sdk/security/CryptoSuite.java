@@ -14,12 +14,17 @@
 package org.hyperledger.fabric.sdk.security;
 
 import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
 import java.security.KeyPair;
 import java.security.PrivateKey;
 import java.security.cert.Certificate;
 import java.util.Collection;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.hyperledger.fabric.sdk.exception.CryptoException;
 import org.hyperledger.fabric.sdk.exception.InvalidArgumentException;
 
@@ -87,6 +92,85 @@ public interface CryptoSuite {
      */
     boolean verify(byte[] certificate, String signatureAlgorithm, byte[] signature, byte[] plainText) throws CryptoException;
 
+    /**
+     * Verify the specified signature over plain text given in segments, so callers don't have to concatenate
+     * the segments first.
+     *
+     * @param certificate        the certificate of the signer as the contents of the PEM file
+     * @param signatureAlgorithm the algorithm used to create the signature.
+     * @param signature          the signature to verify
+     * @param plainText          the segments of the original text in order. They are not modified.
+     * @return {@code true} if the signature is successfully verified; otherwise {@code false}.
+     * @throws CryptoException
+     */
+    default boolean verifySegments(byte[] certificate, String signatureAlgorithm, byte[] signature, List<ByteBuffer> plainText) throws CryptoException {
+        int size = 0;
+        for (ByteBuffer segment : plainText) {
+            size += segment.remaining();
+        }
+        ByteBuffer concat = ByteBuffer.allocate(size);
+        for (ByteBuffer segment : plainText) {
+            concat.put(segment.duplicate());
+        }
+        return verify(certificate, signatureAlgorithm, signature, concat.array());
+    }
+
+    /**
+     * Verify a batch of signatures, like all the endorsements of a proposal. Implementations may verify them concurrently.
+     * A verification that fails with an exception is reported as not verified.
+     *
+     * @param verifications the signatures to verify.
+     * @return future completed with the results in the order of the verifications.
+     */
+    default CompletableFuture<boolean[]> verifyAsync(List<Verification> verifications) {
+        boolean[] ret = new boolean[verifications.size()];
+        int i = 0;
+        for (Verification verification : verifications) {
+            ret[i++] = verification.verify(this);
+        }
+        return CompletableFuture.completedFuture(ret);
+    }
+
+    /**
+     * A signature to verify with {@link #verifyAsync(List)}.
+     */
+    final class Verification {
+        private static final Log logger = LogFactory.getLog(Verification.class);
+
+        private final byte[] certificate;
+        private final String signatureAlgorithm;
+        private final byte[] signature;
+        private final List<ByteBuffer> plainText;
+
+        /**
+         * @param certificate        the certificate of the signer as the contents of the PEM file
+         * @param signatureAlgorithm the algorithm used to create the signature.
+         * @param signature          the signature to verify
+         * @param plainText          the segments of the original text in order.
+         */
+        public Verification(byte[] certificate, String signatureAlgorithm, byte[] signature, List<ByteBuffer> plainText) {
+            this.certificate = certificate;
+            this.signatureAlgorithm = signatureAlgorithm;
+            this.signature = signature;
+            this.plainText = plainText;
+        }
+
+        /**
+         * Verify with a crypto suite.
+         *
+         * @param cryptoSuite the crypto suite.
+         * @return true if verified, false if not or the verification failed.
+         */
+        public boolean verify(CryptoSuite cryptoSuite) {
+            try {
+                return cryptoSuite.verifySegments(certificate, signatureAlgorithm, signature, plainText);
+            } catch (CryptoException | RuntimeException e) {
+                logger.error("Signature verification failed. Error is: " + e.getMessage(), e);
+                return false;
+            }
+        }
+    }
+
     /**
      * Hash the specified text byte data.
      *
@@ -95,6 +179,24 @@ public interface CryptoSuite {
      */
     byte[] hash(byte[] plainText);
 
+    /**
+     * Hash text given in segments, so callers don't have to concatenate the segments first.
+     *
+     * @param plainText the segments of the text in order. They are not modified.
+     * @return the hashed data.
+     */
+    default byte[] hashSegments(List<ByteBuffer> plainText) {
+        int size = 0;
+        for (ByteBuffer segment : plainText) {
+            size += segment.remaining();
+        }
+        ByteBuffer concat = ByteBuffer.allocate(size);
+        for (ByteBuffer segment : plainText) {
+            concat.put(segment.duplicate());
+        }
+        return hash(concat.array());
+    }
+
     /**
      * Generates a CertificationRequest
      *
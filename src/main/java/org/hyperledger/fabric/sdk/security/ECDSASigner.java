@@ -0,0 +1,210 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk.security;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Provider;
+import java.security.Signature;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.bouncycastle.asn1.x9.ECNamedCurveTable;
+import org.bouncycastle.asn1.x9.X9ECParameters;
+import org.hyperledger.fabric.sdk.exception.CryptoException;
+
+import static java.lang.String.format;
+
+/**
+ * ECDSA signing with low S values as Fabric requires. Everything per signature that can be reused is:
+ * curve orders are looked up once, {@link Signature} instances are kept per thread and the signature is
+ * normalized and DER encoded directly into a per thread buffer.
+ */
+final class ECDSASigner {
+
+    // Curve order and half the order by curve name.
+    private static final Map<String, BigInteger[]> CURVE_ORDERS = new ConcurrentHashMap<>();
+
+    // Signature instances by algorithm and provider. Signatures aren't thread safe so each thread has its own.
+    private static final ThreadLocal<Map<String, Signature>> SIGNATURES = ThreadLocal.withInitial(HashMap::new);
+
+    // DER encoded signatures are at most 2 + 2 * (2 + 1 + 66) bytes for the curves Java supports.
+    private static final ThreadLocal<byte[]> BUFFERS = ThreadLocal.withInitial(() -> new byte[160]);
+
+    private static final int SEQUENCE = 0x30;
+    private static final int INTEGER = 0x02;
+
+    private ECDSASigner() {
+    }
+
+    /**
+     * Sign the data.
+     *
+     * @param privateKey the key.
+     * @param data       the data to sign.
+     * @param curveName  the key's curve.
+     * @param algorithm  signature algorithm.
+     * @param provider   the security provider or null for the default.
+     * @return the DER encoded signature with a low S value.
+     * @throws GeneralSecurityException
+     * @throws CryptoException          if the provider's signature can not be decoded.
+     */
+    static byte[] sign(PrivateKey privateKey, byte[] data, String curveName, String algorithm, Provider provider)
+            throws GeneralSecurityException, CryptoException {
+
+        final BigInteger[] order = getCurveOrder(curveName);
+
+        final Signature sig = getSignature(algorithm, provider);
+        sig.initSign(privateKey); // resets any state left by a failed signing.
+        sig.update(data);
+
+        return toLowS(sig.sign(), order[0], order[1]);
+    }
+
+    private static BigInteger[] getCurveOrder(String curveName) throws CryptoException {
+        BigInteger[] ret = CURVE_ORDERS.get(curveName);
+        if (ret == null) {
+            X9ECParameters params = ECNamedCurveTable.getByName(curveName);
+            if (params == null) {
+                throw new CryptoException(format("Unknown curve %s", curveName));
+            }
+            BigInteger curveN = params.getN();
+            ret = new BigInteger[] {curveN, curveN.shiftRight(1)};
+            CURVE_ORDERS.put(curveName, ret);
+        }
+        return ret;
+    }
+
+    private static Signature getSignature(String algorithm, Provider provider) throws GeneralSecurityException {
+        final String key = provider == null ? algorithm : algorithm + "/" + provider.getName();
+        final Map<String, Signature> signatures = SIGNATURES.get();
+        Signature ret = signatures.get(key);
+        if (ret == null || (provider != null && ret.getProvider() != provider)) {
+            ret = provider == null ? Signature.getInstance(algorithm) : Signature.getInstance(algorithm, provider);
+            signatures.put(key, ret);
+        }
+        return ret;
+    }
+
+    /**
+     * Replace S with N - S if S is more than half the curve order so there is only one valid signature.
+     *
+     * @param signature DER encoded sequence of the integers R and S.
+     * @param curveN    the curve order.
+     * @param halfN     half the curve order.
+     * @return the DER encoded signature with a low S.
+     * @throws CryptoException if the signature is not a sequence of two integers.
+     */
+    static byte[] toLowS(byte[] signature, BigInteger curveN, BigInteger halfN) throws CryptoException {
+
+        int pos = 0;
+        try {
+            if ((signature[pos++] & 0xff) != SEQUENCE) {
+                throw invalid(signature);
+            }
+            final int seqLength = readLength(signature, pos);
+            pos += lengthOfLength(signature, pos);
+            if (pos + seqLength != signature.length) {
+                throw invalid(signature);
+            }
+
+            if ((signature[pos++] & 0xff) != INTEGER) {
+                throw invalid(signature);
+            }
+            final int rLength = readLength(signature, pos);
+            pos += lengthOfLength(signature, pos);
+            final int rStart = pos;
+            pos += rLength;
+
+            if ((signature[pos++] & 0xff) != INTEGER) {
+                throw invalid(signature);
+            }
+            final int sLength = readLength(signature, pos);
+            pos += lengthOfLength(signature, pos);
+            final int sStart = pos;
+            if (sStart + sLength != signature.length) {
+                throw invalid(signature);
+            }
+
+            final BigInteger s = new BigInteger(1, Arrays.copyOfRange(signature, sStart, sStart + sLength));
+            if (s.compareTo(halfN) <= 0) {
+                return signature; // already low, the provider's encoding is fine.
+            }
+
+            final byte[] lowS = curveN.subtract(s).toByteArray(); // minimal two's complement, what DER wants.
+
+            final byte[] buffer = BUFFERS.get();
+            final int contentLength = 1 + lengthOfLength(rLength) + rLength + 1 + lengthOfLength(lowS.length) + lowS.length;
+            if (1 + lengthOfLength(contentLength) + contentLength > buffer.length) {
+                throw invalid(signature);
+            }
+            int out = 0;
+            buffer[out++] = SEQUENCE;
+            out = writeLength(buffer, out, contentLength);
+            buffer[out++] = INTEGER;
+            out = writeLength(buffer, out, rLength);
+            System.arraycopy(signature, rStart, buffer, out, rLength);
+            out += rLength;
+            buffer[out++] = INTEGER;
+            out = writeLength(buffer, out, lowS.length);
+            System.arraycopy(lowS, 0, buffer, out, lowS.length);
+            out += lowS.length;
+
+            return Arrays.copyOf(buffer, out);
+
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw invalid(signature);
+        }
+    }
+
+    private static CryptoException invalid(byte[] signature) {
+        return new CryptoException(format("Invalid ECDSA signature. Expected sequence of 2 integers. Signature is: %s",
+                DatatypeConverter.printHexBinary(signature)));
+    }
+
+    private static int readLength(byte[] buffer, int pos) {
+        final int first = buffer[pos] & 0xff;
+        if (first < 0x80) {
+            return first;
+        }
+        int ret = 0;
+        for (int i = 1; i <= (first & 0x7f); ++i) {
+            ret = (ret << 8) | (buffer[pos + i] & 0xff);
+        }
+        return ret;
+    }
+
+    private static int lengthOfLength(byte[] buffer, int pos) {
+        final int first = buffer[pos] & 0xff;
+        return first < 0x80 ? 1 : 1 + (first & 0x7f);
+    }
+
+    private static int lengthOfLength(int length) {
+        return length < 0x80 ? 1 : 2; // signatures are never 256 bytes.
+    }
+
+    private static int writeLength(byte[] buffer, int pos, int length) {
+        if (length >= 0x80) {
+            buffer[pos++] = (byte) 0x81;
+        }
+        buffer[pos++] = (byte) length;
+        return pos;
+    }
+}
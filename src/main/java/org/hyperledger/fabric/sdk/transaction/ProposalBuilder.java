@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.protobuf.ByteString;
 import org.apache.commons.logging.Log;
@@ -33,6 +34,7 @@ import org.hyperledger.fabric.protos.peer.Chaincode.ChaincodeSpec;
 import org.hyperledger.fabric.protos.peer.FabricProposal;
 import org.hyperledger.fabric.protos.peer.FabricProposal.ChaincodeHeaderExtension;
 import org.hyperledger.fabric.protos.peer.FabricProposal.ChaincodeProposalPayload;
+import org.hyperledger.fabric.protos.peer.FabricProposal.SignedProposal;
 import org.hyperledger.fabric.sdk.TransactionRequest;
 import org.hyperledger.fabric.sdk.exception.InvalidArgumentException;
 import org.hyperledger.fabric.sdk.exception.ProposalException;
@@ -114,6 +116,29 @@ public class ProposalBuilder {
         return createFabricProposal(channelID, chaincodeID);
     }
 
+    /**
+     * Build the proposal and sign it as the context's user.
+     *
+     * @return future completed with the signed proposal once the user's signer has signed it.
+     */
+    public CompletableFuture<SignedProposal> buildSignedAsync() {
+
+        final FabricProposal.Proposal proposal;
+        try {
+            proposal = build();
+        } catch (Exception e) {
+            CompletableFuture<SignedProposal> ret = new CompletableFuture<>();
+            ret.completeExceptionally(e);
+            return ret;
+        }
+
+        final ByteString proposalBytes = proposal.toByteString();
+        return context.signByteStringAsync(proposalBytes.toByteArray()).thenApply(signature -> SignedProposal.newBuilder()
+                .setProposalBytes(proposalBytes)
+                .setSignature(signature)
+                .build());
+    }
+
     private FabricProposal.Proposal createFabricProposal(String channelID, Chaincode.ChaincodeID chaincodeID) {
         if (null == transientMap) {
             transientMap = Collections.emptyMap();
@@ -15,8 +15,12 @@ package org.hyperledger.fabric.sdk.transaction;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
 
 import javax.xml.bind.DatatypeConverter;
 
@@ -41,6 +45,7 @@ import org.hyperledger.fabric.protos.peer.Chaincode.ChaincodeInput;
 import org.hyperledger.fabric.protos.peer.Chaincode.ChaincodeSpec;
 import org.hyperledger.fabric.protos.peer.Chaincode.ChaincodeSpec.Type;
 import org.hyperledger.fabric.protos.peer.FabricProposal.ChaincodeHeaderExtension;
+import org.hyperledger.fabric.sdk.Enrollment;
 import org.hyperledger.fabric.sdk.User;
 import org.hyperledger.fabric.sdk.exception.CryptoException;
 import org.hyperledger.fabric.sdk.security.CryptoPrimitives;
@@ -58,6 +63,10 @@ public final class ProtoUtils {
 
     private static final Log logger = LogFactory.getLog(ProtoUtils.class);
     private static final boolean isDebugLevel = logger.isDebugEnabled();
+
+    // Serialized identities of users. Weak so users no longer used can be collected.
+    private static final Map<User, CachedIdentity> IDENTITY_CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
     public static CryptoSuite suite;
 
     /**
@@ -187,7 +196,8 @@ public final class ProtoUtils {
 
     public static ByteString getSignatureHeaderAsByteString(User user, TransactionContext transactionContext) {
 
-        final Identities.SerializedIdentity identity = ProtoUtils.createSerializedIdentity(user);
+        final CachedIdentity cachedIdentity = user == transactionContext.getUser() ? transactionContext.getCachedIdentity() : getCachedIdentity(user);
+        final Identities.SerializedIdentity identity = cachedIdentity.identity;
 
         if (isDebugLevel) {
 
@@ -224,16 +234,79 @@ public final class ProtoUtils {
 
         }
         return SignatureHeader.newBuilder()
-                .setCreator(identity.toByteString())
+                .setCreator(cachedIdentity.identityByteString)
                 .setNonce(transactionContext.getNonce())
                 .build().toByteString();
     }
 
     public static Identities.SerializedIdentity createSerializedIdentity(User user) {
 
-        return Identities.SerializedIdentity.newBuilder()
-                .setIdBytes(ByteString.copyFromUtf8(user.getEnrollment().getCert()))
-                .setMspid(user.getMspId()).build();
+        return getCachedIdentity(user).identity;
+    }
+
+    /**
+     * The user's serialized identity, built again only when the user's enrollment, certificate or MSP id changes.
+     */
+    static CachedIdentity getCachedIdentity(User user) {
+
+        final Enrollment enrollment = user.getEnrollment();
+        final String cert = enrollment.getCert();
+        final String mspId = user.getMspId();
+
+        CachedIdentity ret = IDENTITY_CACHE.get(user);
+        if (ret == null || !ret.isCurrent(enrollment, cert, mspId)) {
+            ret = new CachedIdentity(enrollment, cert, mspId);
+            IDENTITY_CACHE.put(user, ret);
+        }
+        return ret;
+    }
+
+    static final class CachedIdentity {
+        private final Enrollment enrollment;
+        private final String cert;
+        private final String mspId;
+        final Identities.SerializedIdentity identity;
+        final ByteString identityByteString;
+        final byte[] identityBytes;
+        private volatile TxIDPool txIDPool;
+
+        private CachedIdentity(Enrollment enrollment, String cert, String mspId) {
+            this.enrollment = enrollment;
+            this.cert = cert;
+            this.mspId = mspId;
+            identity = Identities.SerializedIdentity.newBuilder()
+                    .setIdBytes(ByteString.copyFromUtf8(cert))
+                    .setMspid(mspId).build();
+            identityBytes = identity.toByteArray();
+            identityByteString = ByteString.copyFrom(identityBytes);
+        }
+
+        private boolean isCurrent(Enrollment enrollment, String cert, String mspId) {
+            return this.enrollment == enrollment && this.cert.equals(cert) && this.mspId.equals(mspId);
+        }
+
+        /**
+         * A nonce and transaction id generated ahead of time when the pool is enabled.
+         *
+         * @param cryptoSuite hashes the transaction ids.
+         * @return the transaction id or null if none are ready.
+         */
+        TxIDPool.TxID takeTxID(CryptoSuite cryptoSuite) {
+            if (TxIDPool.POOL_SIZE <= 0) {
+                return null;
+            }
+            TxIDPool pool = txIDPool;
+            if (pool == null) {
+                synchronized (this) {
+                    pool = txIDPool;
+                    if (pool == null) {
+                        pool = new TxIDPool(cryptoSuite, identityBytes, TxIDPool.POOL_SIZE);
+                        txIDPool = pool;
+                    }
+                }
+            }
+            return pool.getCryptoSuite() == cryptoSuite ? pool.take() : null;
+        }
     }
 
     public static Timestamp getCurrentFabricTimestamp() {
@@ -255,12 +328,42 @@ public final class ProtoUtils {
 
     public static Envelope createSeekInfoEnvelope(TransactionContext transactionContext, SeekInfo seekInfo, byte[] tlsCertHash) throws CryptoException {
 
+        final ByteString seekPayload = createSeekInfoPayload(transactionContext, seekInfo, tlsCertHash);
+
+        return Envelope.newBuilder().setSignature(transactionContext.signByteString(seekPayload.toByteArray()))
+                .setPayload(seekPayload)
+                .build();
+
+    }
+
+    /**
+     * Create a seek info envelope without waiting on the user's signer.
+     *
+     * @param transactionContext context of the user signing.
+     * @param seekInfo           what to seek.
+     * @param tlsCertHash        client TLS certificate hash, may be null.
+     * @return future completed with the signed envelope.
+     */
+    public static CompletableFuture<Envelope> createSeekInfoEnvelopeAsync(TransactionContext transactionContext, SeekInfo seekInfo,
+                                                                          byte[] tlsCertHash) {
+
+        final ByteString seekPayload = createSeekInfoPayload(transactionContext, seekInfo, tlsCertHash);
+
+        return transactionContext.signByteStringAsync(seekPayload.toByteArray()).thenApply(signature -> Envelope.newBuilder()
+                .setSignature(signature)
+                .setPayload(seekPayload)
+                .build());
+
+    }
+
+    private static ByteString createSeekInfoPayload(TransactionContext transactionContext, SeekInfo seekInfo, byte[] tlsCertHash) {
+
         ChannelHeader seekInfoHeader = createChannelHeader(Common.HeaderType.DELIVER_SEEK_INFO,
                 transactionContext.getTxID(), transactionContext.getChannelID(), transactionContext.getEpoch(),
                 transactionContext.getFabricTimestamp(), null, tlsCertHash);
 
         SignatureHeader signatureHeader = SignatureHeader.newBuilder()
-                .setCreator(transactionContext.getIdentity().toByteString())
+                .setCreator(transactionContext.getIdentityByteString())
                 .setNonce(transactionContext.getNonce())
                 .build();
 
@@ -269,15 +372,10 @@ public final class ProtoUtils {
                 .setChannelHeader(seekInfoHeader.toByteString())
                 .build();
 
-        Payload seekPayload = Payload.newBuilder()
+        return Payload.newBuilder()
                 .setHeader(seekHeader)
                 .setData(seekInfo.toByteString())
-                .build();
-
-        return Envelope.newBuilder().setSignature(transactionContext.signByteString(seekPayload.toByteArray()))
-                .setPayload(seekPayload.toByteString())
-                .build();
-
+                .build().toByteString();
     }
 
     public static Envelope createSeekInfoEnvelope(TransactionContext transactionContext, SeekPosition startPosition,
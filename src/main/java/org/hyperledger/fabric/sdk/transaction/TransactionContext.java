@@ -14,14 +14,20 @@
 
 package org.hyperledger.fabric.sdk.transaction;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
 import com.google.protobuf.ByteString;
 import com.google.protobuf.Timestamp;
 import org.hyperledger.fabric.protos.msp.Identities;
 import org.hyperledger.fabric.sdk.Channel;
+import org.hyperledger.fabric.sdk.Enrollment;
+import org.hyperledger.fabric.sdk.Signer;
 import org.hyperledger.fabric.sdk.User;
 import org.hyperledger.fabric.sdk.exception.CryptoException;
 import org.hyperledger.fabric.sdk.helper.Config;
-import org.hyperledger.fabric.sdk.helper.Utils;
 import org.hyperledger.fabric.sdk.security.CryptoSuite;
 
 /**
@@ -33,12 +39,12 @@ public class TransactionContext {
     private static final Config config = Config.getConfig();
     //    private static final Log logger = LogFactory.getLog(TransactionContext.class);
     //TODO right now the server does not care need to figure out
-    private final ByteString nonce = ByteString.copyFrom(Utils.generateNonce());
+    private final ByteString nonce;
     private final CryptoSuite cryptoPrimitives;
     private final User user;
     private final Channel channel;
     private final String txID;
-    private final Identities.SerializedIdentity identity;
+    private final ProtoUtils.CachedIdentity identity;
     Timestamp currentTimeStamp = null;
     private boolean verify = true;
     //private List<String> attrs;
@@ -54,16 +60,14 @@ public class TransactionContext {
         //  this.txID = transactionID;
         this.cryptoPrimitives = cryptoPrimitives;
 
-        identity = ProtoUtils.createSerializedIdentity(getUser());
-
-        ByteString no = getNonce();
-
-        ByteString comp = no.concat(identity.toByteString());
+        identity = ProtoUtils.getCachedIdentity(getUser());
 
-        byte[] txh = cryptoPrimitives.hash(comp.toByteArray());
-
-        //    txID = Hex.encodeHexString(txh);
-        txID = new String(Utils.toHexString(txh));
+        TxIDPool.TxID generated = identity.takeTxID(cryptoPrimitives);
+        if (generated == null) {
+            generated = TxIDPool.generate(cryptoPrimitives, identity.identityBytes);
+        }
+        nonce = generated.nonce;
+        txID = generated.txID;
 
     }
 
@@ -73,8 +77,19 @@ public class TransactionContext {
 
     public Identities.SerializedIdentity getIdentity() {
 
-        return identity;
+        return identity.identity;
+
+    }
+
+    /**
+     * @return the serialized identity as bytes, the same for every context of the user.
+     */
+    public ByteString getIdentityByteString() {
+        return identity.identityByteString;
+    }
 
+    ProtoUtils.CachedIdentity getCachedIdentity() {
+        return identity;
     }
 
     public long getEpoch() {
@@ -166,13 +181,23 @@ public class TransactionContext {
     }
 
     byte[] sign(byte[] b) throws CryptoException {
-        return cryptoPrimitives.sign(getUser().getEnrollment().getKey(), b);
+        return getSignature(signAsync(cryptoPrimitives, getUser(), b));
     }
 
     public ByteString signByteString(byte[] b) throws CryptoException {
         return ByteString.copyFrom(sign(b));
     }
 
+    /**
+     * Sign without waiting on the user's {@link Signer}.
+     *
+     * @param b the bytes to sign.
+     * @return future completed with the signature.
+     */
+    public CompletableFuture<ByteString> signByteStringAsync(byte[] b) {
+        return signAsync(cryptoPrimitives, getUser(), b).thenApply(ByteString::copyFrom);
+    }
+
     public ByteString signByteStrings(ByteString... bs) throws CryptoException {
         if (bs == null) {
             return null;
@@ -210,15 +235,83 @@ public class TransactionContext {
 
         final byte[] signbytes = f.toByteArray();
 
+        // Ask all the signers before waiting on any of them.
+        List<CompletableFuture<byte[]>> signatures = new ArrayList<>(users.length);
+        for (User user : users) {
+            signatures.add(signAsync(cryptoPrimitives, user, signbytes));
+        }
+
         ByteString[] ret = new ByteString[users.length];
 
         int i = -1;
-        for (User user : users) {
-            ret[++i] = ByteString.copyFrom(cryptoPrimitives.sign(user.getEnrollment().getKey(), signbytes));
+        for (CompletableFuture<byte[]> signature : signatures) {
+            ret[++i] = ByteString.copyFrom(getSignature(signature));
         }
         return ret;
     }
 
+    /**
+     * Sign with the enrollment's {@link Signer} if it has one otherwise with its private key.
+     *
+     * @param cryptoSuite signs with the private key.
+     * @param user        the user signing.
+     * @param b           the bytes to sign.
+     * @return future completed with the signature. Signing with a private key is done before returning.
+     */
+    public static CompletableFuture<byte[]> signAsync(CryptoSuite cryptoSuite, User user, byte[] b) {
+        return signAsync(cryptoSuite, user.getEnrollment(), b);
+    }
+
+    /**
+     * Sign with the enrollment's {@link Signer} if it has one otherwise with its private key.
+     *
+     * @param cryptoSuite signs with the private key.
+     * @param enrollment  the enrollment signing.
+     * @param b           the bytes to sign.
+     * @return future completed with the signature. Signing with a private key is done before returning.
+     */
+    public static CompletableFuture<byte[]> signAsync(CryptoSuite cryptoSuite, Enrollment enrollment, byte[] b) {
+
+        final Signer signer = enrollment.getSigner();
+        if (signer != null) {
+            return signer.sign(b);
+        }
+
+        CompletableFuture<byte[]> ret = new CompletableFuture<>();
+        try {
+            ret.complete(cryptoSuite.sign(enrollment.getKey(), b));
+        } catch (Exception e) {
+            ret.completeExceptionally(e);
+        }
+        return ret;
+    }
+
+    /**
+     * Wait on a signature.
+     *
+     * @param signature future from {@link #signAsync(CryptoSuite, User, byte[])}.
+     * @return the signature.
+     * @throws CryptoException if signing failed.
+     */
+    public static byte[] getSignature(CompletableFuture<byte[]> signature) throws CryptoException {
+        try {
+            return signature.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CryptoException("Interrupted waiting on signature.", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof CryptoException) {
+                throw (CryptoException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new CryptoException("Could not sign the message. " + cause.getMessage(),
+                    cause instanceof Exception ? (Exception) cause : e);
+        }
+    }
+
     public TransactionContext retryTransactionSameContext() {
 
         return new TransactionContext(channel, user, cryptoPrimitives);
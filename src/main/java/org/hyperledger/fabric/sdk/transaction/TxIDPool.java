@@ -0,0 +1,150 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk.transaction;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.google.protobuf.ByteString;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hyperledger.fabric.sdk.helper.Config;
+import org.hyperledger.fabric.sdk.helper.Utils;
+import org.hyperledger.fabric.sdk.security.CryptoSuite;
+
+/**
+ * Nonces and transaction ids for one identity generated ahead of time, so creating a transaction context doesn't
+ * wait on the shared SecureRandom or the hash. A single background thread fills a ring buffer that any number
+ * of threads take from without locking. When the buffer is empty callers generate their own.
+ */
+final class TxIDPool {
+    private static final Log logger = LogFactory.getLog(TxIDPool.class);
+
+    static final int POOL_SIZE = Config.getConfig().getTxIDPoolSize();
+
+    // One thread fills all the pools. It only runs when a pool has been drained by half.
+    private static final ExecutorService GENERATOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = Executors.defaultThreadFactory().newThread(r);
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final CryptoSuite cryptoSuite;
+    private final byte[] identityBytes;
+    private final AtomicReferenceArray<TxID> slots;
+    private final AtomicLong head = new AtomicLong(); // next to take
+    private final AtomicLong tail = new AtomicLong(); // next to fill, only changed by the generator
+    private final AtomicBoolean filling = new AtomicBoolean();
+    private final AtomicBoolean refillRequested = new AtomicBoolean();
+
+    TxIDPool(CryptoSuite cryptoSuite, byte[] identityBytes, int size) {
+        this.cryptoSuite = cryptoSuite;
+        this.identityBytes = identityBytes;
+        this.slots = new AtomicReferenceArray<>(size);
+        refill();
+    }
+
+    CryptoSuite getCryptoSuite() {
+        return cryptoSuite;
+    }
+
+    /**
+     * @return a pre-generated transaction id or null if there are none left.
+     */
+    TxID take() {
+        while (true) {
+            final long h = head.get();
+            if (h >= tail.get()) {
+                refill();
+                return null;
+            }
+            if (head.compareAndSet(h, h + 1)) {
+                // The generator doesn't reuse the slot until it's been emptied.
+                final TxID ret = slots.getAndSet(index(h), null);
+                if (tail.get() - h - 1 <= slots.length() / 2) {
+                    refill();
+                }
+                return ret;
+            }
+        }
+    }
+
+    int available() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    private void refill() {
+        refillRequested.set(true);
+        if (filling.compareAndSet(false, true)) {
+            try {
+                GENERATOR.execute(this::fill);
+            } catch (RejectedExecutionException e) {
+                filling.set(false);
+            }
+        }
+    }
+
+    private void fill() {
+        refillRequested.set(false);
+        try {
+            long t = tail.get();
+            while (t - head.get() < slots.length() && slots.get(index(t)) == null) {
+                slots.set(index(t), generate(cryptoSuite, identityBytes));
+                tail.set(++t);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to generate transaction ids.", e);
+        } finally {
+            filling.set(false);
+        }
+        // Takes while filling may have emptied slots this fill stopped short of.
+        if (refillRequested.get()) {
+            refill();
+        }
+    }
+
+    private int index(long position) {
+        return (int) (position % slots.length());
+    }
+
+    /**
+     * Generate a nonce and the transaction id for it.
+     *
+     * @param cryptoSuite   hashes the transaction id.
+     * @param identityBytes the creator's serialized identity.
+     * @return the nonce and transaction id.
+     */
+    static TxID generate(CryptoSuite cryptoSuite, byte[] identityBytes) {
+        final byte[] nonce = Utils.generateNonce();
+        final byte[] txh = cryptoSuite.hashSegments(Arrays.asList(ByteBuffer.wrap(nonce), ByteBuffer.wrap(identityBytes)));
+        return new TxID(ByteString.copyFrom(nonce), Utils.toHexString(txh));
+    }
+
+    static final class TxID {
+        final ByteString nonce;
+        final String txID;
+
+        private TxID(ByteString nonce, String txID) {
+            this.nonce = nonce;
+            this.txID = txID;
+        }
+    }
+}
@@ -111,6 +111,8 @@ import org.hyperledger.fabric_ca.sdk.helper.Config;
 
 import static java.lang.String.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hyperledger.fabric.sdk.transaction.TransactionContext.getSignature;
+import static org.hyperledger.fabric.sdk.transaction.TransactionContext.signAsync;
 /**
  * HFCAClient Hyperledger Fabric Certificate Authority Client.
  */
@@ -545,6 +547,10 @@ public class HFCAClient {
         if (user.getEnrollment() == null) {
             throw new InvalidArgumentException("reenrollment user is not a valid user object");
         }
+        if (user.getEnrollment().getKey() == null) {
+            throw new InvalidArgumentException(format("reenrollment user %s has no private key to sign the certificate request with, "
+                    + "an enrollment with only a Signer can not be reenrolled", user.getName()));
+        }
 
         logger.debug(format("re-enroll user: %s, url: %s", user.getName(), url));
 
@@ -1259,7 +1265,8 @@ public class HFCAClient {
         String cert = b64.encodeToString(enrollment.getCert().getBytes(UTF_8));
         body = b64.encodeToString(body.getBytes(UTF_8));
         String signString = body + "." + cert;
-        byte[] signature = cryptoSuite.sign(enrollment.getKey(), signString.getBytes(UTF_8));
+        // Signed the way transactions are so enrollments with only a Signer can call the CA too.
+        byte[] signature = getSignature(signAsync(cryptoSuite, enrollment, signString.getBytes(UTF_8)));
         return cert + "." + b64.encodeToString(signature);
     }
 
@@ -0,0 +1,194 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.util.Arrays;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.hyperledger.fabric.protos.common.Common.Block;
+import org.hyperledger.fabric.protos.common.Common.BlockData;
+import org.hyperledger.fabric.protos.common.Common.BlockHeader;
+import org.hyperledger.fabric.protos.common.Common.BlockMetadata;
+import org.hyperledger.fabric.protos.common.Common.ChannelHeader;
+import org.hyperledger.fabric.protos.common.Common.Envelope;
+import org.hyperledger.fabric.protos.common.Common.Header;
+import org.hyperledger.fabric.protos.common.Common.HeaderType;
+import org.hyperledger.fabric.protos.common.Common.Payload;
+import org.hyperledger.fabric.protos.ledger.rwset.Rwset.NsReadWriteSet;
+import org.hyperledger.fabric.protos.ledger.rwset.Rwset.TxReadWriteSet;
+import org.hyperledger.fabric.protos.ledger.rwset.kvrwset.KvRwset.KVRWSet;
+import org.hyperledger.fabric.protos.ledger.rwset.kvrwset.KvRwset.KVRead;
+import org.hyperledger.fabric.protos.ledger.rwset.kvrwset.KvRwset.KVWrite;
+import org.hyperledger.fabric.protos.ledger.rwset.kvrwset.KvRwset.Version;
+import org.hyperledger.fabric.protos.peer.FabricProposal.ChaincodeAction;
+import org.hyperledger.fabric.protos.peer.FabricProposalResponse.ProposalResponsePayload;
+import org.hyperledger.fabric.protos.peer.FabricTransaction.ChaincodeActionPayload;
+import org.hyperledger.fabric.protos.peer.FabricTransaction.ChaincodeEndorsedAction;
+import org.hyperledger.fabric.protos.peer.FabricTransaction.Transaction;
+import org.hyperledger.fabric.protos.peer.FabricTransaction.TransactionAction;
+import org.hyperledger.fabric.protos.peer.FabricTransaction.TxValidationCode;
+import org.hyperledger.fabric.protos.peer.PeerEvents.DeliverResponse;
+import org.hyperledger.fabric.protos.peer.PeerEvents.FilteredBlock;
+import org.hyperledger.fabric.protos.peer.PeerEvents.FilteredTransaction;
+import org.junit.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BlockColumnsTest {
+
+    private static ByteString envelope(String txID, HeaderType type, ByteString data) {
+        return Envelope.newBuilder().setPayload(Payload.newBuilder()
+                .setHeader(Header.newBuilder().setChannelHeader(ChannelHeader.newBuilder().setChannelId("testchannel")
+                        .setTxId(txID).setType(type.getNumber()).build().toByteString()))
+                .setData(data).build().toByteString())
+                .setSignature(ByteString.copyFrom("signature", UTF_8)).build().toByteString();
+    }
+
+    private static ByteString transaction(NsReadWriteSet... nsReadWriteSets) {
+        ChaincodeAction chaincodeAction = ChaincodeAction.newBuilder()
+                .setResults(TxReadWriteSet.newBuilder().addAllNsRwset(Arrays.asList(nsReadWriteSets)).build().toByteString()).build();
+        ChaincodeActionPayload actionPayload = ChaincodeActionPayload.newBuilder()
+                .setChaincodeProposalPayload(ByteString.copyFrom("proposal", UTF_8))
+                .setAction(ChaincodeEndorsedAction.newBuilder().setProposalResponsePayload(ProposalResponsePayload.newBuilder()
+                        .setProposalHash(ByteString.copyFrom("hash", UTF_8)).setExtension(chaincodeAction.toByteString())
+                        .build().toByteString())).build();
+        return Transaction.newBuilder().addActions(TransactionAction.newBuilder()
+                .setHeader(ByteString.copyFrom("header", UTF_8)).setPayload(actionPayload.toByteString())).build().toByteString();
+    }
+
+    private static NsReadWriteSet nsReadWriteSet(String namespace, KVRWSet kvrwSet) {
+        return NsReadWriteSet.newBuilder().setNamespace(namespace).setRwset(kvrwSet.toByteString()).build();
+    }
+
+    private static BlockInfo block(long number, byte[] filter, ByteString... envelopes) {
+        return new BlockInfo(DeliverResponse.newBuilder().setBlock(Block.newBuilder()
+                .setHeader(BlockHeader.newBuilder().setNumber(number))
+                .setData(BlockData.newBuilder().addAllData(Arrays.asList(envelopes)))
+                .setMetadata(BlockMetadata.newBuilder().addMetadata(ByteString.EMPTY).addMetadata(ByteString.EMPTY)
+                        .addMetadata(ByteString.copyFrom(filter)))).build());
+    }
+
+    @Test
+    public void testFill() throws Exception {
+
+        BlockInfo blockInfo = block(7, new byte[] {TxValidationCode.VALID_VALUE, TxValidationCode.VALID_VALUE,
+                        (byte) TxValidationCode.MVCC_READ_CONFLICT_VALUE},
+                envelope("tx0", HeaderType.ENDORSER_TRANSACTION, transaction(
+                        nsReadWriteSet("lscc", KVRWSet.newBuilder()
+                                .addReads(KVRead.newBuilder().setKey("example_cc")
+                                        .setVersion(Version.newBuilder().setBlockNum(3).setTxNum(1))).build()),
+                        nsReadWriteSet("example_cc", KVRWSet.newBuilder()
+                                .addReads(KVRead.newBuilder().setKey("a").setVersion(Version.newBuilder().setBlockNum(5).setTxNum(2)))
+                                .addReads(KVRead.newBuilder().setKey("new"))
+                                .addWrites(KVWrite.newBuilder().setKey("a").setValue(ByteString.copyFrom("90", UTF_8)))
+                                .addWrites(KVWrite.newBuilder().setKey("b").setIsDelete(true)).build()))),
+                envelope("config", HeaderType.CONFIG, ByteString.copyFrom("config", UTF_8)),
+                envelope("tx2", HeaderType.ENDORSER_TRANSACTION, transaction(
+                        nsReadWriteSet("example_cc", KVRWSet.newBuilder()
+                                .addWrites(KVWrite.newBuilder().setKey("c").setValue(ByteString.copyFrom("10", UTF_8))).build()))));
+
+        BlockColumns columns = new BlockColumns();
+        assertSame(columns, columns.fill(blockInfo));
+
+        assertEquals(7, columns.getBlockNumber());
+        assertEquals(3, columns.getTransactionCount());
+        assertEquals("tx0", columns.getTransactionID(0));
+        assertEquals("config", columns.getTransactionID(1));
+        assertEquals(HeaderType.CONFIG_VALUE, columns.getTransactionType(1));
+        assertEquals(HeaderType.ENDORSER_TRANSACTION_VALUE, columns.getTransactionType(2));
+        assertTrue(columns.isValid(0));
+        assertFalse(columns.isValid(2));
+        assertEquals(TxValidationCode.MVCC_READ_CONFLICT_VALUE, columns.getValidationCode(2));
+
+        assertEquals(6, columns.getRowCount());
+
+        assertEquals(0, columns.getTransactionIndex(0));
+        assertEquals("lscc", columns.getNamespace(0));
+        assertEquals("example_cc", columns.getKey(0));
+        assertTrue(columns.isRead(0));
+        assertEquals(3, columns.getVersionBlockNumber(0));
+        assertEquals(1, columns.getVersionTxNumber(0));
+
+        assertEquals("example_cc", columns.getNamespace(1));
+        assertEquals("a", columns.getKey(1));
+        assertEquals(5, columns.getVersionBlockNumber(1));
+        assertEquals(2, columns.getVersionTxNumber(1));
+
+        assertEquals("new", columns.getKey(2));
+        assertEquals(-1, columns.getVersionBlockNumber(2));
+
+        assertTrue(columns.isWrite(3));
+        assertFalse(columns.isDelete(3));
+        assertEquals("a", columns.getKey(3));
+        assertEquals(-1, columns.getVersionBlockNumber(3));
+        assertArrayEquals("90".getBytes(UTF_8), Arrays.copyOfRange(columns.getData(), columns.getValueOffset(3),
+                columns.getValueOffset(3) + columns.getValueLength(3)));
+
+        assertTrue(columns.isDelete(4));
+        assertEquals("b", columns.getKey(4));
+        assertEquals(0, columns.getValueLength(4));
+
+        assertEquals(2, columns.getTransactionIndex(5));
+        assertEquals("c", columns.getKey(5));
+
+        // Refilling with a block no bigger reuses the columns.
+        final byte[] data = columns.getData();
+        columns.fill(block(8, new byte[] {TxValidationCode.VALID_VALUE}, envelope("tx3", HeaderType.ENDORSER_TRANSACTION,
+                transaction(nsReadWriteSet("example_cc", KVRWSet.newBuilder().addReads(KVRead.newBuilder().setKey("d")).build())))));
+        assertSame(data, columns.getData());
+        assertEquals(8, columns.getBlockNumber());
+        assertEquals(1, columns.getTransactionCount());
+        assertEquals("tx3", columns.getTransactionID(0));
+        assertEquals(1, columns.getRowCount());
+        assertEquals("d", columns.getKey(0));
+    }
+
+    @Test
+    public void testFillFiltered() throws Exception {
+
+        BlockInfo blockInfo = new BlockInfo(DeliverResponse.newBuilder().setFilteredBlock(FilteredBlock.newBuilder()
+                .setChannelId("testchannel").setNumber(9)
+                .addFilteredTransactions(FilteredTransaction.newBuilder().setTxid("tx0").setType(HeaderType.ENDORSER_TRANSACTION)
+                        .setTxValidationCode(TxValidationCode.VALID))
+                .addFilteredTransactions(FilteredTransaction.newBuilder().setTxid("tx1").setType(HeaderType.ENDORSER_TRANSACTION)
+                        .setTxValidationCode(TxValidationCode.ENDORSEMENT_POLICY_FAILURE))).build());
+
+        BlockColumns columns = new BlockColumns().fill(blockInfo);
+        assertEquals(9, columns.getBlockNumber());
+        assertEquals(2, columns.getTransactionCount());
+        assertEquals("tx1", columns.getTransactionID(1));
+        assertTrue(columns.isValid(0));
+        assertEquals(TxValidationCode.ENDORSEMENT_POLICY_FAILURE_VALUE, columns.getValidationCode(1));
+        assertEquals(0, columns.getRowCount());
+    }
+
+    @Test (expected = InvalidProtocolBufferException.class)
+    public void testFillTruncated() throws Exception {
+        ByteString envelope = envelope("tx0", HeaderType.ENDORSER_TRANSACTION, transaction());
+        new BlockColumns().fill(block(1, new byte[] {TxValidationCode.VALID_VALUE}, envelope.substring(0, envelope.size() - 12)));
+    }
+
+    @Test (expected = IndexOutOfBoundsException.class)
+    public void testRowOutOfBounds() throws Exception {
+        new BlockColumns().fill(block(1, new byte[] {TxValidationCode.VALID_VALUE},
+                envelope("tx0", HeaderType.ENDORSER_TRANSACTION, transaction()))).getKey(0);
+    }
+}
@@ -25,6 +25,15 @@ import org.hyperledger.fabric.protos.common.Common.ChannelHeader;
 import org.hyperledger.fabric.protos.common.Common.Envelope;
 import org.hyperledger.fabric.protos.common.Common.Header;
 import org.hyperledger.fabric.protos.common.Common.Payload;
+import org.hyperledger.fabric.protos.ledger.rwset.Rwset.NsReadWriteSet;
+import org.hyperledger.fabric.protos.ledger.rwset.Rwset.TxReadWriteSet;
+import org.hyperledger.fabric.protos.peer.ChaincodeEventOuterClass;
+import org.hyperledger.fabric.protos.peer.FabricProposal.ChaincodeAction;
+import org.hyperledger.fabric.protos.peer.FabricProposalResponse.ProposalResponsePayload;
+import org.hyperledger.fabric.protos.peer.FabricTransaction.ChaincodeActionPayload;
+import org.hyperledger.fabric.protos.peer.FabricTransaction.ChaincodeEndorsedAction;
+import org.hyperledger.fabric.protos.peer.FabricTransaction.Transaction;
+import org.hyperledger.fabric.protos.peer.FabricTransaction.TransactionAction;
 import org.hyperledger.fabric.protos.peer.FabricTransaction.TxValidationCode;
 import org.hyperledger.fabric.protos.peer.PeerEvents;
 import org.junit.BeforeClass;
@@ -35,6 +44,7 @@ import static org.hyperledger.fabric.protos.common.Common.HeaderType;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -157,6 +167,53 @@ public class BlockEventTest {
         }
     }
 
+    @Test
+    public void testDecode() throws Exception {
+
+        ChaincodeAction chaincodeAction = ChaincodeAction.newBuilder()
+                .setResults(TxReadWriteSet.newBuilder().addNsRwset(NsReadWriteSet.newBuilder().setNamespace("example_cc")).build().toByteString())
+                .setEvents(ChaincodeEventOuterClass.ChaincodeEvent.newBuilder().setChaincodeId("example_cc").setEventName("event")
+                        .setTxId("TRANSACTION1").build().toByteString()).build();
+        ChaincodeActionPayload actionPayload = ChaincodeActionPayload.newBuilder().setAction(ChaincodeEndorsedAction.newBuilder()
+                .setProposalResponsePayload(ProposalResponsePayload.newBuilder().setExtension(chaincodeAction.toByteString())
+                        .build().toByteString())).build();
+        Transaction transaction = Transaction.newBuilder()
+                .addActions(TransactionAction.newBuilder().setPayload(actionPayload.toByteString())).build();
+        Envelope envelope = Envelope.newBuilder().setPayload(Payload.newBuilder()
+                .setHeader(Header.newBuilder().setChannelHeader(ChannelHeader.newBuilder().setChannelId("TESTCHANNEL")
+                        .setTxId("TRANSACTION1").setType(HeaderType.ENDORSER_TRANSACTION_VALUE).build().toByteString()))
+                .setData(transaction.toByteString()).build().toByteString()).build();
+        Block decodeBlock = Block.newBuilder().setHeader(blockHeader)
+                .setData(BlockData.newBuilder().addData(envelope.toByteString()))
+                .setMetadata(BlockMetadata.newBuilder().addMetadata(ByteString.EMPTY).addMetadata(ByteString.EMPTY)
+                        .addMetadata(ByteString.copyFrom(new byte[] {TxValidationCode.VALID_VALUE}))).build();
+
+        BlockEvent be = new BlockEvent(eventHub, PeerEvents.Event.newBuilder().setBlock(decodeBlock).build());
+        be.decode();
+
+        BlockInfo.TransactionEnvelopeInfo envelopeInfo = (BlockInfo.TransactionEnvelopeInfo) be.getEnvelopeInfo(0);
+        ChaincodeActionDeserializer decoded = envelopeInfo.getTransactionDeserializer().getPayload().getTransaction()
+                .getTransactionAction(0).getPayload().getAction().getProposalResponsePayload().getExtension();
+        System.gc();
+        // Kept by the block rather than parsed again.
+        assertSame(decoded.getResults(), ((BlockInfo.TransactionEnvelopeInfo) be.getEnvelopeInfo(0)).getTransactionDeserializer()
+                .getPayload().getTransaction().getTransactionAction(0).getPayload().getAction().getProposalResponsePayload()
+                .getExtension().getResults());
+
+        BlockInfo.TransactionEnvelopeInfo.TransactionActionInfo actionInfo = envelopeInfo.getTransactionActionInfo(0);
+        assertEquals("example_cc", actionInfo.getTxReadWriteSet().getNsRwsetInfos().iterator().next().getNamespace());
+        assertEquals("event", actionInfo.getEvent().getEventName());
+
+        // Filtered blocks have nothing to decode.
+        new BlockEvent((Peer) null, PeerEvents.DeliverResponse.newBuilder().setFilteredBlock(PeerEvents.FilteredBlock.newBuilder()
+                .setChannelId("TESTCHANNEL").setNumber(1)).build()).decode();
+    }
+
+    @Test (expected = InvalidProtocolBufferException.class)
+    public void testDecodeBadBlock() throws InvalidProtocolBufferException {
+        new BlockEvent(eventHub, goodEventBlock).decode(); // the transactions are not Transaction messages.
+    }
+
     // Bad block input causes constructor to throw exception
     @Test (expected = InvalidProtocolBufferException.class)
     public void testBlockEventBadBlock() throws InvalidProtocolBufferException {
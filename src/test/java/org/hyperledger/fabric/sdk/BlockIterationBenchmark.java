@@ -0,0 +1,92 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import com.google.protobuf.ByteString;
+import org.hyperledger.fabric.protos.common.Common.Block;
+import org.hyperledger.fabric.protos.common.Common.BlockData;
+import org.hyperledger.fabric.protos.common.Common.BlockHeader;
+import org.hyperledger.fabric.protos.common.Common.BlockMetadata;
+import org.hyperledger.fabric.protos.common.Common.ChannelHeader;
+import org.hyperledger.fabric.protos.common.Common.Envelope;
+import org.hyperledger.fabric.protos.common.Common.Header;
+import org.hyperledger.fabric.protos.common.Common.HeaderType;
+import org.hyperledger.fabric.protos.common.Common.Payload;
+import org.hyperledger.fabric.protos.peer.FabricTransaction.TxValidationCode;
+import org.hyperledger.fabric.protos.peer.PeerEvents.DeliverResponse;
+
+/**
+ * Measures iterating the transactions of blocks of increasing size. Time per transaction should stay flat as
+ * blocks grow. Not a unit test, run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.hyperledger.fabric.sdk.BlockIterationBenchmark -Dexec.args="5"
+ * </pre>
+ * The argument is the seconds to run each block size.
+ */
+public final class BlockIterationBenchmark {
+
+    private BlockIterationBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        final long seconds = args.length > 0 ? Long.parseLong(args[0]) : 5;
+
+        for (int transactions : new int[] {10, 100, 1000, 10000}) {
+            final DeliverResponse response = newDeliverResponse(transactions);
+            run(response, seconds); // warm up
+            final long iterations = run(response, seconds);
+            System.out.println(String.format("%6d transactions/block: %8.1f ns/transaction", transactions,
+                    seconds * 1e9 / iterations / transactions));
+        }
+    }
+
+    private static long run(DeliverResponse response, long seconds) throws Exception {
+        final long end = System.nanoTime() + seconds * 1_000_000_000L;
+        long iterations = 0;
+        long valid = 0;
+        while (System.nanoTime() < end) {
+            // What the channel does for each block event: a new BlockInfo, then every transaction's id and validation.
+            for (BlockInfo.EnvelopeInfo envelopeInfo : new BlockInfo(response).getEnvelopeInfos()) {
+                if (envelopeInfo.isValid() && !envelopeInfo.getTransactionID().isEmpty()) {
+                    ++valid;
+                }
+            }
+            ++iterations;
+        }
+        if (valid == 0) {
+            throw new AssertionError("No valid transactions.");
+        }
+        return iterations;
+    }
+
+    private static DeliverResponse newDeliverResponse(int transactions) {
+        BlockData.Builder data = BlockData.newBuilder();
+        byte[] filter = new byte[transactions];
+        for (int i = 0; i < transactions; ++i) {
+            data.addData(Envelope.newBuilder().setPayload(Payload.newBuilder()
+                    .setHeader(Header.newBuilder().setChannelHeader(ChannelHeader.newBuilder().setChannelId("benchmark")
+                            .setTxId("tx" + i).setType(HeaderType.ENDORSER_TRANSACTION_VALUE).build().toByteString()))
+                    .setData(ByteString.copyFrom(new byte[512])).build().toByteString())
+                    .setSignature(ByteString.copyFrom(new byte[72])).build().toByteString());
+            filter[i] = TxValidationCode.VALID_VALUE;
+        }
+
+        return DeliverResponse.newBuilder().setBlock(Block.newBuilder()
+                .setHeader(BlockHeader.newBuilder().setNumber(1))
+                .setData(data)
+                .setMetadata(BlockMetadata.newBuilder().addMetadata(ByteString.EMPTY).addMetadata(ByteString.EMPTY)
+                        .addMetadata(ByteString.copyFrom(filter)))).build();
+    }
+}
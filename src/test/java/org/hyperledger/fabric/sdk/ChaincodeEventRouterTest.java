@@ -0,0 +1,66 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ChaincodeEventRouterTest {
+
+    @Test
+    public void testLiteral() {
+        assertEquals("example_cc", ChaincodeEventRouter.literal(Pattern.compile("example_cc")));
+        assertEquals("event-1", ChaincodeEventRouter.literal(Pattern.compile("event-1")));
+        assertEquals("a.b*", ChaincodeEventRouter.literal(Pattern.compile(Pattern.quote("a.b*"))));
+        assertNull(ChaincodeEventRouter.literal(Pattern.compile(Pattern.quote("a\\Eb"))));
+        assertNull(ChaincodeEventRouter.literal(Pattern.compile(".*")));
+        assertNull(ChaincodeEventRouter.literal(Pattern.compile("event[0-9]")));
+        assertNull(ChaincodeEventRouter.literal(Pattern.compile("a\\.b")));
+        assertNull(ChaincodeEventRouter.literal(Pattern.compile("event", Pattern.CASE_INSENSITIVE)));
+    }
+
+    @Test
+    public void testRoute() {
+
+        ChaincodeEventRouter<String> router = new ChaincodeEventRouter<>(Arrays.asList(
+                new ChaincodeEventRouter.Route<>(Pattern.compile("cc1"), Pattern.compile("event1"), "exact"),
+                new ChaincodeEventRouter.Route<>(Pattern.compile("cc1"), Pattern.compile("event1"), "exact2"),
+                new ChaincodeEventRouter.Route<>(Pattern.compile("cc1"), Pattern.compile("event.*"), "byChaincode"),
+                new ChaincodeEventRouter.Route<>(Pattern.compile("cc.*"), Pattern.compile("event1"), "pattern"),
+                new ChaincodeEventRouter.Route<>(Pattern.compile("cc2"), Pattern.compile("event1"), "other")));
+
+        assertEquals(Arrays.asList("exact", "exact2", "byChaincode", "pattern"), route(router, "cc1", "event1"));
+        assertEquals(Arrays.asList("byChaincode"), route(router, "cc1", "event2"));
+        assertEquals(Arrays.asList("other", "pattern"), route(router, "cc2", "event1"));
+        assertTrue(route(router, "cc3", "event2").isEmpty());
+        assertTrue(route(router, "xcc1", "event1").isEmpty());
+
+        assertTrue(ChaincodeEventRouter.empty().isEmpty());
+    }
+
+    private static List<String> route(ChaincodeEventRouter<String> router, String chaincodeId, String eventName) {
+        List<String> ret = new ArrayList<>();
+        router.route(chaincodeId, eventName, ret::add);
+        return ret;
+    }
+}
@@ -22,7 +22,15 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
@@ -34,10 +42,13 @@ import org.hyperledger.fabric.protos.orderer.Ab;
 import org.hyperledger.fabric.protos.peer.Chaincode;
 import org.hyperledger.fabric.protos.peer.FabricProposal;
 import org.hyperledger.fabric.protos.peer.FabricProposalResponse;
+import org.hyperledger.fabric.protos.peer.FabricTransaction;
+import org.hyperledger.fabric.protos.peer.PeerEvents;
 import org.hyperledger.fabric.sdk.exception.InvalidArgumentException;
 import org.hyperledger.fabric.sdk.exception.PeerException;
 import org.hyperledger.fabric.sdk.exception.ProposalException;
 import org.hyperledger.fabric.sdk.exception.TransactionException;
+import org.hyperledger.fabric.sdk.helper.Config;
 import org.hyperledger.fabric.sdk.security.CryptoSuite;
 import org.hyperledger.fabric.sdk.testutils.TestUtils;
 import org.hyperledger.fabric.sdk.transaction.InstallProposalBuilder;
@@ -51,8 +62,11 @@ import sun.misc.Unsafe;
 
 import static org.hyperledger.fabric.sdk.Channel.PeerOptions.createPeerOptions;
 import static org.hyperledger.fabric.sdk.testutils.TestUtils.assertArrayListEquals;
+import static org.hyperledger.fabric.sdk.testutils.TestUtils.getField;
 import static org.hyperledger.fabric.sdk.testutils.TestUtils.getMockUser;
+import static org.hyperledger.fabric.sdk.testutils.TestUtils.invokeMethod;
 import static org.hyperledger.fabric.sdk.testutils.TestUtils.matchesRegex;
+import static org.hyperledger.fabric.sdk.testutils.TestUtils.setConfigProperty;
 import static org.hyperledger.fabric.sdk.testutils.TestUtils.setField;
 import static org.hyperledger.fabric.sdk.testutils.TestUtils.tarBytesToEntryArrayList;
 
@@ -88,7 +102,7 @@ public class ChannelTest {
                 }
 
                 @Override
-                Ab.DeliverResponse[] sendDeliver(Common.Envelope transaction) throws TransactionException {
+                Ab.DeliverResponse[] sendDeliver(CompletableFuture<Common.Envelope> transaction) throws TransactionException {
                     throw new TransactionException(BAD_STUFF);
                 }
 
@@ -738,6 +752,413 @@ public class ChannelTest {
 
     }
 
+    @Test
+    public void testSendTransactionProposalAsyncQuorum() throws Exception {
+
+        Collection<Peer> peers = Arrays.asList(hfclient.newPeer("quorumPeer1", "grpc://localhost:22"),
+                hfclient.newPeer("quorumPeer2", "grpc://localhost:22"),
+                hfclient.newPeer("quorumPeer3", "grpc://localhost:22"));
+        final Channel channel = createRunningChannel("testSendTransactionProposalAsyncQuorum", peers);
+
+        List<SettableFuture<FabricProposalResponse.ProposalResponse>> futures = new ArrayList<>();
+        for (Peer peer : peers) {
+            SettableFuture<FabricProposalResponse.ProposalResponse> future = SettableFuture.create();
+            futures.add(future);
+            setField(peer, "endorserClent", new MockEndorserClient(future));
+        }
+
+        CompletableFuture<Collection<ProposalResponse>> result = channel.sendTransactionProposalAsync(createUnverifiedProposalRequest(), peers, 2);
+
+        futures.get(2).set(createFabricProposalResponse("agreed"));
+        Assert.assertFalse(result.isDone());
+        futures.get(1).set(createFabricProposalResponse("agreed"));
+
+        Collection<ProposalResponse> responses = result.get(5, TimeUnit.SECONDS);
+        Assert.assertEquals(2, responses.size());
+        Set<String> names = new HashSet<>();
+        for (ProposalResponse response : responses) {
+            names.add(response.getPeer().getName());
+        }
+        Assert.assertEquals(new HashSet<>(Arrays.asList("quorumPeer2", "quorumPeer3")), names);
+        Assert.assertTrue(futures.get(0).isCancelled());
+
+    }
+
+    @Test
+    public void testSendTransactionProposalAsyncNoQuorum() throws Exception {
+
+        Collection<Peer> peers = Arrays.asList(hfclient.newPeer("noQuorumPeer1", "grpc://localhost:22"),
+                hfclient.newPeer("noQuorumPeer2", "grpc://localhost:22"),
+                hfclient.newPeer("noQuorumPeer3", "grpc://localhost:22"));
+        final Channel channel = createRunningChannel("testSendTransactionProposalAsyncNoQuorum", peers);
+
+        List<SettableFuture<FabricProposalResponse.ProposalResponse>> futures = new ArrayList<>();
+        for (Peer peer : peers) {
+            SettableFuture<FabricProposalResponse.ProposalResponse> future = SettableFuture.create();
+            futures.add(future);
+            setField(peer, "endorserClent", new MockEndorserClient(future));
+        }
+
+        TransactionProposalRequest request = createUnverifiedProposalRequest();
+        request.setProposalWaitTime(500);
+        CompletableFuture<Collection<ProposalResponse>> result = channel.sendTransactionProposalAsync(request, peers, 2);
+
+        futures.get(1).set(createFabricProposalResponse("mine"));
+        futures.get(2).set(createFabricProposalResponse("yours"));
+
+        // peer 1 never answers so times out.
+        List<ProposalResponse> responses = new ArrayList<>(result.get(5, TimeUnit.SECONDS));
+        Assert.assertEquals(3, responses.size());
+        Assert.assertEquals("noQuorumPeer1", responses.get(2).getPeer().getName());
+        Assert.assertTrue(responses.get(2).isInvalid());
+        Assert.assertTrue(responses.get(2).getMessage(), responses.get(2).getMessage().contains("timeout(500 milliseconds)"));
+        Assert.assertTrue(futures.get(0).isCancelled());
+
+    }
+
+    @Test
+    public void testSendTransactionProposalAsyncHedged() throws Exception {
+
+        Peer slow = newOrgPeer("hedgeSlowPeer", "Org1MSP");
+        Peer alternate = newOrgPeer("hedgeAlternatePeer", "Org1MSP");
+        final Channel channel = createRunningChannel("testSendTransactionProposalAsyncHedged", Arrays.asList(slow, alternate));
+
+        for (int i = 0; i < PeerStatistics.MIN_PERCENTILE_SAMPLES; ++i) {
+            slow.getStatistics().success(1_000_000L);
+        }
+
+        final SettableFuture<FabricProposalResponse.ProposalResponse> slowFuture = SettableFuture.create();
+        setField(slow, "endorserClent", new MockEndorserClient(slowFuture));
+        final SettableFuture<FabricProposalResponse.ProposalResponse> alternateFuture = SettableFuture.create();
+        alternateFuture.set(createFabricProposalResponse("hedged"));
+        setField(alternate, "endorserClent", new MockEndorserClient(alternateFuture));
+
+        TransactionProposalRequest request = createUnverifiedProposalRequest();
+        request.setProposalHedgePercentile(90);
+
+        Collection<ProposalResponse> responses = channel.sendTransactionProposalAsync(request, Arrays.asList(slow)).get(5, TimeUnit.SECONDS);
+
+        Assert.assertEquals(1, responses.size());
+        ProposalResponse response = responses.iterator().next();
+        Assert.assertEquals("hedgeAlternatePeer", response.getPeer().getName());
+        Assert.assertFalse(response.isInvalid());
+        Assert.assertTrue(slowFuture.isCancelled());
+
+    }
+
+    @Test
+    public void testSendTransactionProposalHedgedFailover() throws Exception {
+
+        Peer failing = newOrgPeer("failoverFailingPeer", "Org1MSP");
+        Peer alternate = newOrgPeer("failoverAlternatePeer", "Org1MSP");
+        Peer otherOrg = newOrgPeer("failoverOtherOrgPeer", "Org2MSP");
+        final Channel channel = createRunningChannel("testSendTransactionProposalHedgedFailover", Arrays.asList(failing, alternate, otherOrg));
+
+        final SettableFuture<FabricProposalResponse.ProposalResponse> failingFuture = SettableFuture.create();
+        failingFuture.setException(new StatusRuntimeException(Status.UNAVAILABLE));
+        setField(failing, "endorserClent", new MockEndorserClient(failingFuture));
+        final SettableFuture<FabricProposalResponse.ProposalResponse> alternateFuture = SettableFuture.create();
+        alternateFuture.set(createFabricProposalResponse("failover"));
+        setField(alternate, "endorserClent", new MockEndorserClient(alternateFuture));
+        final SettableFuture<FabricProposalResponse.ProposalResponse> otherOrgFuture = SettableFuture.create();
+        otherOrgFuture.set(createFabricProposalResponse("failover"));
+        setField(otherOrg, "endorserClent", new MockEndorserClient(otherOrgFuture));
+
+        TransactionProposalRequest request = createUnverifiedProposalRequest();
+        request.setProposalHedgePercentile(99);
+
+        Collection<ProposalResponse> responses = channel.sendTransactionProposal(request, Arrays.asList(failing, otherOrg));
+
+        Set<String> names = new HashSet<>();
+        for (ProposalResponse response : responses) {
+            Assert.assertFalse(response.isInvalid());
+            names.add(response.getPeer().getName());
+        }
+        Assert.assertEquals(new HashSet<>(Arrays.asList("failoverAlternatePeer", "failoverOtherOrgPeer")), names);
+
+    }
+
+    @Test
+    public void testSubmitAsyncInconsistentEndorsements() throws Exception {
+
+        Collection<Peer> peers = Arrays.asList(hfclient.newPeer("submitPeer1", "grpc://localhost:22"),
+                hfclient.newPeer("submitPeer2", "grpc://localhost:22"));
+        final Channel channel = createRunningChannel("testSubmitAsyncInconsistentEndorsements", peers);
+
+        int i = 0;
+        for (Peer peer : peers) {
+            SettableFuture<FabricProposalResponse.ProposalResponse> future = SettableFuture.create();
+            future.set(createFabricProposalResponse("payload" + ++i));
+            setField(peer, "endorserClent", new MockEndorserClient(future));
+        }
+
+        try {
+            channel.submitAsync(createUnverifiedProposalRequest(), peers).get(5, TimeUnit.SECONDS);
+            Assert.fail("Expected inconsistent endorsements to fail.");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof ProposalException);
+            Assert.assertTrue(e.getCause().getMessage(), e.getCause().getMessage().contains("2 inconsistent groups"));
+        }
+
+        SubmitPipeline pipeline = channel.getSubmitPipeline();
+        Assert.assertEquals(0, pipeline.getInFlight());
+        for (SubmitPipeline.Stage stage : SubmitPipeline.Stage.values()) {
+            Assert.assertEquals(0, pipeline.getInFlight(stage));
+        }
+    }
+
+    @Test
+    public void testSubmitAsyncBackpressure() throws Exception {
+
+        Peer peer = hfclient.newPeer("backpressurePeer", "grpc://localhost:22");
+        final Channel channel = createRunningChannel("testSubmitAsyncBackpressure", Arrays.asList(peer));
+        setField(channel, "submitPipeline", new SubmitPipeline(1));
+
+        final SettableFuture<FabricProposalResponse.ProposalResponse> future = SettableFuture.create();
+        setField(peer, "endorserClent", new MockEndorserClient(future));
+
+        CompletableFuture<BlockEvent.TransactionEvent> first = channel.submitAsync(createUnverifiedProposalRequest(), Arrays.asList(peer));
+        Assert.assertEquals(1, channel.getSubmitPipeline().getInFlight());
+        Assert.assertEquals(1, channel.getSubmitPipeline().getInFlight(SubmitPipeline.Stage.ENDORSE));
+
+        TransactionProposalRequest request = createUnverifiedProposalRequest();
+        request.setProposalWaitTime(100);
+        try {
+            channel.submitAsync(request, Arrays.asList(peer));
+            Assert.fail("Expected full pipeline to push back.");
+        } catch (ProposalException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("has 1 submitted transactions in flight"));
+        }
+
+        future.set(FabricProposalResponse.ProposalResponse.newBuilder()
+                .setResponse(FabricProposalResponse.Response.newBuilder().setStatus(500).setMessage("chaincode failed")).build());
+        try {
+            first.get(5, TimeUnit.SECONDS);
+            Assert.fail("Expected failed endorsement to fail.");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause().getMessage(), e.getCause().getMessage().contains("chaincode failed"));
+        }
+        Assert.assertEquals(0, channel.getSubmitPipeline().getInFlight());
+    }
+
+    @Test
+    public void testEventQueueOverflow() throws Exception {
+
+        final String oldSize = setConfigProperty(Config.EVENT_QUEUE_SIZE, "1");
+        final String oldOverflow = setConfigProperty(Config.EVENT_QUEUE_OVERFLOW, "drop_duplicates");
+        try {
+            Channel channel = new Channel("testEventQueueOverflow", hfclient);
+            final Channel.ChannelEventQue que = channel.new ChannelEventQue();
+            setField(channel, "channelEventQue", que);
+            final Peer peer1 = hfclient.newPeer("eventPeer1", "grpc://localhost:22");
+            final Peer peer2 = hfclient.newPeer("eventPeer2", "grpc://localhost:22");
+
+            Assert.assertTrue(que.addBEvent(newFilteredBlockEvent(peer1, 1)));
+            // Queue is full, the same block from another peer is dropped.
+            Assert.assertFalse(que.addBEvent(newFilteredBlockEvent(peer2, 1)));
+            Assert.assertEquals(1, channel.getEventQueueDepth());
+            Assert.assertEquals(1, channel.getEventQueueDropped());
+
+            // A new block waits for room.
+            CompletableFuture<Boolean> added = CompletableFuture.supplyAsync(() -> que.addBEvent(newFilteredBlockEvent(peer1, 2)));
+            Thread.sleep(300);
+            Assert.assertFalse(added.isDone());
+
+            Assert.assertEquals(1, que.getNextEvent().getBlockNumber());
+            Assert.assertTrue(added.get(5, TimeUnit.SECONDS));
+            // The dropped copy follows the one queued before it, for transactions only.
+            BlockEvent dropped = que.getNextEvent();
+            Assert.assertEquals(peer2, dropped.getPeer());
+            Assert.assertEquals(1, dropped.getBlockNumber());
+            Assert.assertTrue(dropped.isDuplicate());
+            Assert.assertEquals(2, que.getNextEvent().getBlockNumber());
+
+            Assert.assertEquals(0, channel.getEventQueueDepth());
+            Assert.assertEquals(1, channel.getEventQueueHighWaterMark());
+            Assert.assertTrue(channel.getEventQueueBlockedTime() >= 200);
+        } finally {
+            setConfigProperty(Config.EVENT_QUEUE_SIZE, oldSize);
+            setConfigProperty(Config.EVENT_QUEUE_OVERFLOW, oldOverflow);
+        }
+    }
+
+    @Test
+    public void testEventDeduplicate() throws Throwable {
+
+        final String oldDeduplicate = setConfigProperty(Config.EVENT_DEDUPLICATE, "true");
+        try {
+            Channel channel = new Channel("testEventDeduplicate", hfclient);
+            final Channel.ChannelEventQue que = channel.new ChannelEventQue();
+            setField(channel, "channelEventQue", que);
+            final Peer peer1 = hfclient.newPeer("dedupPeer1", "grpc://localhost:22");
+            final Peer peer2 = hfclient.newPeer("dedupPeer2", "grpc://localhost:22");
+            channel.addPeer(peer1);
+            channel.addPeer(peer2);
+
+            @SuppressWarnings ("unchecked")
+            CompletableFuture<BlockEvent.TransactionEvent> txFuture =
+                    (CompletableFuture<BlockEvent.TransactionEvent>) invokeMethod(channel, "registerTxListener", "tx1");
+
+            Assert.assertTrue(que.addBEvent(newFilteredBlockEvent(peer1, 1)));
+            Assert.assertTrue(que.addBEvent(newFilteredBlockEvent(peer2, 1)));
+            Assert.assertTrue(que.addBEvent(newFilteredBlockEvent(peer2, 2)));
+            Assert.assertTrue(que.addBEvent(newFilteredBlockEvent(peer1, 2)));
+            Assert.assertEquals(4, channel.getEventQueueDepth());
+            Assert.assertEquals(2, channel.getEventQueueDuplicates());
+
+            // peer2's copy of block 1 is queued behind peer1's for transactions only, the transaction completes once both are processed.
+            BlockEvent blockEvent = que.getNextEvent();
+            Assert.assertEquals(peer1, blockEvent.getPeer());
+            Assert.assertFalse(blockEvent.isDuplicate());
+            invokeMethod(channel, "transactionEventsReceived", blockEvent);
+            Assert.assertFalse(txFuture.isDone());
+
+            blockEvent = que.getNextEvent();
+            Assert.assertEquals(peer2, blockEvent.getPeer());
+            Assert.assertTrue(blockEvent.isDuplicate());
+            invokeMethod(channel, "transactionEventsReceived", blockEvent);
+            Assert.assertEquals("tx1", txFuture.get(5, TimeUnit.SECONDS).getTransactionID());
+
+            Assert.assertFalse(que.getNextEvent().isDuplicate());
+            Assert.assertTrue(que.getNextEvent().isDuplicate());
+
+            // A full copy of a block isn't a duplicate of a filtered one.
+            Assert.assertTrue(que.addBEvent(new BlockEvent(peer1, PeerEvents.DeliverResponse.newBuilder()
+                    .setBlock(Common.Block.newBuilder().setHeader(Common.BlockHeader.newBuilder().setNumber(1)
+                            .setDataHash(ByteString.copyFromUtf8("hash")))).build())));
+            Assert.assertFalse(que.getNextEvent().isDuplicate());
+        } finally {
+            setConfigProperty(Config.EVENT_DEDUPLICATE, oldDeduplicate);
+        }
+    }
+
+    @Test
+    public void testInternalListenersFirst() throws Throwable {
+
+        final String oldSize = setConfigProperty(Config.LISTENER_QUEUE_SIZE, "1");
+        try {
+            final Channel channel = new Channel("testInternalListenersFirst", hfclient);
+            final Peer peer = hfclient.newPeer("firstPeer1", "grpc://localhost:22");
+            channel.addPeer(peer);
+
+            // Registered first, never runs so its queue stays full after one block.
+            channel.registerBlockListener(blockEvent -> { }, task -> { });
+            setField(channel, "transactionListenerProcessorHandle", invokeMethod(channel, "registerTransactionListenerProcessor"));
+
+            @SuppressWarnings ("unchecked")
+            CompletableFuture<BlockEvent.TransactionEvent> txFuture =
+                    (CompletableFuture<BlockEvent.TransactionEvent>) invokeMethod(channel, "registerTxListener", "tx2");
+
+            invokeMethod(channel, "dispatchBlockEvent", newChannelBlockEvent(peer, channel.getName(), 1));
+            final Thread dispatcher = new Thread(() -> {
+                try {
+                    invokeMethod(channel, "dispatchBlockEvent", newChannelBlockEvent(peer, channel.getName(), 2));
+                } catch (Throwable t) {
+                    throw new RuntimeException(t);
+                }
+            });
+            dispatcher.start();
+
+            // The dispatch waits on the full listener but the transaction already completed.
+            Assert.assertEquals("tx2", txFuture.get(5, TimeUnit.SECONDS).getTransactionID());
+            Thread.sleep(100);
+            Assert.assertTrue(dispatcher.isAlive());
+            dispatcher.interrupt();
+            dispatcher.join(5000);
+        } finally {
+            setConfigProperty(Config.LISTENER_QUEUE_SIZE, oldSize);
+        }
+    }
+
+    @Test
+    public void testTxListenerExpires() throws Throwable {
+
+        Channel channel = new Channel("testTxListenerExpires", hfclient);
+        channel.addPeer(hfclient.newPeer("expirePeer1", "grpc://localhost:22"));
+
+        @SuppressWarnings ("unchecked")
+        CompletableFuture<BlockEvent.TransactionEvent> txFuture =
+                (CompletableFuture<BlockEvent.TransactionEvent>) invokeMethod(channel, "registerTxListener", "tx1");
+        Map<?, ?> txListeners = (Map<?, ?>) getField(channel, "txListeners");
+        Object tl = ((List<?>) txListeners.get("tx1")).get(0);
+
+        invokeMethod(tl, "expire"); // not yet expired, rescheduled.
+        Assert.assertFalse(txFuture.isDone());
+
+        setField(tl, "sweepTime", 0L);
+        invokeMethod(tl, "expire");
+        try {
+            txFuture.get(5, TimeUnit.SECONDS);
+            Assert.fail("Expected transaction future to time out.");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof TimeoutException);
+            Assert.assertTrue(e.getCause().getMessage(), e.getCause().getMessage().contains("Non reporting peers: expirePeer1"));
+        }
+        Assert.assertTrue(txListeners.isEmpty());
+    }
+
+    @Test
+    public void testTxListenerShutdown() throws Throwable {
+
+        Channel channel = new Channel("testTxListenerShutdown", hfclient);
+        channel.addPeer(hfclient.newPeer("shutdownPeer1", "grpc://localhost:22"));
+
+        @SuppressWarnings ("unchecked")
+        CompletableFuture<BlockEvent.TransactionEvent> txFuture =
+                (CompletableFuture<BlockEvent.TransactionEvent>) invokeMethod(channel, "registerTxListener", "tx1");
+
+        channel.shutdown(true);
+        try {
+            txFuture.get(5, TimeUnit.SECONDS);
+            Assert.fail("Expected transaction future to fail on shutdown.");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof TransactionException);
+            Assert.assertTrue(e.getCause().getMessage(), e.getCause().getMessage().contains("has been shutdown"));
+        }
+        Assert.assertTrue(((Map<?, ?>) getField(channel, "txListeners")).isEmpty());
+    }
+
+    private static BlockEvent newFilteredBlockEvent(Peer peer, long blockNumber) {
+        return new BlockEvent(peer, PeerEvents.DeliverResponse.newBuilder()
+                .setFilteredBlock(PeerEvents.FilteredBlock.newBuilder().setNumber(blockNumber)
+                        .addFilteredTransactions(PeerEvents.FilteredTransaction.newBuilder().setTxid("tx" + blockNumber)
+                                .setTxValidationCode(FabricTransaction.TxValidationCode.VALID))).build());
+    }
+
+    private static BlockEvent newChannelBlockEvent(Peer peer, String channelId, long blockNumber) {
+        return new BlockEvent(peer, PeerEvents.DeliverResponse.newBuilder()
+                .setFilteredBlock(PeerEvents.FilteredBlock.newBuilder().setChannelId(channelId).setNumber(blockNumber)
+                        .addFilteredTransactions(PeerEvents.FilteredTransaction.newBuilder().setTxid("tx" + blockNumber)
+                                .setTxValidationCode(FabricTransaction.TxValidationCode.VALID))).build());
+    }
+
+    private static Peer newOrgPeer(String name, String mspId) throws InvalidArgumentException {
+
+        Properties properties = new Properties();
+        properties.setProperty(Peer.PEER_ORGANIZATION_MSPID_PROPERTY, mspId);
+        return hfclient.newPeer(name, "grpc://localhost:22", properties);
+    }
+
+    private static TransactionProposalRequest createUnverifiedProposalRequest() {
+
+        TransactionProposalRequest request = new TransactionProposalRequest(hfclient.getUserContext()) {
+            @Override
+            public boolean doVerify() {
+                return false;
+            }
+        };
+        request.setFcn("move");
+        request.setChaincodeID(ChaincodeID.newBuilder().setName("example_cc").setVersion("1").build());
+        return request;
+    }
+
+    private static FabricProposalResponse.ProposalResponse createFabricProposalResponse(String payload) {
+
+        return FabricProposalResponse.ProposalResponse.newBuilder()
+                .setResponse(FabricProposalResponse.Response.newBuilder().setStatus(200).setMessage("OK"))
+                .setPayload(ByteString.copyFromUtf8(payload)).build();
+    }
+
     private static final String SAMPLE_GO_CC = "src/test/fixture/sdkintegration/gocc/sample1";
 
     @Test
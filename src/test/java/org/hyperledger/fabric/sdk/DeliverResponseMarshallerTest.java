@@ -0,0 +1,84 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.io.ByteArrayInputStream;
+
+import com.google.protobuf.ByteString;
+import io.grpc.KnownLength;
+import io.grpc.StatusRuntimeException;
+import org.hyperledger.fabric.protos.common.Common.Block;
+import org.hyperledger.fabric.protos.common.Common.BlockData;
+import org.hyperledger.fabric.protos.common.Common.BlockHeader;
+import org.hyperledger.fabric.protos.common.Common.BlockMetadata;
+import org.hyperledger.fabric.protos.common.Common.ChannelHeader;
+import org.hyperledger.fabric.protos.common.Common.Envelope;
+import org.hyperledger.fabric.protos.common.Common.Header;
+import org.hyperledger.fabric.protos.common.Common.HeaderType;
+import org.hyperledger.fabric.protos.common.Common.Payload;
+import org.hyperledger.fabric.protos.peer.FabricTransaction.TxValidationCode;
+import org.hyperledger.fabric.protos.peer.PeerEvents.DeliverResponse;
+import org.junit.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DeliverResponseMarshallerTest {
+
+    private static DeliverResponse newDeliverResponse() {
+        Envelope envelope = Envelope.newBuilder().setPayload(Payload.newBuilder()
+                .setHeader(Header.newBuilder().setChannelHeader(ChannelHeader.newBuilder().setChannelId("testchannel")
+                        .setTxId("tx1").setType(HeaderType.ENDORSER_TRANSACTION_VALUE).build().toByteString()))
+                .setData(ByteString.copyFrom("data", UTF_8)).build().toByteString())
+                .setSignature(ByteString.copyFrom("signature", UTF_8)).build();
+
+        return DeliverResponse.newBuilder().setBlock(Block.newBuilder()
+                .setHeader(BlockHeader.newBuilder().setNumber(42).setDataHash(ByteString.copyFrom("hash", UTF_8)))
+                .setData(BlockData.newBuilder().addData(envelope.toByteString()))
+                .setMetadata(BlockMetadata.newBuilder().addMetadata(ByteString.EMPTY).addMetadata(ByteString.EMPTY)
+                        .addMetadata(ByteString.copyFrom(new byte[] {TxValidationCode.VALID_VALUE})))).build();
+    }
+
+    @Test
+    public void testParse() throws Exception {
+
+        DeliverResponse response = newDeliverResponse();
+
+        DeliverResponse parsed = DeliverResponseMarshaller.DELIVER.parseResponse(DeliverResponseMarshaller.DELIVER.streamResponse(response));
+        assertEquals(response, parsed);
+
+        byte[] bytes = response.toByteArray();
+        class KnownLengthStream extends ByteArrayInputStream implements KnownLength {
+            KnownLengthStream(byte[] buf) {
+                super(buf);
+            }
+        }
+        parsed = DeliverResponseMarshaller.DELIVER_FILTERED.parseResponse(new KnownLengthStream(bytes));
+        assertEquals(response, parsed);
+
+        BlockInfo blockInfo = new BlockInfo(parsed);
+        assertEquals(42, blockInfo.getBlockNumber());
+        assertEquals("testchannel", blockInfo.getChannelId());
+        BlockInfo.EnvelopeInfo envelopeInfo = blockInfo.getEnvelopeInfo(0);
+        assertEquals("tx1", envelopeInfo.getTransactionID());
+        assertTrue(envelopeInfo.isValid());
+    }
+
+    @Test (expected = StatusRuntimeException.class)
+    public void testParseInvalid() {
+        DeliverResponseMarshaller.DELIVER.parseResponse(new ByteArrayInputStream(new byte[] {(byte) 0xff, (byte) 0xff}));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+
+import org.hyperledger.fabric.protos.common.MspPrincipal.MSPPrincipal;
+import org.hyperledger.fabric.protos.common.MspPrincipal.MSPRole;
+import org.hyperledger.fabric.protos.common.Policies.SignaturePolicy;
+import org.hyperledger.fabric.protos.common.Policies.SignaturePolicyEnvelope;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class EndorsementPeerSelectorTest {
+    private static HFClient hfclient = null;
+
+    @BeforeClass
+    public static void setupClient() throws Exception {
+        hfclient = TestHFClient.newInstance();
+    }
+
+    @Test
+    public void testOneOfEachOrgPicksFastest() throws Exception {
+
+        Peer org1Slow = newPeer("org1Slow", "Org1MSP");
+        Peer org1Fast = newPeer("org1Fast", "Org1MSP");
+        Peer org2 = newPeer("org2", "Org2MSP");
+        Peer org3 = newPeer("org3", "Org3MSP");
+
+        org1Slow.getStatistics().success(50_000_000L);
+        org1Fast.getStatistics().success(5_000_000L);
+
+        // Org1 and Org2 must endorse.
+        ChaincodeEndorsementPolicy policy = policy(Arrays.asList(role("Org1MSP", MSPRole.MSPRoleType.MEMBER), role("Org2MSP", MSPRole.MSPRoleType.PEER)),
+                nOutOf(2, signedBy(0), signedBy(1)));
+
+        Collection<Peer> selected = EndorsementPeerSelector.selectPeers(policy, Arrays.asList(org1Slow, org1Fast, org2, org3));
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList(org1Fast, org2)), new HashSet<>(selected));
+    }
+
+    @Test
+    public void testAnyOrgAvoidsFailingPeer() throws Exception {
+
+        Peer org1 = newPeer("anyOrg1", "Org1MSP");
+        Peer org2 = newPeer("anyOrg2", "Org2MSP");
+
+        org1.getStatistics().success(5_000_000L);
+        org1.getStatistics().failure();
+        org1.getStatistics().failure();
+        org2.getStatistics().success(6_000_000L);
+
+        ChaincodeEndorsementPolicy policy = policy(Arrays.asList(role("Org1MSP", MSPRole.MSPRoleType.MEMBER), role("Org2MSP", MSPRole.MSPRoleType.MEMBER)),
+                nOutOf(1, signedBy(0), signedBy(1)));
+
+        Collection<Peer> selected = EndorsementPeerSelector.selectPeers(policy, Arrays.asList(org1, org2));
+
+        Assert.assertEquals(Arrays.asList(org2), selected);
+    }
+
+    @Test
+    public void testSamePrincipalNeedsDistinctPeers() throws Exception {
+
+        Peer a = newPeer("distinctA", "Org1MSP");
+        Peer b = newPeer("distinctB", "Org1MSP");
+        Peer c = newPeer("distinctC", "Org2MSP");
+
+        ChaincodeEndorsementPolicy policy = policy(Arrays.asList(role("Org1MSP", MSPRole.MSPRoleType.MEMBER)),
+                nOutOf(2, signedBy(0), signedBy(0)));
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList(a, b)),
+                new HashSet<>(EndorsementPeerSelector.selectPeers(policy, Arrays.asList(a, b, c))));
+
+        Assert.assertNull(EndorsementPeerSelector.selectPeers(policy, Arrays.asList(a, c)));
+    }
+
+    @Test
+    public void testUnknownOrganizationNoSelection() throws Exception {
+
+        Peer known = newPeer("known", "Org1MSP");
+        Peer unknown = hfclient.newPeer("unknown", "grpc://localhost:7051");
+
+        ChaincodeEndorsementPolicy policy = policy(Arrays.asList(role("Org1MSP", MSPRole.MSPRoleType.MEMBER)), signedBy(0));
+
+        Assert.assertNull(EndorsementPeerSelector.selectPeers(policy, Arrays.asList(known, unknown)));
+        Assert.assertEquals(Arrays.asList(known), EndorsementPeerSelector.selectPeers(policy, Arrays.asList(known)));
+    }
+
+    @Test
+    public void testAdminPrincipalNotSatisfied() throws Exception {
+
+        Peer peer = newPeer("admin", "Org1MSP");
+
+        ChaincodeEndorsementPolicy policy = policy(Arrays.asList(role("Org1MSP", MSPRole.MSPRoleType.ADMIN)), signedBy(0));
+
+        Assert.assertNull(EndorsementPeerSelector.selectPeers(policy, Arrays.asList(peer)));
+    }
+
+    private static Peer newPeer(String name, String mspId) throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty(Peer.PEER_ORGANIZATION_MSPID_PROPERTY, mspId);
+        return hfclient.newPeer(name, "grpc://localhost:7051", properties);
+    }
+
+    private static MSPPrincipal role(String mspId, MSPRole.MSPRoleType roleType) {
+        return MSPPrincipal.newBuilder().setPrincipalClassification(MSPPrincipal.Classification.ROLE)
+                .setPrincipal(MSPRole.newBuilder().setMspIdentifier(mspId).setRole(roleType).build().toByteString()).build();
+    }
+
+    private static SignaturePolicy signedBy(int index) {
+        return SignaturePolicy.newBuilder().setSignedBy(index).build();
+    }
+
+    private static SignaturePolicy nOutOf(int n, SignaturePolicy... rules) {
+        return SignaturePolicy.newBuilder().setNOutOf(SignaturePolicy.NOutOf.newBuilder().setN(n).addAllRules(Arrays.asList(rules))).build();
+    }
+
+    private static ChaincodeEndorsementPolicy policy(List<MSPPrincipal> identities, SignaturePolicy rule) {
+        ChaincodeEndorsementPolicy policy = new ChaincodeEndorsementPolicy();
+        policy.fromBytes(SignaturePolicyEnvelope.newBuilder().setVersion(0).addAllIdentities(identities).setRule(rule).build().toByteArray());
+        return policy;
+    }
+}
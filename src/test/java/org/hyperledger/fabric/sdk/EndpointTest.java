@@ -15,9 +15,13 @@
 package org.hyperledger.fabric.sdk;
 
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
 import java.util.Properties;
 
+import io.netty.handler.ssl.SslContext;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -289,4 +293,58 @@ public class EndpointTest {
         testprops.put("clientCertBytes", ccb);
         new Endpoint("grpcs://localhost:594", testprops);
     }
+
+    @Test
+    public void testTLSConfigCached() throws Exception {
+        Properties testprops = new Properties();
+        testprops.put("pemBytes", Files.readAllBytes(Paths.get(System.getProperty("user.dir") + "/src/test/resources/keypair-signed.crt")));
+        testprops.setProperty("sslProvider", "openSSL");
+        testprops.setProperty("hostnameOverride", "override");
+        testprops.setProperty("negotiationType", "TLS");
+        testprops.setProperty("clientKeyFile", System.getProperty("user.dir") + "/src/test/resources/tls-client.key");
+        testprops.setProperty("clientCertFile", System.getProperty("user.dir") + "/src/test/resources/tls-client.crt");
+
+        Endpoint ep = new Endpoint("grpcs://localhost:594", testprops);
+        Assert.assertNotNull(ep.getSslContext());
+
+        Properties sameprops = (Properties) testprops.clone();
+        sameprops.put("pemBytes", ((byte[]) testprops.get("pemBytes")).clone());
+        sameprops.setProperty("ordererWaitTimeMilliSecs", "3000"); // not TLS.
+        Endpoint same = new Endpoint("grpcs://localhost:595", sameprops);
+        Assert.assertSame(ep.getSslContext(), same.getSslContext());
+        Assert.assertArrayEquals(ep.getClientTLSCertificateDigest(), same.getClientTLSCertificateDigest());
+
+        Properties otherprops = (Properties) testprops.clone();
+        otherprops.remove("clientKeyFile");
+        otherprops.remove("clientCertFile");
+        Endpoint other = new Endpoint("grpcs://localhost:594", otherprops);
+        Assert.assertNotSame(ep.getSslContext(), other.getSslContext());
+        Assert.assertNull(other.getClientTLSCertificateDigest());
+    }
+
+    @Test
+    public void testTLSConfigFileChanged() throws Exception {
+        Path pemFile = Files.createTempFile("endpointtest", ".crt");
+        try {
+            Files.copy(Paths.get(System.getProperty("user.dir") + "/src/test/resources/keypair-signed.crt"), pemFile,
+                    StandardCopyOption.REPLACE_EXISTING);
+
+            Properties testprops = new Properties();
+            testprops.setProperty("pemFile", pemFile.toString());
+            testprops.setProperty("sslProvider", "openSSL");
+            testprops.setProperty("hostnameOverride", "override");
+            testprops.setProperty("negotiationType", "TLS");
+
+            SslContext sslContext = new Endpoint("grpcs://localhost:594", testprops).getSslContext();
+            Assert.assertSame(sslContext, new Endpoint("grpcs://localhost:594", testprops).getSslContext());
+
+            Files.copy(Paths.get(System.getProperty("user.dir") + "/src/test/resources/ca.crt"), pemFile,
+                    StandardCopyOption.REPLACE_EXISTING);
+            Files.setLastModifiedTime(pemFile, FileTime.fromMillis(Files.getLastModifiedTime(pemFile).toMillis() + 10000));
+
+            Assert.assertNotSame(sslContext, new Endpoint("grpcs://localhost:594", testprops).getSslContext());
+        } finally {
+            Files.delete(pemFile);
+        }
+    }
 }
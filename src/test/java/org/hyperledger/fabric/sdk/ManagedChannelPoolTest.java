@@ -0,0 +1,179 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.util.Properties;
+
+import io.grpc.ManagedChannel;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ManagedChannelPoolTest {
+    private static final String URL = "grpc://localhost:7051";
+
+    @Test
+    public void testSameEndpointSharesChannel() {
+        ManagedChannelPool pool = new ManagedChannelPool(1);
+
+        Properties properties = new Properties();
+        properties.put("pemBytes", "cert".getBytes());
+        properties.setProperty("ordererWaitTimeMilliSecs", "1000");
+
+        Properties other = new Properties();
+        other.put("pemBytes", "cert".getBytes()); // same content, different array.
+
+        ManagedChannelPool.Lease lease1 = pool.acquire(URL, properties);
+        ManagedChannelPool.Lease lease2 = pool.acquire(URL, other);
+
+        Assert.assertSame(lease1.getChannel(), lease2.getChannel());
+        Assert.assertEquals(1, pool.getPooledChannelCount());
+
+        lease1.release(true);
+        lease2.release(true);
+    }
+
+    @Test
+    public void testDifferentEndpointsDontShare() {
+        ManagedChannelPool pool = new ManagedChannelPool(1);
+
+        Properties properties = new Properties();
+        properties.setProperty("hostnameOverride", "peer0.org1.example.com");
+
+        ManagedChannelPool.Lease lease1 = pool.acquire(URL, null);
+        ManagedChannelPool.Lease lease2 = pool.acquire(URL, properties);
+        ManagedChannelPool.Lease lease3 = pool.acquire("grpc://localhost:7050", null);
+
+        Assert.assertNotSame(lease1.getChannel(), lease2.getChannel());
+        Assert.assertNotSame(lease1.getChannel(), lease3.getChannel());
+        Assert.assertEquals(3, pool.getPooledChannelCount());
+
+        lease1.release(true);
+        lease2.release(true);
+        lease3.release(true);
+        Assert.assertEquals(0, pool.getPooledChannelCount());
+    }
+
+    @Test
+    public void testShutdownOnLastRelease() {
+        ManagedChannelPool pool = new ManagedChannelPool(1);
+
+        ManagedChannelPool.Lease lease1 = pool.acquire(URL, null);
+        ManagedChannelPool.Lease lease2 = pool.acquire(URL, null);
+        ManagedChannel channel = lease1.getChannel();
+
+        lease1.release(true);
+        lease1.release(true); // twice does nothing.
+        Assert.assertFalse(lease1.isActive());
+        Assert.assertFalse(channel.isShutdown());
+        Assert.assertSame(channel, lease2.getChannel());
+
+        lease2.release(true);
+        Assert.assertTrue(channel.isShutdown());
+        Assert.assertEquals(0, pool.getPooledChannelCount());
+
+        try {
+            lease2.getChannel();
+            Assert.fail("Expected released lease to fail.");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testShutdownChannelReplaced() {
+        ManagedChannelPool pool = new ManagedChannelPool(1);
+
+        ManagedChannelPool.Lease lease1 = pool.acquire(URL, null);
+        ManagedChannelPool.Lease lease2 = pool.acquire(URL, null);
+        ManagedChannel channel = lease1.getChannel();
+        channel.shutdownNow();
+
+        ManagedChannel replacement = lease1.getChannel();
+        Assert.assertNotSame(channel, replacement);
+        Assert.assertFalse(replacement.isShutdown());
+        Assert.assertSame(replacement, lease2.getChannel());
+
+        lease1.release(true);
+        Assert.assertFalse(replacement.isShutdown());
+        lease2.release(true);
+        Assert.assertTrue(replacement.isShutdown());
+    }
+
+    @Test
+    public void testRoundRobin() {
+        ManagedChannelPool pool = new ManagedChannelPool(2);
+
+        ManagedChannelPool.Lease lease1 = pool.acquire(URL, null);
+        ManagedChannelPool.Lease lease2 = pool.acquire(URL, null);
+        ManagedChannelPool.Lease lease3 = pool.acquire(URL, null);
+
+        Assert.assertNotSame(lease1.getChannel(), lease2.getChannel());
+        Assert.assertSame(lease1.getChannel(), lease3.getChannel());
+        Assert.assertEquals(2, pool.getPooledChannelCount());
+
+        lease1.release(true);
+        lease2.release(true);
+        lease3.release(true);
+    }
+
+    @Test
+    public void testPoolShutdown() {
+        ManagedChannelPool pool = new ManagedChannelPool(1);
+
+        ManagedChannelPool.Lease lease = pool.acquire(URL, null);
+        ManagedChannel channel = lease.getChannel();
+
+        pool.shutdown(true);
+        Assert.assertTrue(channel.isShutdown());
+        Assert.assertEquals(0, pool.getPooledChannelCount());
+
+        try {
+            lease.getChannel();
+            Assert.fail("Expected lease on shutdown pool to fail.");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            pool.acquire(URL, null);
+            Assert.fail("Expected shutdown pool to fail.");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        lease.release(true);
+    }
+
+    @Test
+    public void testUnpooled() {
+        ManagedChannelPool pool = new ManagedChannelPool(0);
+
+        ManagedChannelPool.Lease lease1 = pool.acquire(URL, null);
+        ManagedChannelPool.Lease lease2 = pool.acquire(URL, null);
+        ManagedChannel channel = lease1.getChannel();
+
+        Assert.assertNotSame(channel, lease2.getChannel());
+        Assert.assertEquals(0, pool.getPooledChannelCount());
+
+        Properties properties = new Properties();
+        properties.setProperty(ManagedChannelPool.CHANNEL_POOL_SIZE_PROPERTY, "1");
+        ManagedChannelPool.Lease pooled = pool.acquire(URL, properties);
+        pooled.getChannel();
+        Assert.assertEquals(1, pool.getPooledChannelCount());
+
+        lease1.release(true);
+        Assert.assertTrue(channel.isShutdown());
+        lease2.release(true);
+        pooled.release(true);
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.protobuf.ByteString;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.hyperledger.fabric.protos.common.Common;
+import org.hyperledger.fabric.protos.orderer.Ab;
+import org.hyperledger.fabric.protos.orderer.AtomicBroadcastGrpc;
+import org.hyperledger.fabric.sdk.exception.TransactionException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class OrdererClientTest {
+    private static HFClient hfclient = null;
+    private static final String SERVER_NAME = "OrdererClientTest";
+
+    private final AtomicInteger streamsOpened = new AtomicInteger(0);
+    private Server server;
+    private OrdererClient ordererClient;
+
+    @BeforeClass
+    public static void setupClient() throws Exception {
+        hfclient = TestHFClient.newInstance();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+
+        // Replies to every envelope with its payload as the info so ordering can be checked.
+        server = InProcessServerBuilder.forName(SERVER_NAME).directExecutor().addService(new AtomicBroadcastGrpc.AtomicBroadcastImplBase() {
+            @Override
+            public StreamObserver<Common.Envelope> broadcast(StreamObserver<Ab.BroadcastResponse> responseObserver) {
+                streamsOpened.incrementAndGet();
+                return new StreamObserver<Common.Envelope>() {
+                    @Override
+                    public void onNext(Common.Envelope envelope) {
+                        final String payload = envelope.getPayload().toStringUtf8();
+                        if ("hang".equals(payload)) {
+                            return;
+                        }
+                        if ("kill".equals(payload)) {
+                            responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+                            return;
+                        }
+                        responseObserver.onNext(Ab.BroadcastResponse.newBuilder()
+                                .setStatus("bad".equals(payload) ? Common.Status.BAD_REQUEST : Common.Status.SUCCESS)
+                                .setInfo(payload).build());
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        responseObserver.onCompleted();
+                    }
+                };
+            }
+        }).build().start();
+
+        Properties properties = new Properties();
+        properties.setProperty("ordererBroadcastStreams", "2");
+        properties.setProperty("ordererBroadcastMaxInFlight", "4");
+        properties.setProperty("ordererWaitTimeMilliSecs", "500");
+        Orderer orderer = hfclient.newOrderer("streamorderer", "grpc://localhost:5151", properties);
+        orderer.setChannel(hfclient.newChannel("streamchannel" + System.nanoTime()));
+
+        ordererClient = new OrdererClient(orderer, InProcessChannelBuilder.forName(SERVER_NAME).directExecutor(), properties);
+    }
+
+    @After
+    public void tearDown() {
+        ordererClient.shutdown(true);
+        server.shutdownNow();
+    }
+
+    @Test
+    public void testStreamsAreReused() throws Exception {
+
+        Assert.assertTrue(ordererClient.isBroadcastStreaming());
+
+        List<String> infos = new ArrayList<>();
+        for (int i = 0; i < 20; ++i) {
+            infos.add(ordererClient.sendTransaction(envelope("tx" + i)).getInfo());
+        }
+
+        for (int i = 0; i < 20; ++i) {
+            Assert.assertEquals("tx" + i, infos.get(i));
+        }
+        Assert.assertEquals(2, streamsOpened.get());
+    }
+
+    @Test
+    public void testFailureStatusKeepsStream() throws Exception {
+
+        ordererClient.sendTransaction(envelope("tx1"));
+        ordererClient.sendTransaction(envelope("tx2"));
+
+        try {
+            ordererClient.sendTransaction(envelope("bad"));
+            Assert.fail("Expected failure status to throw.");
+        } catch (TransactionException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("BAD_REQUEST"));
+        }
+
+        Assert.assertEquals("tx3", ordererClient.sendTransaction(envelope("tx3")).getInfo());
+        Assert.assertEquals(2, streamsOpened.get());
+    }
+
+    @Test
+    public void testBrokenStreamRecovers() throws Exception {
+
+        ordererClient.sendTransaction(envelope("tx1"));
+
+        try {
+            ordererClient.sendTransaction(envelope("kill"));
+            Assert.fail("Expected broken stream to throw.");
+        } catch (TransactionException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("UNAVAILABLE"));
+        }
+
+        for (int i = 0; i < 4; ++i) {
+            Assert.assertEquals("tx" + i, ordererClient.sendTransaction(envelope("tx" + i)).getInfo());
+        }
+        Assert.assertEquals(3, streamsOpened.get());
+    }
+
+    @Test
+    public void testAsyncSendTimesOut() throws Exception {
+
+        CompletableFuture<Ab.BroadcastResponse> hung = ordererClient.sendTransactionAsync(envelope("hang"));
+        Assert.assertFalse(hung.isDone());
+
+        try {
+            hung.get(5, TimeUnit.SECONDS);
+            Assert.fail("Expected timeout.");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof TransactionException);
+            Assert.assertTrue(e.getCause().getMessage(), e.getCause().getMessage().contains("timeout after 500 ms"));
+        }
+
+        Assert.assertEquals("tx1", ordererClient.sendTransactionAsync(envelope("tx1")).get(5, TimeUnit.SECONDS).getInfo());
+    }
+
+    @Test
+    public void testInFlightBounded() throws Exception {
+
+        List<CompletableFuture<Ab.BroadcastResponse>> hung = new ArrayList<>();
+        for (int i = 0; i < 8; ++i) { // four on each stream.
+            hung.add(ordererClient.sendTransactionAsync(envelope("hang")));
+        }
+
+        CompletableFuture<Ab.BroadcastResponse> rejected = ordererClient.sendTransactionAsync(envelope("tx1"));
+        Assert.assertTrue(rejected.isCompletedExceptionally());
+        try {
+            rejected.get();
+            Assert.fail("Expected too many in flight.");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause().getMessage(), e.getCause().getMessage().contains("4 transactions in flight"));
+        }
+
+        for (CompletableFuture<Ab.BroadcastResponse> future : hung) {
+            Assert.assertFalse(future.isDone());
+        }
+    }
+
+    private static Common.Envelope envelope(String payload) {
+        return Common.Envelope.newBuilder().setPayload(ByteString.copyFrom(payload, UTF_8)).build();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PeerStatisticsTest {
+
+    private static final long MILLISEC = 1_000_000L;
+
+    @Test
+    public void testPercentileNeedsSamples() {
+        PeerStatistics statistics = new PeerStatistics();
+
+        for (int i = 1; i < PeerStatistics.MIN_PERCENTILE_SAMPLES; ++i) {
+            statistics.success(10 * MILLISEC);
+        }
+        Assert.assertEquals(-1, statistics.getLatencyPercentile(50));
+
+        statistics.success(10 * MILLISEC);
+        long p50 = statistics.getLatencyPercentile(50);
+        Assert.assertTrue("p50 " + p50, p50 >= 10 && p50 <= 13);
+    }
+
+    @Test
+    public void testPercentiles() {
+        PeerStatistics statistics = new PeerStatistics();
+
+        for (int i = 0; i < 90; ++i) {
+            statistics.success(5 * MILLISEC);
+        }
+        for (int i = 0; i < 10; ++i) {
+            statistics.success(400 * MILLISEC);
+        }
+
+        long p50 = statistics.getLatencyPercentile(50);
+        long p99 = statistics.getLatencyPercentile(99);
+        Assert.assertTrue("p50 " + p50, p50 >= 5 && p50 <= 7);
+        Assert.assertTrue("p99 " + p99, p99 >= 400 && p99 <= 500);
+    }
+
+    @Test
+    public void testCostPenalizesErrors() {
+        PeerStatistics healthy = new PeerStatistics();
+        PeerStatistics failing = new PeerStatistics();
+
+        healthy.success(10 * MILLISEC);
+        failing.success(10 * MILLISEC);
+        failing.failure();
+
+        Assert.assertEquals(10.0, healthy.getCost(), 0.001);
+        Assert.assertTrue(failing.getCost() > healthy.getCost());
+        Assert.assertEquals(0.0, new PeerStatistics().getCost(), 0.0);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReorderBufferTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(8);
+
+    @AfterClass
+    public static void tearDown() {
+        POOL.shutdownNow();
+    }
+
+    @Test
+    public void testReleasedInOrder() throws Exception {
+
+        final int count = 2000;
+        final List<Integer> released = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch done = new CountDownLatch(count);
+
+        ReorderBuffer<Integer> buffer = new ReorderBuffer<>(POOL, 16, i -> {
+            try {
+                Thread.sleep(0, ThreadLocalRandom.current().nextInt(100000)); // finish out of order.
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (i % 100 == 0) {
+                throw new IllegalStateException("bad item " + i);
+            }
+        }, i -> {
+            released.add(i);
+            done.countDown();
+        });
+
+        for (int i = 0; i < count; ++i) {
+            buffer.submit(i);
+            assertTrue(buffer.getPending() <= 16);
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertEquals(count, released.size());
+        for (int i = 0; i < count; ++i) {
+            assertEquals(i, (int) released.get(i));
+        }
+        assertEquals(0, buffer.getPending());
+    }
+
+    @Test
+    public void testWindow() throws Exception {
+
+        final CountDownLatch decode = new CountDownLatch(1);
+        final AtomicInteger released = new AtomicInteger();
+
+        ReorderBuffer<Integer> buffer = new ReorderBuffer<>(POOL, 2, i -> {
+            if (i == 0) {
+                try {
+                    decode.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, i -> released.incrementAndGet());
+
+        buffer.submit(0);
+        buffer.submit(1);
+        Thread submitter = new Thread(() -> buffer.submit(2));
+        submitter.start();
+
+        // 1 is decoded but waits behind 0 and the window is full.
+        submitter.join(200);
+        assertTrue(submitter.isAlive());
+        assertEquals(0, released.get());
+
+        decode.countDown();
+        submitter.join(10000);
+        assertFalse(submitter.isAlive());
+
+        final long end = System.currentTimeMillis() + 10000;
+        while (released.get() < 3 && System.currentTimeMillis() < end) {
+            Thread.sleep(1);
+        }
+        assertEquals(3, released.get());
+    }
+
+    @Test
+    public void testReleaseOutsideLock() throws Exception {
+
+        final CountDownLatch releasing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> released = Collections.synchronizedList(new ArrayList<>());
+
+        ReorderBuffer<Integer> buffer = new ReorderBuffer<>(POOL, 4, i -> { }, i -> {
+            if (i == 0) {
+                releasing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            released.add(i);
+        });
+
+        buffer.submit(0);
+        assertTrue(releasing.await(10, TimeUnit.SECONDS));
+
+        // A slow release doesn't hold the lock, submitting goes on and the later item waits its turn.
+        buffer.submit(1);
+        Thread.sleep(100);
+        assertEquals(1, buffer.getPending());
+        assertTrue(released.isEmpty());
+
+        release.countDown();
+        final long end = System.currentTimeMillis() + 10000;
+        while (released.size() < 2 && System.currentTimeMillis() < end) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, (int) released.get(0));
+        assertEquals(1, (int) released.get(1));
+    }
+}
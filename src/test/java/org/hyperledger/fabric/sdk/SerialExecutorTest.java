@@ -0,0 +1,150 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SerialExecutorTest {
+
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(8);
+
+    @AfterClass
+    public static void tearDown() {
+        POOL.shutdownNow();
+    }
+
+    @Test
+    public void testRunsInOrder() throws Exception {
+
+        final SerialExecutor executor = new SerialExecutor(POOL, 10);
+        final List<Integer> ran = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch done = new CountDownLatch(1000);
+
+        for (int i = 0; i < 1000; ++i) {
+            final int n = i;
+            executor.execute(() -> {
+                if (n == 3) {
+                    throw new RuntimeException("Listener failure doesn't stop later events.");
+                }
+                ran.add(n);
+                done.countDown();
+            });
+        }
+        done.countDown(); // for the one that failed.
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(999, ran.size());
+        int last = -1;
+        for (int n : ran) {
+            assertTrue(n > last);
+            last = n;
+        }
+    }
+
+    @Test
+    public void testBlocksWhenFull() throws Exception {
+
+        final SerialExecutor executor = new SerialExecutor(POOL, 2);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        executor.execute(() -> { });
+        executor.execute(() -> { });
+        assertEquals(2, executor.getQueued());
+
+        CompletableFuture<Void> submitted = CompletableFuture.runAsync(() -> executor.execute(() -> { }));
+        Thread.sleep(200);
+        assertFalse(submitted.isDone());
+
+        release.countDown();
+        submitted.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testUnbounded() throws Exception {
+
+        final SerialExecutor executor = new SerialExecutor(POOL, 0);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(101);
+
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+        for (int i = 0; i < 100; ++i) {
+            executor.execute(done::countDown); // never waits.
+        }
+
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRejectedReleasesRoom() throws Exception {
+
+        final AtomicBoolean reject = new AtomicBoolean(true);
+        final SerialExecutor executor = new SerialExecutor(r -> {
+            if (reject.get()) {
+                throw new RejectedExecutionException("rejected");
+            }
+            POOL.execute(r);
+        }, 1);
+
+        for (int i = 0; i < 3; ++i) {
+            try {
+                executor.execute(() -> { });
+                fail("Expected rejected.");
+            } catch (RejectedExecutionException e) {
+                // expected
+            }
+            assertEquals(0, executor.getQueued());
+        }
+
+        reject.set(false);
+        final CountDownLatch ran = new CountDownLatch(1);
+        executor.execute(ran::countDown);
+        assertTrue(ran.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import com.google.protobuf.ByteString;
+import org.hyperledger.fabric.protos.ledger.rwset.Rwset.NsReadWriteSet;
+import org.hyperledger.fabric.protos.ledger.rwset.Rwset.TxReadWriteSet;
+import org.hyperledger.fabric.protos.ledger.rwset.kvrwset.KvRwset.KVRWSet;
+import org.hyperledger.fabric.protos.ledger.rwset.kvrwset.KvRwset.KVRead;
+import org.hyperledger.fabric.protos.ledger.rwset.kvrwset.KvRwset.KVWrite;
+import org.hyperledger.fabric.protos.ledger.rwset.kvrwset.KvRwset.RangeQueryInfo;
+import org.hyperledger.fabric.protos.ledger.rwset.kvrwset.KvRwset.Version;
+import org.hyperledger.fabric.protos.peer.FabricProposal.ChaincodeAction;
+import org.hyperledger.fabric.sdk.exception.InvalidProtocolBufferRuntimeException;
+import org.hyperledger.fabric.sdk.helper.Config;
+import org.junit.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hyperledger.fabric.sdk.testutils.TestUtils.setConfigProperty;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class TxReadWriteSetInfoTest {
+
+    private static final KVRWSet KVRWSET = KVRWSet.newBuilder()
+            .addReads(KVRead.newBuilder().setKey("a").setVersion(Version.newBuilder().setBlockNum(4).setTxNum(1)))
+            .addReads(KVRead.newBuilder().setKey("b"))
+            .addRangeQueriesInfo(RangeQueryInfo.newBuilder().setStartKey("a").setEndKey("c").setItrExhausted(true))
+            .addWrites(KVWrite.newBuilder().setKey("a").setValue(ByteString.copyFrom("90", UTF_8)))
+            .addWrites(KVWrite.newBuilder().setKey("b").setIsDelete(true))
+            .build();
+
+    private static TxReadWriteSetInfo newTxReadWriteSetInfo(ByteString rwset) {
+        return new TxReadWriteSetInfo(TxReadWriteSet.newBuilder()
+                .addNsRwset(NsReadWriteSet.newBuilder().setNamespace("lscc"))
+                .addNsRwset(NsReadWriteSet.newBuilder().setNamespace("example_cc").setRwset(rwset)).build());
+    }
+
+    private static <T> List<T> list(Iterable<T> iterable) {
+        List<T> ret = new ArrayList<>();
+        iterable.forEach(ret::add);
+        return ret;
+    }
+
+    @Test
+    public void testMemoized() throws Exception {
+
+        TxReadWriteSetInfo info = newTxReadWriteSetInfo(KVRWSET.toByteString());
+        assertEquals(2, info.getNsRwsetCount());
+
+        TxReadWriteSetInfo.NsRwsetInfo nsRwsetInfo = info.getNsRwsetInfo(1);
+        assertSame(nsRwsetInfo, info.getNsRwsetInfo(1));
+        Iterator<TxReadWriteSetInfo.NsRwsetInfo> iterator = info.getNsRwsetInfos().iterator();
+        iterator.next();
+        assertSame(nsRwsetInfo, iterator.next());
+        assertFalse(iterator.hasNext());
+
+        assertEquals("example_cc", nsRwsetInfo.getNamespace());
+        KVRWSet rwset = nsRwsetInfo.getRwset();
+        assertEquals(KVRWSET, rwset);
+        assertSame(rwset, nsRwsetInfo.getRwset());
+
+        // Once parsed, iterating uses it.
+        assertSame(rwset.getReads(0), nsRwsetInfo.getReads().iterator().next());
+
+        assertEquals(KVRWSet.getDefaultInstance(), info.getNsRwsetInfo(0).getRwset());
+    }
+
+    @Test
+    public void testSoftReferences() throws Exception {
+
+        final String oldValue = setConfigProperty(Config.RWSET_SOFT_REFERENCES, "true");
+        try {
+            TxReadWriteSetInfo.NsRwsetInfo nsRwsetInfo = newTxReadWriteSetInfo(KVRWSET.toByteString()).getNsRwsetInfo(1);
+            KVRWSet rwset = nsRwsetInfo.getRwset();
+            assertEquals(KVRWSET, rwset);
+            assertSame(rwset, nsRwsetInfo.getRwset());
+        } finally {
+            setConfigProperty(Config.RWSET_SOFT_REFERENCES, oldValue);
+        }
+    }
+
+    @Test
+    public void testStreaming() throws Exception {
+
+        // Each iteration decodes from the bytes since nothing has parsed the whole rwset.
+        TxReadWriteSetInfo.NsRwsetInfo nsRwsetInfo = newTxReadWriteSetInfo(KVRWSET.toByteString()).getNsRwsetInfo(1);
+
+        assertEquals(KVRWSET.getReadsList(), list(nsRwsetInfo.getReads()));
+        assertEquals(KVRWSET.getWritesList(), list(nsRwsetInfo.getWrites()));
+        assertEquals(KVRWSET.getRangeQueriesInfoList(), list(nsRwsetInfo.getRangeQueriesInfos()));
+        assertNotSame(nsRwsetInfo.getReads().iterator().next(), nsRwsetInfo.getReads().iterator().next());
+
+        Iterator<KVWrite> writes = nsRwsetInfo.getWrites().iterator();
+        assertEquals("a", writes.next().getKey());
+        assertEquals("b", writes.next().getKey());
+        assertFalse(writes.hasNext());
+
+        assertFalse(newTxReadWriteSetInfo(ByteString.EMPTY).getNsRwsetInfo(1).getReads().iterator().hasNext());
+    }
+
+    @Test
+    public void testSharedByDeserializer() throws Exception {
+
+        ChaincodeActionDeserializer deserializer = new ChaincodeActionDeserializer(ChaincodeAction.newBuilder()
+                .setResults(TxReadWriteSet.newBuilder()
+                        .addNsRwset(NsReadWriteSet.newBuilder().setNamespace("example_cc").setRwset(KVRWSET.toByteString()))
+                        .build().toByteString())
+                .build().toByteString(), false);
+
+        TxReadWriteSetInfo info = deserializer.getResultsInfo();
+        final int hash = System.identityHashCode(info);
+        info = null;
+        System.gc();
+        assertEquals(hash, System.identityHashCode(deserializer.getResultsInfo()));
+    }
+
+    @Test (expected = InvalidProtocolBufferRuntimeException.class)
+    public void testStreamingInvalid() {
+        ByteString bytes = KVRWSET.toByteString();
+        newTxReadWriteSetInfo(bytes.substring(0, bytes.size() - 3)).getNsRwsetInfo(1).getWrites().forEach(write -> { });
+    }
+}
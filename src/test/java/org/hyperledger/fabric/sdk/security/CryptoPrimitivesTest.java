@@ -20,6 +20,8 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -29,6 +31,8 @@ import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
+import java.security.Security;
+import java.security.Signature;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
@@ -36,13 +40,23 @@ import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 import javax.xml.bind.DatatypeConverter;
 
 import org.apache.commons.compress.utils.IOUtils;
 import org.apache.commons.io.FileUtils;
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.ASN1Sequence;
+import org.bouncycastle.asn1.DERSequence;
+import org.bouncycastle.asn1.x9.ECNamedCurveTable;
 import org.bouncycastle.openssl.PEMKeyPair;
 import org.bouncycastle.openssl.PEMParser;
 import org.bouncycastle.util.encoders.Hex;
@@ -66,6 +80,7 @@ import static org.hyperledger.fabric.sdk.testutils.TestUtils.setField;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -461,6 +476,33 @@ public class CryptoPrimitivesTest {
         crypto.bytesToCertificate(null);
     }
 
+    @Test
+    public void testBytesToCertificateCached() throws CryptoException {
+        Certificate certificate = crypto.bytesToCertificate(pemCert);
+
+        assertSame(certificate, crypto.bytesToCertificate(pemCert.clone()));
+        assertEquals(certificate, crypto.bytesToCertificate(pemCert));
+
+        try {
+            crypto.bytesToCertificate(invalidPemCert);
+            fail("Expected invalid certificate to fail.");
+        } catch (CryptoException e) {
+            // failures are not cached.
+        }
+    }
+
+    @Test
+    public void testBytesToCertificateCachedByProvider() throws Exception {
+        CryptoPrimitives cp = new CryptoPrimitives();
+        cp.init();
+        setField(cp, "SECURITY_PROVIDER", Security.getProvider("SUN"));
+
+        // Parsed by a different provider so not shared with the other instance's.
+        Certificate certificate = cp.bytesToCertificate(pemCert);
+        assertNotSame(crypto.bytesToCertificate(pemCert), certificate);
+        assertSame(certificate, cp.bytesToCertificate(pemCert));
+    }
+
     @Test (expected = CryptoException.class)
     public void testBytesToPrivateKeyInvalidBytes() throws CryptoException {
         crypto.bytesToPrivateKey(INVALID_PEM_CERT.getBytes());
@@ -510,6 +552,29 @@ public class CryptoPrimitivesTest {
         }
     }
 
+    @Test
+    public void testValidateCertificateCached() throws Exception {
+        CryptoPrimitives cp = new CryptoPrimitives();
+        cp.init();
+        cp.addCACertificateToTrustStore(testCACert, "ca");
+
+        X509Certificate cert = (X509Certificate) cf.generateCertificate(new ByteArrayInputStream(pemCert));
+        assertTrue(cp.validateCertificate(cert));
+
+        // Changes made directly to the key store aren't seen while the result is cached.
+        cp.getTrustStore().deleteEntry("ca");
+        assertTrue(cp.validateCertificate(cert));
+
+        // Changing the trust store through crypto primitives drops cached results.
+        BufferedInputStream bis = new BufferedInputStream(this.getClass().getResourceAsStream("/keypair-signed.crt"));
+        cp.addCACertificateToTrustStore(cf.generateCertificate(bis), "other");
+        bis.close();
+        assertFalse(cp.validateCertificate(cert));
+
+        cp.addCACertificateToTrustStore(testCACert, "ca");
+        assertTrue(cp.validateCertificate(cert));
+    }
+
     @Test
     public void testVerifyNullInput() {
         try {
@@ -541,6 +606,32 @@ public class CryptoPrimitivesTest {
         }
     } // testVerifyBadPlainText
 
+    @Test
+    public void testVerifySegments() throws CryptoException {
+        int split = plainText.length / 3;
+        List<ByteBuffer> segments = Arrays.asList(ByteBuffer.wrap(plainText, 0, split),
+                ByteBuffer.wrap(plainText, split, plainText.length - split).asReadOnlyBuffer());
+
+        assertTrue(crypto.verifySegments(pemCert, SIGNING_ALGORITHM, sig, segments));
+        assertTrue(crypto.verifySegments(pemCert, SIGNING_ALGORITHM, sig, segments)); // segments not consumed.
+        assertFalse(crypto.verifySegments(pemCert, SIGNING_ALGORITHM, sig, Collections.singletonList(ByteBuffer.wrap(plainText, 0, split))));
+    }
+
+    @Test
+    public void testVerifyAsync() throws Exception {
+        List<ByteBuffer> segments = Collections.singletonList(ByteBuffer.wrap(plainText));
+        List<CryptoSuite.Verification> verifications = Arrays.asList(
+                new CryptoSuite.Verification(pemCert, SIGNING_ALGORITHM, sig, segments),
+                new CryptoSuite.Verification(pemCert, SIGNING_ALGORITHM, sig, Collections.singletonList(ByteBuffer.wrap(new byte[] {0}))),
+                new CryptoSuite.Verification(new byte[] {0}, SIGNING_ALGORITHM, sig, segments), // throws, not verified.
+                new CryptoSuite.Verification(pemCert, SIGNING_ALGORITHM, sig, segments));
+
+        boolean[] verified = crypto.verifyAsync(verifications).get(10, TimeUnit.SECONDS);
+        Assert.assertArrayEquals(new boolean[] {true, false, false, true}, verified);
+
+        Assert.assertArrayEquals(new boolean[] {true}, crypto.verifyAsync(verifications.subList(0, 1)).get());
+    }
+
     @Test
     public void testVerify() {
         try {
@@ -580,6 +671,46 @@ public class CryptoPrimitivesTest {
         }
     }
 
+    @Test
+    public void testSignLowS() throws Exception {
+        KeyPair keyPair = crypto.keyGen();
+        BigInteger halfN = ECNamedCurveTable.getByName("secp256r1").getN().shiftRight(1);
+
+        for (int i = 0; i < 50; ++i) {
+            byte[] signature = crypto.sign(keyPair.getPrivate(), plainText);
+
+            ASN1Sequence sequence = ASN1Sequence.getInstance(signature);
+            BigInteger s = ASN1Integer.getInstance(sequence.getObjectAt(1)).getValue();
+            assertTrue(s.compareTo(halfN) <= 0);
+            assertTrue(Arrays.equals(sequence.getEncoded(ASN1Encoding.DER), signature));
+
+            Signature verifier = Signature.getInstance(SIGNING_ALGORITHM);
+            verifier.initVerify(keyPair.getPublic());
+            verifier.update(plainText);
+            assertTrue(verifier.verify(signature));
+        }
+    }
+
+    @Test
+    public void testToLowS() throws Exception {
+        BigInteger curveN = ECNamedCurveTable.getByName("secp256r1").getN();
+        BigInteger r = new BigInteger(1, Hex.decode("BAA3D3DBED52CD5FF2169FE0699E5739983D89A495EE4E5661B0C6ED6AF7914F"));
+        BigInteger lowS = new BigInteger(1, Hex.decode("09E6D11458E37F44D137BA0F840DC9D7303E569AC9B8F4A2367213F4121C510D"));
+
+        byte[] high = new DERSequence(new ASN1Encodable[] {new ASN1Integer(r), new ASN1Integer(curveN.subtract(lowS))}).getEncoded();
+        byte[] low = new DERSequence(new ASN1Encodable[] {new ASN1Integer(r), new ASN1Integer(lowS)}).getEncoded();
+
+        assertTrue(Arrays.equals(low, ECDSASigner.toLowS(high, curveN, curveN.shiftRight(1))));
+        assertSame(low, ECDSASigner.toLowS(low, curveN, curveN.shiftRight(1)));
+
+        try {
+            ECDSASigner.toLowS(Arrays.copyOf(high, high.length - 1), curveN, curveN.shiftRight(1));
+            fail("Expected truncated signature to fail.");
+        } catch (CryptoException e) {
+            // expected
+        }
+    }
+
     @Test
     @Ignore
     // TODO need to regen key now that we're using CryptoSuite
@@ -666,4 +797,19 @@ public class CryptoPrimitivesTest {
         Assert.assertEquals(expectedHash, Hex.toHexString(hash));
     }
 
+    @Test
+    public void testHashSegments() throws Exception {
+
+        byte[] input = "TheQuickBrownFox".getBytes(UTF_8);
+        String expectedHash = "cd0b1763383f460e94a2e6f0aefc3749bbeec60db11c12d678c682da679207ad";
+
+        crypto.setHashAlgorithm("SHA2");
+        ByteBuffer direct = ByteBuffer.allocateDirect(5);
+        direct.put(input, 8, 5).flip();
+        byte[] hash = crypto.hashSegments(Arrays.asList(ByteBuffer.wrap(input, 0, 8), direct,
+                ByteBuffer.wrap(input, 13, 3).asReadOnlyBuffer()));
+        Assert.assertEquals(expectedHash, Hex.toHexString(hash));
+        Assert.assertEquals(5, direct.remaining());
+    }
+
 }
@@ -0,0 +1,78 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk.security;
+
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures signing throughput of {@link CryptoPrimitives#sign(PrivateKey, byte[])}. Not a unit test, run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.hyperledger.fabric.sdk.security.SignBenchmark -Dexec.args="4 10"
+ * </pre>
+ * Arguments are the number of threads and the seconds to run each of the warm up and measured rounds.
+ */
+public final class SignBenchmark {
+
+    private SignBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        final int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        final long seconds = args.length > 1 ? Long.parseLong(args[1]) : 10;
+
+        final CryptoPrimitives crypto = new CryptoPrimitives();
+        crypto.init();
+        final KeyPair keyPair = crypto.keyGen();
+        final byte[] data = new byte[1024]; // about the size of a proposal.
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            run(executor, threads, crypto, keyPair.getPrivate(), data, seconds); // warm up
+            final long signatures = run(executor, threads, crypto, keyPair.getPrivate(), data, seconds);
+            System.out.println(String.format("%d threads: %.1f signatures/second", threads, signatures / (double) seconds));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long run(ExecutorService executor, int threads, CryptoPrimitives crypto, PrivateKey key,
+                            byte[] data, long seconds) throws Exception {
+        final long end = System.nanoTime() + seconds * 1_000_000_000L;
+
+        List<Future<Long>> futures = new ArrayList<>(threads);
+        for (int i = 0; i < threads; ++i) {
+            futures.add(executor.submit(() -> {
+                long count = 0;
+                while (System.nanoTime() < end) {
+                    crypto.sign(key, data);
+                    ++count;
+                }
+                return count;
+            }));
+        }
+
+        long ret = 0;
+        for (Future<Long> future : futures) {
+            ret += future.get();
+        }
+        return ret;
+    }
+}
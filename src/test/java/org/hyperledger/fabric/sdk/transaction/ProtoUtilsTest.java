@@ -20,9 +20,12 @@ import java.util.Calendar;
 import java.util.Date;
 
 import com.google.protobuf.Timestamp;
+import org.hyperledger.fabric.protos.msp.Identities;
+import org.hyperledger.fabric.sdk.testutils.TestUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
+import static org.hyperledger.fabric.sdk.transaction.ProtoUtils.createSerializedIdentity;
 import static org.hyperledger.fabric.sdk.transaction.ProtoUtils.getCurrentFabricTimestamp;
 import static org.hyperledger.fabric.sdk.transaction.ProtoUtils.getDateFromTimestamp;
 import static org.hyperledger.fabric.sdk.transaction.ProtoUtils.getTimestampFromDate;
@@ -72,4 +75,24 @@ public class ProtoUtilsTest {
         Assert.assertTrue(after.getTime().after(currentDateTimestamp));
     }
 
+    @Test
+    public void testSerializedIdentityCached() throws Exception {
+
+        TestUtils.MockUser user = TestUtils.getMockUser("identityUser", "Org1MSP");
+
+        Identities.SerializedIdentity identity = createSerializedIdentity(user);
+        Assert.assertSame(identity, createSerializedIdentity(user));
+        Assert.assertEquals("Org1MSP", identity.getMspid());
+        Assert.assertEquals(user.getEnrollment().getCert(), identity.getIdBytes().toStringUtf8());
+
+        TestUtils.MockEnrollment enrollment = TestUtils.getMockEnrollment("newCert");
+        user.setEnrollment(enrollment);
+        Identities.SerializedIdentity changed = createSerializedIdentity(user);
+        Assert.assertNotSame(identity, changed);
+        Assert.assertEquals("newCert", changed.getIdBytes().toStringUtf8());
+
+        enrollment.setCert("renewedCert");
+        Assert.assertEquals("renewedCert", createSerializedIdentity(user).getIdBytes().toStringUtf8());
+    }
+
 }
@@ -15,13 +15,20 @@
 package org.hyperledger.fabric.sdk.transaction;
 
 import java.lang.reflect.Constructor;
+import java.security.PrivateKey;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.protobuf.ByteString;
 import org.hyperledger.fabric.sdk.Channel;
+import org.hyperledger.fabric.sdk.Enrollment;
 import org.hyperledger.fabric.sdk.HFClient;
+import org.hyperledger.fabric.sdk.Signer;
 import org.hyperledger.fabric.sdk.TestHFClient;
 import org.hyperledger.fabric.sdk.User;
+import org.hyperledger.fabric.sdk.exception.CryptoException;
+import org.hyperledger.fabric.sdk.helper.Utils;
 import org.hyperledger.fabric.sdk.security.CryptoSuite;
+import org.hyperledger.fabric.sdk.testutils.TestUtils;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -61,6 +68,17 @@ public class TransactionContextTest {
 
     }
 
+    @Test
+    public void testTxID() throws Exception {
+
+        TransactionContext context = createTestContext();
+
+        byte[] expected = context.getCryptoPrimitives().hash(context.getNonce().concat(context.getIdentity().toByteString()).toByteArray());
+        Assert.assertEquals(Utils.toHexString(expected), context.getTxID());
+        Assert.assertEquals(context.getIdentity().toByteString(), context.getIdentityByteString());
+        Assert.assertSame(context.getIdentityByteString(), createTestContext().getIdentityByteString());
+    }
+
     @Test
     public void testSignByteStrings() throws Exception {
 
@@ -77,6 +95,78 @@ public class TransactionContextTest {
 
     }
 
+    @Test
+    public void testSignWithSigner() throws Exception {
+
+        final Enrollment mockEnrollment = hfclient.getUserContext().getEnrollment();
+        final CompletableFuture<byte[]> signature = new CompletableFuture<>();
+
+        TestUtils.MockUser user = TestUtils.getMockUser("signerUser", "Org1MSP");
+        user.setEnrollment(new Enrollment() {
+            @Override
+            public PrivateKey getKey() {
+                return null;
+            }
+
+            @Override
+            public String getCert() {
+                return mockEnrollment.getCert();
+            }
+
+            @Override
+            public Signer getSigner() {
+                return message -> signature;
+            }
+        });
+        User.userContextCheck(user);
+
+        TransactionContext context = new TransactionContext(createTestChannel("channel1"), user, hfclient.getCryptoSuite());
+
+        CompletableFuture<ByteString> signed = context.signByteStringAsync(new byte[] {1, 2, 3});
+        Assert.assertFalse(signed.isDone());
+
+        signature.complete(new byte[] {4, 5});
+        Assert.assertEquals(ByteString.copyFrom(new byte[] {4, 5}), signed.get());
+        Assert.assertEquals(ByteString.copyFrom(new byte[] {4, 5}), context.signByteString(new byte[] {1, 2, 3}));
+    }
+
+    @Test
+    public void testSignerFailure() throws Exception {
+
+        final Enrollment mockEnrollment = hfclient.getUserContext().getEnrollment();
+
+        TestUtils.MockUser user = TestUtils.getMockUser("failedSignerUser", "Org1MSP");
+        user.setEnrollment(new Enrollment() {
+            @Override
+            public PrivateKey getKey() {
+                return null;
+            }
+
+            @Override
+            public String getCert() {
+                return mockEnrollment.getCert();
+            }
+
+            @Override
+            public Signer getSigner() {
+                return message -> {
+                    CompletableFuture<byte[]> ret = new CompletableFuture<>();
+                    ret.completeExceptionally(new IllegalStateException("HSM offline"));
+                    return ret;
+                };
+            }
+        });
+
+        TransactionContext context = new TransactionContext(createTestChannel("channel1"), user, hfclient.getCryptoSuite());
+
+        try {
+            context.signByteString(new byte[] {1, 2, 3});
+            Assert.fail("Expected signing to fail.");
+        } catch (CryptoException e) {
+            Assert.assertTrue(e.getMessage().contains("HSM offline"));
+        }
+    }
+
     // ==========================================================================================
     // Helper methods
     // ==========================================================================================
@@ -0,0 +1,101 @@
+/*
+ *  Copyright 2018 IBM - All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.hyperledger.fabric.sdk.transaction;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.google.protobuf.ByteString;
+import org.hyperledger.fabric.sdk.helper.Utils;
+import org.hyperledger.fabric.sdk.security.CryptoSuite;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class TxIDPoolTest {
+    private static final byte[] IDENTITY = "identity".getBytes(UTF_8);
+
+    private static CryptoSuite cryptoSuite;
+
+    @BeforeClass
+    public static void setupCrypto() throws Exception {
+        cryptoSuite = CryptoSuite.Factory.getCryptoSuite();
+    }
+
+    @Test
+    public void testPreGenerated() throws Exception {
+
+        TxIDPool pool = new TxIDPool(cryptoSuite, IDENTITY, 8);
+        waitForAvailable(pool, 8);
+
+        Set<String> txIDs = new HashSet<>();
+        for (int i = 0; i < 8; ++i) {
+            TxIDPool.TxID txID = pool.take();
+            Assert.assertNotNull(txID);
+            Assert.assertEquals(Utils.toHexString(cryptoSuite.hash(txID.nonce.concat(ByteString.copyFrom(IDENTITY)).toByteArray())), txID.txID);
+            txIDs.add(txID.txID);
+        }
+        Assert.assertEquals(8, txIDs.size());
+
+        // Drained by half and more, the pool fills again.
+        waitForAvailable(pool, 8);
+    }
+
+    @Test
+    public void testConcurrentTakes() throws Exception {
+
+        final TxIDPool pool = new TxIDPool(cryptoSuite, IDENTITY, 64);
+        waitForAvailable(pool, 64);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; ++i) {
+                futures.add(executor.submit(() -> {
+                    List<String> ret = new ArrayList<>();
+                    for (int j = 0; j < 200; ++j) {
+                        TxIDPool.TxID txID = pool.take();
+                        ret.add(txID == null ? TxIDPool.generate(cryptoSuite, IDENTITY).txID : txID.txID);
+                    }
+                    return ret;
+                }));
+            }
+
+            Set<String> txIDs = new HashSet<>();
+            for (Future<List<String>> future : futures) {
+                txIDs.addAll(future.get(30, TimeUnit.SECONDS));
+            }
+            Assert.assertEquals(800, txIDs.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void waitForAvailable(TxIDPool pool, int count) throws InterruptedException {
+        final long end = System.currentTimeMillis() + 10000;
+        while (pool.available() < count && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(count, pool.available());
+    }
+}
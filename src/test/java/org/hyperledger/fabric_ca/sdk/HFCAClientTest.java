@@ -17,9 +17,13 @@ package org.hyperledger.fabric_ca.sdk;
 import java.io.File;
 import java.net.MalformedURLException;
 import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.util.Base64;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 
 import org.hyperledger.fabric.sdk.Enrollment;
+import org.hyperledger.fabric.sdk.Signer;
 import org.hyperledger.fabric.sdk.exception.CryptoException;
 import org.hyperledger.fabric.sdk.security.CryptoPrimitives;
 import org.hyperledger.fabric.sdk.security.CryptoSuite;
@@ -36,6 +40,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 public class HFCAClientTest {
 
     @Rule
@@ -373,6 +379,47 @@ public class HFCAClientTest {
         client.reenroll(admin);
     }
 
+    @Test
+    public void testReenrollSignerOnly() throws Exception {
+
+        thrown.expect(InvalidArgumentException.class);
+        thrown.expectMessage("has no private key");
+
+        HFCAClient client = HFCAClient.createNewInstance("client", "http://localhost:99", null);
+        client.setCryptoSuite(crypto);
+        admin.setEnrollment(signerEnrollment(new byte[] {4, 5}));
+        client.reenroll(admin);
+    }
+
+    @Test
+    public void testHTTPAuthCertificateSigner() throws Exception {
+
+        HFCAClient client = HFCAClient.createNewInstance("client", "http://localhost:99", null);
+        client.setCryptoSuite(crypto);
+        String token = client.getHTTPAuthCertificate(signerEnrollment(new byte[] {4, 5}), "body");
+        Assert.assertEquals(Base64.getEncoder().encodeToString("abc".getBytes(UTF_8)) + "."
+                + Base64.getEncoder().encodeToString(new byte[] {4, 5}), token);
+    }
+
+    private static Enrollment signerEnrollment(byte[] signature) {
+        return new Enrollment() {
+            @Override
+            public PrivateKey getKey() {
+                return null;
+            }
+
+            @Override
+            public String getCert() {
+                return "abc";
+            }
+
+            @Override
+            public Signer getSigner() {
+                return message -> CompletableFuture.completedFuture(signature);
+            }
+        };
+    }
+
     @Test
     public void testRevoke1Exception() throws Exception {
 